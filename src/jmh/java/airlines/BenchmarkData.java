@@ -0,0 +1,34 @@
+package airlines;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Shared constants and helpers for the JMH benchmarks. */
+final class BenchmarkData {
+
+    static final char[] LETTERS = {'A', 'B', 'C', 'D', 'E', 'F'};
+    static final long SEED = 42L;
+
+    private BenchmarkData() {}
+
+    /** Write a generated dataset to dir/database.txt and return its path. */
+    static Path writeDatabase(Path dir, int flights, int rows, double bookedRatio) throws IOException {
+        Path file = dir.resolve("database.txt");
+        List<Flight> data = DatasetGenerator.generate(flights, rows, LETTERS, bookedRatio, SEED);
+        FileStorage.write(file.toString(), data);
+        return file;
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
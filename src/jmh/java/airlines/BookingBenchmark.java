@@ -0,0 +1,109 @@
+package airlines;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DatabaseService booking and lookup paths on a synthetic database.
+ * - singleBooking / batchBooking: updateSeat incl. its autosave (book/release toggled
+ *   so the booked ratio stays stable)
+ * - lookupSeat / lookupFlightSeats: Flight.getSeat and DatabaseService.getSeats
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    private static final int BATCH = 50;
+
+    @Param({"100", "1000"})
+    public int flights;
+
+    @Param({"30"})
+    public int rows;
+
+    @Param({"0.5"})
+    public double bookedRatio;
+
+    private Path dir;
+    private DatabaseService db;
+    private String[] flightIds;
+    private String[] seatNumbers;
+    private Flight lastFlight;
+    private String lastSeat;
+    private final Passenger passenger = new Passenger("Bench", "Mark", "1990-01-01");
+    private final SplittableRandom rnd = new SplittableRandom(BenchmarkData.SEED);
+    private boolean book = true;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nua-booking-bench");
+        Path file = BenchmarkData.writeDatabase(dir, flights, rows, bookedRatio);
+        db = new DatabaseService(file.toString());
+
+        List<Flight> all = db.getFlights();
+        flightIds = all.stream().map(Flight::getId).toArray(String[]::new);
+        seatNumbers = all.get(0).getSeats().stream().map(Seat::getSeatNumber).toArray(String[]::new);
+        lastFlight = all.get(all.size() - 1);
+        lastSeat = seatNumbers[seatNumbers.length - 1]; // worst case for the linear seat scan
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public boolean singleBooking() {
+        return toggleRandomSeat();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int batchBooking() {
+        int ok = 0;
+        for (int i = 0; i < BATCH; i++) {
+            if (toggleRandomSeat()) ok++;
+        }
+        return ok;
+    }
+
+    @Benchmark
+    public Seat lookupSeat() {
+        return lastFlight.getSeat(lastSeat);
+    }
+
+    @Benchmark
+    public List<Seat> lookupFlightSeats() {
+        return db.getSeats(flightIds[flightIds.length - 1]);
+    }
+
+    private boolean toggleRandomSeat() {
+        String flightId = flightIds[rnd.nextInt(flightIds.length)];
+        String seat = seatNumbers[rnd.nextInt(seatNumbers.length)];
+        book = !book;
+        return db.updateSeat(flightId, seat, book ? passenger : null);
+    }
+}
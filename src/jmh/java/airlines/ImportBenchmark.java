@@ -0,0 +1,88 @@
+package airlines;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BookingImporter on a list with one row per seat of the database (flights x 50 x 6
+ * rows): "book" imports it into an empty database (every row books, one save),
+ * "resend" imports it again into the fully booked one (every row unchanged, no save).
+ * Time per whole list; rows/s = rows / time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dnua.log.level=WARN")
+public class ImportBenchmark {
+
+    @Param({"700"})
+    public int flights;
+
+    @Param({"book", "resend"})
+    public String mode;
+
+    private Path dir;
+    private Path empty;
+    private Path work;
+    private Path list;
+    private DatabaseService db;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nua-import-bench");
+        empty = BenchmarkData.writeDatabase(dir, flights, 50, 0.0);
+        work = dir.resolve("work.txt");
+        list = dir.resolve("pnl.csv");
+        StringBuilder sb = new StringBuilder();
+        for (Flight f : FileStorage.read(empty.toString())) {
+            for (Seat s : f.getSeats()) {
+                sb.append(f.getId()).append(',').append(s.getSeatNumber()).append(",Pax,Doe,1980-02-03\n");
+            }
+        }
+        Files.writeString(list, sb, StandardCharsets.UTF_8);
+        if (mode.equals("resend")) {
+            reset();
+            BookingImporter.importFile(db, list); // books everything once
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetForBooking() throws IOException {
+        if (mode.equals("book")) reset();
+    }
+
+    private void reset() throws IOException {
+        Files.copy(empty, work, StandardCopyOption.REPLACE_EXISTING);
+        db = new DatabaseService(work.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public BookingImporter.Report importList() throws IOException {
+        return BookingImporter.importFile(db, list);
+    }
+}
@@ -0,0 +1,66 @@
+package airlines;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Connection search latency on a generated schedule (200 airports, 30 days,
+ * 10% of seats booked): random origin/destination/start, up to 3 legs with a
+ * 45-minute minimum connection. Average time per search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dnua.log.level=WARN")
+public class RouteSearchBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 1, 0, 0);
+    private static final int AIRPORTS = 200;
+
+    @Param({"10000", "100000"})
+    int flights;
+
+    @Param({"earliest", "fewest"})
+    String objective;
+
+    private RouteGraph graph;
+    private FlightSnapshot snapshot;
+    private RouteGraph.Objective mode;
+    private SplittableRandom rnd;
+
+    @Setup
+    public void setUp() {
+        List<Flight> data = DatasetGenerator.generate(flights, 2, BenchmarkData.LETTERS, 0.1, BenchmarkData.SEED);
+        DatasetGenerator.schedule(data, AIRPORTS, START, 30, BenchmarkData.SEED);
+        graph = new RouteGraph();
+        graph.rebuild(data);
+        snapshot = FlightSnapshot.of(1, data);
+        mode = objective.equals("fewest") ? RouteGraph.Objective.FEWEST_LEGS : RouteGraph.Objective.EARLIEST_ARRIVAL;
+        rnd = new SplittableRandom(BenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public Itinerary search() {
+        String from = DatasetGenerator.airportCode(rnd.nextInt(AIRPORTS));
+        String to = DatasetGenerator.airportCode(rnd.nextInt(AIRPORTS));
+        LocalDateTime start = START.plusMinutes(rnd.nextInt(60 * 24 * 25));
+        return graph.search(snapshot, from, to, start, Duration.ofMinutes(45), 3, mode);
+    }
+}
@@ -0,0 +1,71 @@
+package airlines;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FileStorage load/save cost for synthetic databases of flights x (rows x 6) seats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    @Param({"100", "1000"})
+    public int flights;
+
+    @Param({"30"})
+    public int rows;
+
+    @Param({"0.5"})
+    public double bookedRatio;
+
+    private Path dir;
+    private Path loadFile;
+    private Path saveFile;
+    private List<Flight> data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nua-storage-bench");
+        loadFile = dir.resolve("load.txt");
+        saveFile = dir.resolve("save.txt");
+        data = DatasetGenerator.generate(flights, rows, BenchmarkData.LETTERS, bookedRatio, BenchmarkData.SEED);
+        FileStorage.write(loadFile.toString(), data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public List<Flight> load() {
+        return FileStorage.read(loadFile.toString());
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        FileStorage.write(saveFile.toString(), data);
+    }
+}
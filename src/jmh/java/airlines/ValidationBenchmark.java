@@ -0,0 +1,98 @@
+package airlines;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ValidationUtils throughput: current char-scanning validators vs the previous
+ * String.matches / LocalDate.parse versions (kept here as the "legacy" baseline).
+ * Each invocation validates one bulk-import style row (first, last, dob, id, number).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 8;
+
+    private final String[][] rows = {
+            { "John", "Doe", "1990-01-01", "F001", "NU100" },
+            { "Mary-Jane", "O'Connor", "1985-02-28", "INTL-01", "NU245" },
+            { "José María", "Núñez", "2000-12-31", "F-123-456", "NU9999" },
+            { " Anne ", "Smith", "1979-13-01", "F 001", "NU-1" },
+            { "John123", "Doe", "1990-02-30", "F@001", "AA123" },
+            { "Li", "Wei", "2099-01-01", "ABC123", "NU1" },
+            { "", "X", "abcd-ef-gh", "", "" },
+            { "Ann", "Lee", "1990/01/01", "F100", "NU777" },
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void current(Blackhole bh) {
+        for (String[] r : rows) {
+            bh.consume(ValidationUtils.isValidName(r[0]));
+            bh.consume(ValidationUtils.isValidName(r[1]));
+            bh.consume(ValidationUtils.isValidDobIso(r[2]));
+            bh.consume(ValidationUtils.isValidFlightId(r[3]));
+            bh.consume(ValidationUtils.isValidFlightNumber(r[4]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyRegex(Blackhole bh) {
+        for (String[] r : rows) {
+            bh.consume(legacyName(r[0]));
+            bh.consume(legacyName(r[1]));
+            bh.consume(legacyDob(r[2]));
+            bh.consume(legacyFlightId(r[3]));
+            bh.consume(legacyFlightNumber(r[4]));
+        }
+    }
+
+    // ---------- previous implementations ----------
+
+    private static boolean legacyName(String s) {
+        if (s == null) return false;
+        String t = s.trim();
+        if (t.isEmpty()) return false;
+        return t.matches("[A-Za-z\\p{L}][A-Za-z\\p{L}'\\- ]*");
+    }
+
+    private static boolean legacyDob(String s) {
+        if (s == null || !s.matches("\\d{4}-\\d{2}-\\d{2}")) return false;
+        try {
+            return !LocalDate.parse(s).isAfter(LocalDate.now());
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    private static boolean legacyFlightId(String id) {
+        if (id == null) return false;
+        String t = id.trim();
+        return !t.isEmpty() && t.matches("[A-Za-z0-9\\-]+");
+    }
+
+    private static boolean legacyFlightNumber(String num) {
+        if (num == null) return false;
+        String t = num.trim();
+        return !t.isEmpty() && t.matches("NU\\d+");
+    }
+}
@@ -0,0 +1,86 @@
+package airlines;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Concurrent seat updates: lock-based DatabaseService.updateSeat (one save per
+ * update, callers serialized on the service monitor) vs BookingWriter (callers
+ * enqueue and wait; one save per drained batch). Throughput in updates/s across
+ * all threads; each thread toggles random seats so the booked ratio stays stable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dnua.log.level=WARN")
+@Threads(8)
+public class WriterBenchmark {
+
+    @Param({"lock", "writer"})
+    public String mode;
+
+    @Param({"100", "1000"})
+    public int flights;
+
+    private Path dir;
+    private DatabaseService db;
+    private BookingWriter writer;
+    private String[] flightIds;
+    private String[] seatNumbers;
+
+    /** Per-thread random stream and book/release toggle. */
+    @State(Scope.Thread)
+    public static class Caller {
+        final SplittableRandom rnd = new SplittableRandom(Thread.currentThread().threadId());
+        final Passenger passenger = new Passenger("Bench", "Mark", "1990-01-01");
+        boolean book;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nua-writer-bench");
+        Path file = BenchmarkData.writeDatabase(dir, flights, 30, 0.5);
+        db = new DatabaseService(file.toString());
+        if (mode.equals("writer")) writer = new BookingWriter(db);
+
+        List<Flight> all = db.getFlights();
+        flightIds = all.stream().map(Flight::getId).toArray(String[]::new);
+        seatNumbers = all.get(0).getSeats().stream().map(Seat::getSeatNumber).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (writer != null) writer.close();
+        BenchmarkData.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public boolean updateSeat(Caller c) {
+        String flightId = flightIds[c.rnd.nextInt(flightIds.length)];
+        String seat = seatNumbers[c.rnd.nextInt(seatNumbers.length)];
+        c.book = !c.book;
+        Passenger p = c.book ? c.passenger : null;
+        return writer == null ? db.updateSeat(flightId, seat, p) : writer.updateSeat(flightId, seat, p).join();
+    }
+}
@@ -1,10 +1,15 @@
 package airlines;
 import javax.swing.*;
 import java.awt.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Set;
 
 /**
  * AddFlightDialog – corrected field alignment + validation + database creation
+ * - Optional schedule: origin/destination codes and departure/arrival times
+ *   (yyyy-MM-dd HH:mm); leave all four empty for an unscheduled flight
  */
 public class AddFlightDialog extends JDialog {
     private final DatabaseService db;
@@ -13,6 +18,12 @@ public class AddFlightDialog extends JDialog {
     private final JTextField startRowField= new JTextField(6);
     private final JTextField endRowField  = new JTextField(6);
     private final JTextField lettersField = new JTextField(18);
+    private final JTextField originField  = new JTextField(4);
+    private final JTextField destField    = new JTextField(4);
+    private final JTextField departField  = new JTextField(14);
+    private final JTextField arriveField  = new JTextField(14);
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm");
 
     private final JButton saveBtn   = new JButton("Save");
     private final JButton cancelBtn = new JButton("Cancel");
@@ -36,6 +47,10 @@ public class AddFlightDialog extends JDialog {
         startRowField.setToolTipText("First row number (>= 1)");
         endRowField.setToolTipText("Last row number (>= start row)");
         lettersField.setToolTipText("Seat letters (e.g., ABCDEF) – uppercase, unique, up to 10");
+        originField.setToolTipText("Optional: origin airport code (e.g., SAN)");
+        destField.setToolTipText("Optional: destination airport code (e.g., JFK)");
+        departField.setToolTipText("Optional: departure, yyyy-MM-dd HH:mm (e.g., 2026-11-03 08:15)");
+        arriveField.setToolTipText("Optional: arrival, yyyy-MM-dd HH:mm (not before departure)");
 
         JPanel form = new JPanel(new GridBagLayout());
         form.setBorder(BorderFactory.createEmptyBorder(10, 16, 10, 16));
@@ -73,6 +88,27 @@ public class AddFlightDialog extends JDialog {
         gc.gridx = 1; gc.weightx = 1.0; gc.anchor = GridBagConstraints.LINE_START;
         form.add(lettersField, gc);
 
+        // Row 5 – Route (optional)
+        gc.gridx = 0; gc.gridy++; gc.weightx = 0; gc.anchor = GridBagConstraints.LINE_END;
+        form.add(new JLabel("Route (optional):"), gc);
+        gc.gridx = 1; gc.weightx = 1.0; gc.anchor = GridBagConstraints.LINE_START;
+        JPanel route = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        route.add(originField);
+        route.add(new JLabel("to"));
+        route.add(destField);
+        form.add(route, gc);
+
+        // Row 6 – Times (optional)
+        gc.gridx = 0; gc.gridy++; gc.weightx = 0; gc.anchor = GridBagConstraints.LINE_END;
+        form.add(new JLabel("Departs / Arrives:"), gc);
+        gc.gridx = 1; gc.weightx = 1.0; gc.anchor = GridBagConstraints.LINE_START;
+        JPanel times = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        times.add(departField);
+        times.add(new JLabel("–"));
+        times.add(arriveField);
+        times.add(new JLabel("(yyyy-MM-dd HH:mm)"));
+        form.add(times, gc);
+
         // Buttons
         JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttons.add(cancelBtn);
@@ -130,7 +166,35 @@ public class AddFlightDialog extends JDialog {
         char[] letters = new char[uniqueLetters.size()];
         int i = 0; for (Character c : uniqueLetters) letters[i++] = c;
 
-        boolean ok = db.addFlight(id, number, startRow, endRow, letters);
+        // Optional schedule
+        String origin = blankToNull(originField.getText());
+        String dest   = blankToNull(destField.getText());
+        if (origin != null && !ValidationUtils.isValidAirportCode(origin)) {
+            warn("Origin must be a 3-letter airport code (e.g., SAN).");
+            originField.requestFocusInWindow();
+            return;
+        }
+        if (dest != null && !ValidationUtils.isValidAirportCode(dest)) {
+            warn("Destination must be a 3-letter airport code (e.g., JFK).");
+            destField.requestFocusInWindow();
+            return;
+        }
+        LocalDateTime departure, arrival;
+        try {
+            departure = parseTime(departField.getText());
+            arrival   = parseTime(arriveField.getText());
+        } catch (DateTimeParseException ex) {
+            warn("Times must be yyyy-MM-dd HH:mm (e.g., 2026-11-03 08:15).");
+            departField.requestFocusInWindow();
+            return;
+        }
+        if (arrival != null && (departure == null || arrival.isBefore(departure))) {
+            warn("Arrival needs a departure time and may not be before it.");
+            arriveField.requestFocusInWindow();
+            return;
+        }
+
+        boolean ok = db.addFlight(id, number, startRow, endRow, letters, origin, dest, departure, arrival);
         if (!ok) {
             warn("Could not add flight. It may already exist or inputs are invalid.");
             return;
@@ -141,13 +205,23 @@ public class AddFlightDialog extends JDialog {
             "ID: " + id + "\n" +
             "Number: " + number + "\n" +
             "Rows: " + startRow + "–" + endRow + "\n" +
-            "Seats: " + new String(letters),
+            "Seats: " + new String(letters) +
+            (departure != null ? "\nDeparts: " + departure.format(TIME_FORMAT) : ""),
             "Success",
             JOptionPane.INFORMATION_MESSAGE
         );
         dispose();
     }
 
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    private static LocalDateTime parseTime(String s) {
+        String t = blankToNull(s);
+        return t == null ? null : LocalDateTime.parse(t, TIME_FORMAT);
+    }
+
     private void warn(String msg) {
         JOptionPane.showMessageDialog(this, msg, "Validation", JOptionPane.WARNING_MESSAGE);
     }
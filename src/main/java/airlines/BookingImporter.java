@@ -0,0 +1,160 @@
+package airlines;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * BookingImporter - bulk passenger name list (PNL-style) import.
+ * - File format, one booking per line ('#' lines and blank lines are skipped):
+ *   flightId,seatNumber,firstName,lastName,dateOfBirth[,fareClass]
+ * - Streaming: lines are read in chunks of CHUNK_LINES (ImportFiles) and each chunk is validated in
+ *   parallel (names and DOB with ValidationUtils); valid rows are grouped by flight
+ * - Each flight's rows are applied on one copy of the flight, published once
+ *   (DatabaseService.applyBookings); the database is saved once at the end, instead
+ *   of one FileStorage write per booking
+ * - The service lock is held once, from the first flight to the save: other writers
+ *   wait for the import (the apply pass is in-memory), and a failed save simply
+ *   restores the pre-import snapshot, so the list is all in or all out and no other
+ *   writer's change can be caught in the undo
+ * - Conflicts are reported per line: unknown flight or seat, seat booked by someone
+ *   else (or by an earlier line), sold-out fare class, invalid name or DOB. A seat
+ *   already held by the same passenger counts as unchanged, so re-sending a list is safe
+ * - CLI: BookingImporter FILE [--db database.txt]
+ */
+public final class BookingImporter {
+
+    private static final String SOURCE = "BookingImporter";
+    static final int CHUNK_LINES = 8192;
+
+    /** A rejected line. */
+    public record RowError(long line, String flightId, String seatNumber, String message) {}
+
+    /**
+     * Outcome of an import.
+     * @param rows      data lines read
+     * @param booked    seats booked by this import (0 if the save failed)
+     * @param unchanged lines whose seat already belonged to the same passenger
+     * @param errors    rejected lines, in file order
+     * @param saved     true if the database was saved (or nothing had to be saved)
+     */
+    public record Report(long rows, int booked, int unchanged, List<RowError> errors, boolean saved) {
+        public boolean ok() {
+            return errors.isEmpty() && saved;
+        }
+    }
+
+    /** A parsed line; booking == null means invalid (see error). */
+    private record Row(long line, String flightId, String seatNumber, DatabaseService.SeatBooking booking,
+                       String error) {}
+
+    private BookingImporter() {}
+
+    /** Import a booking list; see the class comment for the format. */
+    public static Report importFile(DatabaseService db, Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(db, in);
+        }
+    }
+
+    static Report importFrom(DatabaseService db, BufferedReader in) throws IOException {
+        long t0 = System.nanoTime();
+        Map<String, List<Row>> byFlight = new LinkedHashMap<>(); // upper-case id -> rows in file order
+        List<RowError> errors = new ArrayList<>();
+        long rows = ImportFiles.forEachChunk(in, CHUNK_LINES, (chunk, lineNos, n) -> {
+            Row[] parsed = new Row[n];
+            IntStream.range(0, n).parallel().forEach(i -> parsed[i] = parse(chunk[i], lineNos[i]));
+            for (Row r : parsed) {
+                if (r.booking() == null) {
+                    errors.add(new RowError(r.line(), r.flightId(), r.seatNumber(), r.error()));
+                } else {
+                    byFlight.computeIfAbsent(r.flightId().toUpperCase(Locale.ROOT), k -> new ArrayList<>()).add(r);
+                }
+            }
+        });
+
+        int booked = 0, unchanged = 0;
+        boolean saved;
+        synchronized (db) { // one lock acquisition for the whole list, see the class comment
+            FlightSnapshot before = db.snapshot();
+            for (List<Row> group : byFlight.values()) {
+                List<DatabaseService.SeatBooking> bookings = new ArrayList<>(group.size());
+                for (Row r : group) bookings.add(r.booking());
+                boolean[] same = new boolean[group.size()];
+                DatabaseService.UpdateResult[] results = db.applyBookings(group.get(0).flightId(), bookings, same);
+                for (int k = 0; k < group.size(); k++) {
+                    Row r = group.get(k);
+                    String problem = results == null ? "flight not found" : switch (results[k]) {
+                        case UPDATED -> null;
+                        case NOT_FOUND -> "seat not found";
+                        case CONFLICT -> "seat already booked";
+                        case SOLD_OUT -> "fare class not available";
+                    };
+                    if (problem != null) errors.add(new RowError(r.line(), r.flightId(), r.seatNumber(), problem));
+                    else if (same[k]) unchanged++;
+                    else booked++;
+                }
+            }
+            saved = booked == 0 || db.commit(); // one write for the whole list
+            if (!saved) {
+                db.restore(before); // not on disk: keep none of the list in memory either
+                booked = 0;
+            }
+        }
+        errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+        long nanos = System.nanoTime() - t0;
+        Log.info(SOURCE, String.format(Locale.ROOT, "Booked %,d of %,d rows (%,d unchanged, %,d rejected) in %d ms (%,.0f rows/s)",
+                booked, rows, unchanged, errors.size(), nanos / 1_000_000, rows * 1e9 / Math.max(1, nanos)));
+        return new Report(rows, booked, unchanged, Collections.unmodifiableList(errors), saved);
+    }
+
+    /** Parse and validate one line. */
+    private static Row parse(String raw, long line) {
+        String[] c = raw.split(",", -1);
+        String flightId = c[0].trim();
+        String seat = c.length > 1 ? c[1].trim() : "";
+        if (c.length != 5 && c.length != 6) return new Row(line, flightId, seat, null, "expected 5 or 6 columns, got " + c.length);
+        if (flightId.isEmpty() || seat.isEmpty()) return new Row(line, flightId, seat, null, "flight and seat required");
+        if (!ValidationUtils.isValidName(c[2]) || !ValidationUtils.isValidName(c[3])) {
+            return new Row(line, flightId, seat, null, "invalid name");
+        }
+        String dob = c[4].trim();
+        if (!ValidationUtils.isValidDobIso(dob)) return new Row(line, flightId, seat, null, "invalid date of birth");
+        char fareClass = 0;
+        if (c.length == 6 && !c[5].isBlank()) {
+            String fc = c[5].trim();
+            if (fc.length() != 1 || !Character.isLetter(fc.charAt(0))) {
+                return new Row(line, flightId, seat, null, "fare class must be one letter");
+            }
+            fareClass = Character.toUpperCase(fc.charAt(0));
+        }
+        return new Row(line, flightId, seat,
+                new DatabaseService.SeatBooking(seat, new Passenger(c[2], c[3], dob), fareClass), null);
+    }
+
+    // ---------- CLI ----------
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.out.println("Usage:");
+            System.out.println("  BookingImporter FILE [--db database.txt]");
+            return;
+        }
+        Map<String, String> o = ImportFiles.options(args);
+        DatabaseService db = new DatabaseService(o.getOrDefault("db", "database.txt"));
+        Report r = importFile(db, Path.of(args[0]));
+        System.out.printf(Locale.ROOT, "Read %,d rows, booked %,d seats, %,d unchanged, rejected %,d%s%n",
+                r.rows(), r.booked(), r.unchanged(), r.errors().size(), r.saved() ? "" : " (SAVE FAILED)");
+        ImportFiles.printErrors(r.errors(),
+                e -> "line " + e.line() + " " + e.flightId() + " " + e.seatNumber() + ": " + e.message());
+        if (!r.ok()) System.exit(1);
+    }
+}
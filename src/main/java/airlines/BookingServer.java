@@ -0,0 +1,329 @@
+package airlines;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * BookingServer - headless HTTP/JSON API over DatabaseService (no Swing / AWT).
+ *
+ * Start: java -cp target/classes airlines.National_University_Airlines --headless
+ *        [--port 8080] [--bind 127.0.0.1] [--db database.txt]
+ * (the launcher turns on TCP_NODELAY for the JDK server; when embedding BookingServer,
+ * start the JVM with -Dsun.net.httpserver.nodelay=true, or small responses stall
+ * on delayed ACKs)
+ *
+ *   GET    /flights                                  -> [{"id","number","seats","booked","version"}]
+ *   POST   /flights          {"id","number","startRow","endRow","letters"} -> 201
+ *   DELETE /flights/{id}
+ *   GET    /flights/{id}/seats                       -> [{"seat","status","passenger","version"}]
+ *   POST   /flights/{id}/seats/{seat}/book {"firstName","lastName","dateOfBirth"}
+ *   POST   /flights/{id}/seats/{seat}/release
+ *   (book and release honour an optional Idempotency-Key header: a retry with the
+ *   same key gets the original answer instead of a 409 / a second save)
+ *
+ * Errors are {"error": "..."} with 400 (bad input), 404 (unknown flight/seat),
+ * 405 (wrong method), 409 (duplicate flight, seat already booked), 422
+ * (Idempotency-Key already used for a different request) or 503 (write queue full
+ * or the database could not be saved; nothing changed, retry later).
+ * Every exchange runs on its own virtual thread. Reads are served from the
+ * BookingWriter snapshot without locking; mutations go through its single-writer
+ * queue, so concurrent bookings share one save per batch.
+ */
+public final class BookingServer {
+
+    private static final String SOURCE = "BookingServer";
+    private static final int MAX_BODY = 16 * 1024;
+
+    private final BookingWriter writer;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param port    0 picks a free port (see port())
+     * @param backlog pending-connection queue; raise it for bursts of new connections
+     */
+    public BookingServer(DatabaseService db, String bindAddress, int port, int backlog) throws IOException {
+        this.writer = new BookingWriter(db);
+        this.server = HttpServer.create(new InetSocketAddress(bindAddress, port), backlog);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/flights", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        Log.info(SOURCE, "Listening on http://" + server.getAddress().getHostString() + ":" + port());
+    }
+
+    /**
+     * Stop accepting, give in-flight exchanges up to delaySeconds, then shut the executor
+     * down and let the writer apply (and save) whatever is still queued.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        writer.close();
+        Log.info(SOURCE, "Stopped");
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** Entry point for --headless (args as passed to National_University_Airlines). */
+    public static void main(String[] args) throws IOException {
+        String db = "database.txt", bind = "127.0.0.1";
+        int port = 8080;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--headless" -> { }
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--bind" -> bind = args[++i];
+                case "--db" -> db = args[++i];
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        // headers and body are separate writes; without TCP_NODELAY small responses
+        // stall on delayed ACKs (~40 ms each). Read once by the JDK server on first use.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        long t0 = System.nanoTime();
+        BookingServer s = new BookingServer(new DatabaseService(db), bind, port, 1024);
+        s.start();
+        Log.info(SOURCE, "Started in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> s.stop(1), "server-stop"));
+    }
+
+    // ---------- routing ----------
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            String[] parts = segments(ex.getRequestURI().getRawPath()); // [flights, id, seats, seat, action]
+            String method = ex.getRequestMethod();
+            if (parts.length == 1) {
+                if (method.equals("GET")) listFlights(ex);
+                else if (method.equals("POST")) addFlight(ex);
+                else methodNotAllowed(ex, "GET, POST");
+            } else if (parts.length == 2) {
+                if (method.equals("DELETE")) deleteFlight(ex, parts[1]);
+                else methodNotAllowed(ex, "DELETE");
+            } else if (parts.length == 3 && parts[2].equals("seats")) {
+                if (method.equals("GET")) listSeats(ex, parts[1]);
+                else methodNotAllowed(ex, "GET");
+            } else if (parts.length == 5 && parts[2].equals("seats")
+                    && (parts[4].equals("book") || parts[4].equals("release"))) {
+                if (!method.equals("POST")) methodNotAllowed(ex, "POST");
+                else if (parts[4].equals("book")) book(ex, parts[1], parts[3]);
+                else release(ex, parts[1], parts[3]);
+            } else {
+                error(ex, 404, "no such resource");
+            }
+        } catch (IllegalArgumentException e) {
+            error(ex, 400, e.getMessage());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                ex.getResponseHeaders().set("Retry-After", "1");
+                error(ex, 503, e.getCause().getMessage());
+            } else { // the writer's batch failed
+                Log.error(SOURCE, ex.getRequestMethod() + " " + ex.getRequestURI() + " failed: " + e.getCause());
+                error(ex, 500, "internal error");
+            }
+        } catch (RuntimeException e) {
+            Log.error(SOURCE, ex.getRequestMethod() + " " + ex.getRequestURI() + " failed: " + e);
+            error(ex, 500, "internal error");
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void listFlights(HttpExchange ex) throws IOException {
+        List<Flight> flights = writer.snapshot().flights();
+        StringBuilder sb = new StringBuilder(32 + flights.size() * 64);
+        sb.append('[');
+        for (int i = 0; i < flights.size(); i++) {
+            Flight f = flights.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":");
+            Json.string(sb, f.getId()).append(",\"number\":");
+            Json.string(sb, f.getFlightNumber()).append(",\"seats\":").append(f.getSeats().size())
+              .append(",\"booked\":").append(f.getBookedCount()).append(",\"version\":").append(f.getVersion()).append('}');
+        }
+        send(ex, 200, sb.append(']').toString());
+    }
+
+    private void listSeats(HttpExchange ex, String flightId) throws IOException {
+        Flight f = writer.snapshot().flight(flightId);
+        if (f == null) error(ex, 404, "flight not found: " + flightId);
+        else send(ex, 200, seatsJson(f.getSeats()));
+    }
+
+    private static String seatsJson(List<Seat> seats) {
+        StringBuilder sb = new StringBuilder(64 + seats.size() * 96);
+        sb.append('[');
+        for (int i = 0; i < seats.size(); i++) {
+            Seat s = seats.get(i);
+            Passenger p = s.getPassenger();
+            if (i > 0) sb.append(',');
+            sb.append("{\"seat\":");
+            Json.string(sb, s.getSeatNumber()).append(",\"status\":");
+            Json.string(sb, s.getStatus().name()).append(",\"passenger\":");
+            if (p == null) {
+                sb.append("null");
+            } else {
+                sb.append("{\"firstName\":");
+                Json.string(sb, p.getFirstName()).append(",\"lastName\":");
+                Json.string(sb, p.getLastName()).append(",\"dateOfBirth\":");
+                Json.string(sb, p.getDateOfBirth()).append('}');
+            }
+            sb.append(",\"version\":").append(s.getVersion()).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private void book(HttpExchange ex, String flightId, String seatNumber) throws IOException {
+        Map<String, String> body = Json.parseObject(readBody(ex));
+        String first = body.get("firstName"), last = body.get("lastName"), dob = body.get("dateOfBirth");
+        if (!ValidationUtils.isValidName(first) || !ValidationUtils.isValidName(last)) {
+            error(ex, 400, "firstName and lastName are required (letters, spaces, ' and -)");
+            return;
+        }
+        if (!ValidationUtils.isValidDobIso(dob)) {
+            error(ex, 400, "dateOfBirth must be yyyy-MM-dd and not in the future");
+            return;
+        }
+        if (findSeat(flightId, seatNumber) == null) {
+            error(ex, 404, "seat not found: " + flightId + "/" + seatNumber);
+            return;
+        }
+        // the availability check runs on the writer thread, atomically with the booking
+        String key = idempotencyKey(ex);
+        respond(ex, writer.book(flightId, seatNumber, new Passenger(first, last, dob), key).join(), flightId, seatNumber);
+    }
+
+    private void release(HttpExchange ex, String flightId, String seatNumber) throws IOException {
+        String key = idempotencyKey(ex);
+        if (findSeat(flightId, seatNumber) == null) error(ex, 404, "seat not found: " + flightId + "/" + seatNumber);
+        else respond(ex, writer.release(flightId, seatNumber, key).join(), flightId, seatNumber);
+    }
+
+    /** Map a seat command's outcome to a response. */
+    private static void respond(HttpExchange ex, BookingWriter.Result result, String flightId, String seatNumber)
+            throws IOException {
+        String seat = flightId + "/" + seatNumber;
+        switch (result) {
+            case UPDATED -> send(ex, 200, "{\"ok\":true}");
+            case CONFLICT -> error(ex, 409, "seat already booked: " + seat);
+            case NOT_FOUND -> error(ex, 404, "seat not found: " + seat);
+            case KEY_MISMATCH -> error(ex, 422, "Idempotency-Key already used for a different request");
+            case SAVE_FAILED -> {
+                ex.getResponseHeaders().set("Retry-After", "1");
+                error(ex, 503, "could not save, nothing changed: " + seat);
+            }
+        }
+    }
+
+    /** Optional Idempotency-Key header; an invalid key is a 400 (IllegalArgumentException). */
+    private static String idempotencyKey(HttpExchange ex) {
+        String key = ex.getRequestHeaders().getFirst("Idempotency-Key");
+        if (key != null) IdempotencyCache.checkKey(key);
+        return key;
+    }
+
+    private void addFlight(HttpExchange ex) throws IOException {
+        Map<String, String> body = Json.parseObject(readBody(ex));
+        String id = body.get("id"), number = body.get("number");
+        if (!ValidationUtils.isValidFlightId(id) || !ValidationUtils.isValidFlightNumber(number)) {
+            error(ex, 400, "id (letters, digits, -) and number (NU + digits) are required");
+            return;
+        }
+        int startRow = intField(body, "startRow"), endRow = intField(body, "endRow");
+        if (!ValidationUtils.isValidRowRange(startRow, endRow)) {
+            error(ex, 400, "invalid row range " + startRow + ".." + endRow);
+            return;
+        }
+        Set<Character> letters = ValidationUtils.parseSeatLettersUnique(body.get("letters"));
+        if (letters.isEmpty()) {
+            error(ex, 400, "letters must be 1-10 unique letters A-Z");
+            return;
+        }
+        char[] seatLetters = new char[letters.size()];
+        int i = 0;
+        for (char c : letters) seatLetters[i++] = c;
+
+        if (writer.snapshot().flight(id.trim()) != null) {
+            error(ex, 409, "flight already exists: " + id.trim());
+        } else if (writer.addFlight(id.trim(), number.trim(), startRow, endRow, seatLetters).join()) {
+            send(ex, 201, "{\"ok\":true}");
+        } else if (writer.snapshot().flight(id.trim()) != null) {
+            error(ex, 409, "flight already exists: " + id.trim()); // lost a race with another add
+        } else {
+            error(ex, 400, "flight rejected (too many seats?)");
+        }
+    }
+
+    private void deleteFlight(HttpExchange ex, String flightId) throws IOException {
+        if (writer.deleteFlight(flightId).join()) send(ex, 200, "{\"ok\":true}");
+        else error(ex, 404, "flight not found: " + flightId);
+    }
+
+    // ---------- helpers ----------
+
+    private Seat findSeat(String flightId, String seatNumber) {
+        Flight f = writer.snapshot().flight(flightId);
+        return f == null ? null : f.getSeat(seatNumber);
+    }
+
+    private static String[] segments(String rawPath) {
+        String[] parts = rawPath.replaceAll("^/+|/+$", "").split("/+");
+        for (int i = 0; i < parts.length; i++) parts[i] = URLDecoder.decode(parts[i], StandardCharsets.UTF_8);
+        return parts;
+    }
+
+    private static int intField(Map<String, String> body, String key) {
+        String v = body.get(key);
+        try {
+            return Integer.parseInt(v == null ? "" : v.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be an integer");
+        }
+    }
+
+    private static String readBody(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY + 1);
+            if (bytes.length > MAX_BODY) throw new IllegalArgumentException("request body too large");
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void methodNotAllowed(HttpExchange ex, String allow) throws IOException {
+        ex.getResponseHeaders().set("Allow", allow);
+        error(ex, 405, "method not allowed");
+    }
+
+    private static void error(HttpExchange ex, int status, String message) throws IOException {
+        send(ex, status, Json.string(new StringBuilder("{\"error\":"), message).append('}').toString());
+    }
+
+    private static void send(HttpExchange ex, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
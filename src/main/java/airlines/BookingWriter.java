@@ -0,0 +1,340 @@
+package airlines;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BookingWriter - single-writer command queue in front of DatabaseService.
+ * - updateSeat / bookSeat / releaseSeat / addFlight / deleteFlight enqueue a command
+ *   into a bounded ring buffer and return a future; one "booking-writer" thread
+ *   applies commands strictly in submission order
+ * - Commands are drained in batches: all of a batch is applied, then saved with ONE
+ *   FileStorage write, then every future in the batch completes (true = applied
+ *   and persisted; book / release complete with the detailed Result)
+ * - A batch whose save fails is rolled back: the pre-batch snapshot is restored, its
+ *   idempotency keys are forgotten and its commands complete with SAVE_FAILED (false),
+ *   so a client is never told "not booked" for a seat that stays booked; a batch that
+ *   throws is rolled back the same way before its futures fail
+ * - bookIfAvailable / releaseSeat accept an idempotency key: a retried command is
+ *   answered from DatabaseService's key cache and does not make its batch save
+ * - Readers use snapshot(): the service's immutable FlightSnapshot, never locked
+ * - Backpressure when the buffer is full: BLOCK waits up to a timeout, REJECT fails
+ *   fast; either way the future fails with RejectedExecutionException
+ * - The writer holds the service lock only while applying and saving a batch, so direct
+ *   DatabaseService callers (the Swing UI) still see consistent state
+ */
+public final class BookingWriter implements AutoCloseable {
+
+    /** What submitters do when the ring buffer is full. */
+    public enum Backpressure { BLOCK, REJECT }
+
+    /** Outcome of a command. */
+    public enum Result {
+        UPDATED,      // applied and saved (or a keyed retry of such a request)
+        CONFLICT,     // seat already booked, or flight already exists / invalid
+        NOT_FOUND,    // no such flight or seat
+        KEY_MISMATCH, // idempotency key already used for a different request; nothing applied
+        SAVE_FAILED   // the batch could not be saved; retry later
+    }
+
+    private static final String SOURCE = "BookingWriter";
+    public static final int DEFAULT_CAPACITY = 4096;
+    static final int MAX_BATCH = 512;
+
+    // ---------- commands ----------
+
+    private sealed interface Command permits UpdateSeat, AddFlight, DeleteFlight {
+        CompletableFuture<Result> result();
+        long enqueuedNanos();
+    }
+
+    private record UpdateSeat(String flightId, String seatNumber, Passenger passenger, boolean onlyIfAvailable,
+                              String idempotencyKey, CompletableFuture<Result> result, long enqueuedNanos)
+            implements Command {}
+
+    private record AddFlight(String flightId, String flightNumber, int startRow, int endRow, char[] seatLetters,
+                             CompletableFuture<Result> result, long enqueuedNanos) implements Command {}
+
+    private record DeleteFlight(String flightId, CompletableFuture<Result> result, long enqueuedNanos)
+            implements Command {}
+
+    /** Wakes the writer on close(). */
+    private static final Command POISON = new DeleteFlight(null, new CompletableFuture<>(), 0);
+
+    private final DatabaseService db;
+    private final ArrayBlockingQueue<Command> queue;
+    private final Backpressure backpressure;
+    private final long blockNanos;
+    private final Thread writer;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile boolean closed;
+
+    public BookingWriter(DatabaseService db) {
+        this(db, DEFAULT_CAPACITY, Backpressure.BLOCK, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param capacity     ring buffer size (pending commands)
+     * @param backpressure BLOCK (wait up to blockTimeout for space) or REJECT
+     */
+    public BookingWriter(DatabaseService db, int capacity, Backpressure backpressure,
+                         long blockTimeout, TimeUnit unit) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.db = db;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.backpressure = backpressure;
+        this.blockNanos = unit.toNanos(blockTimeout);
+        this.writer = new Thread(this::run, "booking-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ---------- submit ----------
+
+    /** Book (passenger != null) or release (null) a seat; same semantics as DatabaseService.updateSeat. */
+    public CompletableFuture<Boolean> updateSeat(String flightId, String seatNumber, Passenger passenger) {
+        return updated(submit(new UpdateSeat(flightId, seatNumber, passenger, false, null,
+                new CompletableFuture<>(), System.nanoTime())));
+    }
+
+    public CompletableFuture<Boolean> bookSeat(String flightId, String seatNumber, Passenger passenger) {
+        return updateSeat(flightId, seatNumber, passenger);
+    }
+
+    /** Book only if the seat is still AVAILABLE when the command is applied; false otherwise. */
+    public CompletableFuture<Boolean> bookIfAvailable(String flightId, String seatNumber, Passenger passenger) {
+        return bookIfAvailable(flightId, seatNumber, passenger, null);
+    }
+
+    /**
+     * bookIfAvailable with an idempotency key (null = none); a retry with the same key
+     * completes with the first outcome (see DatabaseService.bookSeat(..., idempotencyKey)).
+     * @throws IllegalArgumentException if the key is blank, too long or has control characters
+     */
+    public CompletableFuture<Boolean> bookIfAvailable(String flightId, String seatNumber, Passenger passenger,
+                                                      String idempotencyKey) {
+        return updated(book(flightId, seatNumber, passenger, idempotencyKey));
+    }
+
+    /**
+     * bookIfAvailable(..., idempotencyKey) completing with the detailed Result
+     * (CONFLICT = seat already booked).
+     * @throws IllegalArgumentException if the key is blank, too long or has control characters
+     */
+    public CompletableFuture<Result> book(String flightId, String seatNumber, Passenger passenger,
+                                          String idempotencyKey) {
+        if (idempotencyKey != null) IdempotencyCache.checkKey(idempotencyKey);
+        return submit(new UpdateSeat(flightId, seatNumber, passenger, true, idempotencyKey,
+                new CompletableFuture<>(), System.nanoTime()));
+    }
+
+    public CompletableFuture<Boolean> releaseSeat(String flightId, String seatNumber) {
+        return updateSeat(flightId, seatNumber, null);
+    }
+
+    /** releaseSeat with an idempotency key; see bookIfAvailable(..., idempotencyKey). */
+    public CompletableFuture<Boolean> releaseSeat(String flightId, String seatNumber, String idempotencyKey) {
+        return updated(release(flightId, seatNumber, idempotencyKey));
+    }
+
+    /** releaseSeat(..., idempotencyKey) completing with the detailed Result. */
+    public CompletableFuture<Result> release(String flightId, String seatNumber, String idempotencyKey) {
+        if (idempotencyKey != null) IdempotencyCache.checkKey(idempotencyKey);
+        return submit(new UpdateSeat(flightId, seatNumber, null, false, idempotencyKey,
+                new CompletableFuture<>(), System.nanoTime()));
+    }
+
+    public CompletableFuture<Boolean> addFlight(String flightId, String flightNumber,
+                                                int startRow, int endRow, char[] seatLetters) {
+        char[] letters = seatLetters == null ? null : seatLetters.clone();
+        return updated(submit(new AddFlight(flightId, flightNumber, startRow, endRow, letters,
+                new CompletableFuture<>(), System.nanoTime())));
+    }
+
+    public CompletableFuture<Boolean> deleteFlight(String flightId) {
+        return updated(submit(new DeleteFlight(flightId, new CompletableFuture<>(), System.nanoTime())));
+    }
+
+    private static CompletableFuture<Boolean> updated(CompletableFuture<Result> result) {
+        return result.thenApply(r -> r == Result.UPDATED);
+    }
+
+    private CompletableFuture<Result> submit(Command c) {
+        boolean accepted = false;
+        if (!closed) {
+            try {
+                accepted = backpressure == Backpressure.BLOCK
+                        ? queue.offer(c, blockNanos, TimeUnit.NANOSECONDS)
+                        : queue.offer(c);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!accepted) {
+            rejected.incrementAndGet();
+            c.result().completeExceptionally(new RejectedExecutionException(
+                    closed ? "booking writer is closed" : "booking queue full (" + queue.size() + " pending)"));
+        }
+        return c.result();
+    }
+
+    // ---------- read side ----------
+
+    /** Latest published state of the service (never blocks). */
+    public FlightSnapshot snapshot() {
+        return db.snapshot();
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    /** Batches applied so far (one save each). */
+    public long batches() {
+        return batches.get();
+    }
+
+    /** Stop accepting commands, apply everything already queued, then stop the writer. */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            queue.put(POISON);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // stop waiting; queued commands are still applied
+        }
+    }
+
+    // ---------- writer thread ----------
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = batch.removeIf(c -> c == POISON);
+            if (!batch.isEmpty()) {
+                try {
+                    applyBatch(batch);
+                } catch (RuntimeException e) {
+                    Log.error(SOURCE, "batch failed: " + e);
+                    for (Command c : batch) c.result().completeExceptionally(e);
+                }
+            }
+            batch.clear();
+            if (stop) {
+                drainAfterClose();
+                return;
+            }
+        }
+    }
+
+    /** Commands that raced with close() still get an answer. */
+    private void drainAfterClose() {
+        List<Command> late = new ArrayList<>();
+        queue.drainTo(late);
+        for (Command c : late) {
+            c.result().completeExceptionally(new RejectedExecutionException("booking writer is closed"));
+        }
+    }
+
+    private void applyBatch(List<Command> batch) {
+        Result[] results = new Result[batch.size()];
+        boolean[] replayed = new boolean[batch.size()];
+        boolean any = false;
+        boolean saved;
+        synchronized (db) {
+            FlightSnapshot before = db.snapshot();
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    Command c = batch.get(i);
+                    IdempotencyCache.Replay earlier = c instanceof UpdateSeat u && u.idempotencyKey() != null
+                            ? db.replay(u.idempotencyKey(), request(u)) : null;
+                    if (earlier != null) {
+                        results[i] = replayResult((UpdateSeat) c, earlier);
+                        replayed[i] = true;
+                        continue;
+                    }
+                    results[i] = apply(c);
+                    boolean ok = results[i] == Result.UPDATED;
+                    any |= ok;
+                    if (c instanceof UpdateSeat u && u.idempotencyKey() != null) {
+                        db.idempotency().put(u.idempotencyKey(), request(u), ok); // later commands in this batch see it
+                    }
+                }
+                saved = !any || db.commit(); // one write for the whole batch
+            } catch (RuntimeException e) { // run() fails every future: keep none of the batch either
+                db.restore(before);
+                db.idempotency().discardUnflushed();
+                throw e;
+            }
+            if (saved) {
+                db.idempotency().flush();
+            } else { // keep nothing the clients are not told about
+                db.restore(before);
+                db.idempotency().discardUnflushed();
+            }
+        }
+        batches.incrementAndGet();
+        if (!saved) Log.error(SOURCE, "batch of " + batch.size() + " could not be saved; rolled back");
+
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            Command c = batch.get(i);
+            Result r = !saved && !replayed[i] ? Result.SAVE_FAILED : results[i];
+            Metrics.record(op(c), now - c.enqueuedNanos(), r == Result.UPDATED);
+            c.result().complete(r);
+        }
+    }
+
+    /** Apply one command to the service's in-memory state; caller holds the db lock. */
+    private Result apply(Command c) {
+        return switch (c) {
+            case UpdateSeat u -> {
+                Seat s = db.findSeat(u.flightId(), u.seatNumber());
+                if (s == null) yield Result.NOT_FOUND;
+                if (u.onlyIfAvailable() && s.isBooked()) yield Result.CONFLICT;
+                yield db.applySeatUpdate(u.flightId(), u.seatNumber(), u.passenger()) ? Result.UPDATED : Result.CONFLICT;
+            }
+            case AddFlight a -> db.applyAddFlight(a.flightId(), a.flightNumber(), a.startRow(), a.endRow(),
+                    a.seatLetters()) ? Result.UPDATED : Result.CONFLICT;
+            case DeleteFlight d -> db.applyDeleteFlight(d.flightId()) ? Result.UPDATED : Result.NOT_FOUND;
+        };
+    }
+
+    /** Result of a keyed retry: the first outcome (a failure is re-derived from the current seat). */
+    private Result replayResult(UpdateSeat u, IdempotencyCache.Replay earlier) {
+        return switch (earlier) {
+            case TRUE -> Result.UPDATED;
+            case MISMATCH -> Result.KEY_MISMATCH;
+            case FALSE -> db.findSeat(u.flightId(), u.seatNumber()) == null ? Result.NOT_FOUND : Result.CONFLICT;
+        };
+    }
+
+    private static String request(UpdateSeat u) {
+        return IdempotencyCache.request(u.passenger() == null ? "release" : "book", u.flightId(), u.seatNumber());
+    }
+
+    private static Metrics.Op op(Command c) {
+        return switch (c) {
+            case UpdateSeat u -> Metrics.Op.UPDATE_SEAT;
+            case AddFlight a -> Metrics.Op.ADD_FLIGHT;
+            case DeleteFlight d -> Metrics.Op.DELETE_FLIGHT;
+        };
+    }
+}
@@ -1,8 +1,17 @@
 package airlines;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * DatabaseService 10-12-2025
@@ -11,33 +20,147 @@ import java.util.List;
  * - Provides read APIs for UI
  * - Persists changes (autosave) after updates
  * - NEW: addFlight(...) and deleteFlight(...) for flight management
+ * - Mutations (load/update/add/delete/save) are synchronized on the service
+ * - Reads are lock-free: every change publishes a new immutable FlightSnapshot
+ *   (copy-on-write; only the changed flight is copied), so readers never block
+ *   and never see a half-applied update
+ * - Every change stamps the changed flight and seat with the new snapshot version;
+ *   updateSeatIfVersion(...) is the optimistic (compare-and-set) variant of
+ *   updateSeat for editors that read, let the user think, then write
+ * - bookSeat / releaseSeat take an optional idempotency key: a retried request
+ *   gets the original outcome without touching the seat or saving again (see
+ *   IdempotencyCache; keys are persisted next to the database in <dbPath>.idem)
+ * - Scheduled flights are indexed by departure (ScheduleIndex), so
+ *   getFlightsDeparting(from, to) is O(log n + k) instead of a full scan
+ * - Flights with a full schedule also form a RouteGraph for multi-leg connection
+ *   searches (findEarliestArrival / findFewestLegs); both indexes are updated
+ *   incrementally on add / delete / schedule change and rebuilt on load
+ * - Flights may have nested fare classes (FareInventory); class counters change in
+ *   the same copy-on-write step as the seat, and getFareAvailability(...) reads
+ *   them without scanning seats
+ * - Each flight has a priority Waitlist (tier, then request time); releasing a booked
+ *   seat promotes the head of the queue into it in the same update and the same
+ *   save (the queue is persisted next to the database in <dbPath>.waitlist)
+ * - archiveDepartedBefore(cutoff) moves departed flights into a FlightArchive
+ *   (<dbPath>.archive/, GZIP month segments) so the live file stays bounded;
+ *   archived flights are still readable through findArchivedFlight / getArchivedFlights
+ * - Diagnostics go through Log (asynchronous, never blocks a booking)
  */
 public class DatabaseService {
 
+    private static final String SOURCE = "DatabaseService";
+
+    /** Outcome of a conditional update. */
+    public enum UpdateResult {
+        UPDATED,   // applied (and autosaved)
+        NOT_FOUND, // no such flight or seat
+        CONFLICT,  // seat changed since the expected version was read; nothing written
+        SOLD_OUT   // requested fare class has no availability left; nothing written
+    }
+
+    private static final long ANY_VERSION = -1;
+    private static final char DEFAULT_CLASS = 0; // keep the seat's class, else the top class
+
     private final String dbPath;
-    private final List<Flight> flights = new ArrayList<>();
+    private final IdempotencyCache idempotency; // guarded by this
+    private final Waitlist waitlist;            // guarded by this
+    private final FlightArchive archive;
+    private final ScheduleIndex schedule = new ScheduleIndex(); // written under this, read anywhere
+    private final RouteGraph routes = new RouteGraph();         // written under this, read anywhere
+    private volatile FlightSnapshot snapshot = FlightSnapshot.EMPTY; // written under this, read anywhere
 
     /** Loads data from dbPath; auto-creates file if missing (via FileStorage.read). */
     public DatabaseService(String dbPath) {
         this.dbPath = dbPath == null ? "database.txt" : dbPath;
+        this.idempotency = new IdempotencyCache(Path.of(this.dbPath + ".idem"));
+        this.waitlist = new Waitlist(Path.of(this.dbPath + ".waitlist"));
+        this.archive = new FlightArchive(Path.of(this.dbPath + ".archive"));
         load(); // autoload on construction
     }
 
     /** Re-load from disk, replacing in-memory flights. */
-    public final void load() {
-        flights.clear();
-        flights.addAll(FileStorage.read(dbPath));
+    public final synchronized void load() {
+        JfrEvents.DatabaseLoad event = new JfrEvents.DatabaseLoad();
+        event.begin();
+        long t0 = System.nanoTime();
+        long version = snapshot.version() + 1;
+        List<Flight> loaded = FileStorage.read(dbPath);
+        for (Flight f : loaded) stamp(f, version); // fresh objects, not yet visible to readers
+        snapshot = FlightSnapshot.of(version, loaded);
+        schedule.rebuild(loaded);
+        routes.rebuild(loaded);
+        waitlist.read(snapshot);
+        Metrics.record(Metrics.Op.LOAD, System.nanoTime() - t0, true);
+        if (event.shouldCommit()) {
+            event.flightCount = snapshot.size();
+            event.commit();
+        }
+    }
+
+    /** Current immutable state; hold on to it to read several values consistently. */
+    public FlightSnapshot snapshot() {
+        return snapshot;
     }
 
-    /** Expose read-only list for UI binding. */
+    /** Read-only list of the current snapshot (never changes after it is returned). */
     public List<Flight> getFlights() {
-        return Collections.unmodifiableList(flights);
+        return snapshot.flights();
+    }
+
+    /** Number of flights (no copy; used by list models). */
+    public int getFlightCount() {
+        return snapshot.size();
+    }
+
+    /** Flight at a list position (no copy; used by list models). */
+    public Flight getFlightAt(int index) {
+        return snapshot.flights().get(index);
     }
 
     /** Seats for a specific flight (read-only list); empty list if not found. */
     public List<Seat> getSeats(String flightId) {
-        Flight f = findFlight(flightId);
-        return f == null ? List.of() : f.getSeats(); // Flight#getSeats
+        return snapshot.seats(flightId);
+    }
+
+    /** Booked seats of a flight from its maintained counter (lock-free, O(1)); -1 if not found. */
+    public int getBookedCount(String flightId) {
+        Flight f = snapshot.flight(flightId);
+        return f == null ? -1 : f.getBookedCount();
+    }
+
+    /** Available seats of a flight (lock-free, O(1)); -1 if not found. */
+    public int getAvailableCount(String flightId) {
+        Flight f = snapshot.flight(flightId);
+        return f == null ? -1 : f.getAvailableCount();
+    }
+
+    /**
+     * Scheduled flights with from <= departure < to, ordered by departure (then id).
+     * Lock-free; O(log n + k) for k results.
+     */
+    public List<Flight> getFlightsDeparting(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) return List.of();
+        return schedule.departing(snapshot, from, to);
+    }
+
+    /**
+     * Itinerary from origin to destination (airport codes) departing at or after
+     * notBefore that arrives earliest, or null if there is none.
+     * - Every leg has at least one available seat
+     * - Connections leave at least minConnection between arrival and next departure
+     * - At most maxLegs flights; a leg departs within 24 h of the traveller being ready
+     */
+    public Itinerary findEarliestArrival(String origin, String destination, LocalDateTime notBefore,
+                                         Duration minConnection, int maxLegs) {
+        return routes.search(snapshot, origin, destination, notBefore, minConnection, maxLegs,
+                RouteGraph.Objective.EARLIEST_ARRIVAL);
+    }
+
+    /** Like findEarliestArrival, but with as few legs as possible (earliest arrival among those). */
+    public Itinerary findFewestLegs(String origin, String destination, LocalDateTime notBefore,
+                                    Duration minConnection, int maxLegs) {
+        return routes.search(snapshot, origin, destination, notBefore, minConnection, maxLegs,
+                RouteGraph.Objective.FEWEST_LEGS);
     }
 
     /**
@@ -47,21 +170,177 @@ public class DatabaseService {
      * Autosaves after successful update.
      * @return true if flight+seat found and updated
      */
-    public boolean updateSeat(String flightId, String seatNumber, Passenger passenger) {
-        Flight f = findFlight(flightId);
-        if (f == null) return false;
-        Seat seat = f.getSeat(seatNumber);
-        if (seat == null) return false;
+    public synchronized boolean updateSeat(String flightId, String seatNumber, Passenger passenger) {
+        return updateSeat(flightId, seatNumber, passenger, ANY_VERSION, DEFAULT_CLASS) == UpdateResult.UPDATED;
+    }
+
+    /**
+     * Like updateSeat, but only if the seat still has expectedVersion (Seat#getVersion as
+     * read earlier, e.g. when an editor dialog was opened). No lock is held in between;
+     * a concurrent change makes this fail with CONFLICT instead of being overwritten.
+     * Versions only grow, so a mismatch seen in the current snapshot fails without locking.
+     */
+    public UpdateResult updateSeatIfVersion(String flightId, String seatNumber, Passenger passenger,
+                                            long expectedVersion) {
+        Seat current = findSeat(flightId, seatNumber);
+        if (current == null) return UpdateResult.NOT_FOUND;
+        if (current.getVersion() != expectedVersion) return UpdateResult.CONFLICT;
+        synchronized (this) {
+            return updateSeat(flightId, seatNumber, passenger, expectedVersion, DEFAULT_CLASS);
+        }
+    }
+
+    private UpdateResult updateSeat(String flightId, String seatNumber, Passenger passenger, long expectedVersion,
+                                    char fareClass) {
+        JfrEvents.SeatUpdate event = new JfrEvents.SeatUpdate();
+        event.begin();
+        long t0 = System.nanoTime();
+        UpdateResult result = applySeatUpdate(flightId, seatNumber, passenger, expectedVersion, fareClass);
+        boolean ok = result == UpdateResult.UPDATED;
+        if (ok) save(); // AUTOSAVE
+        commitSeatUpdate(event, t0, flightId, seatNumber, passenger, ok);
+        return result;
+    }
+
+    private static void commitSeatUpdate(JfrEvents.SeatUpdate event, long t0, String flightId, String seatNumber,
+                                         Passenger passenger, boolean ok) {
+        Metrics.record(Metrics.Op.UPDATE_SEAT, System.nanoTime() - t0, ok);
+        if (event.shouldCommit()) {
+            event.flightId = flightId;
+            event.seatNumber = seatNumber;
+            event.booked = passenger != null;
+            event.success = ok;
+            event.commit();
+        }
+    }
+
+    // apply*: in-memory change only, no save; caller holds the lock (also used by BookingWriter)
+    boolean applySeatUpdate(String flightId, String seatNumber, Passenger passenger) {
+        return applySeatUpdate(flightId, seatNumber, passenger, ANY_VERSION, DEFAULT_CLASS) == UpdateResult.UPDATED;
+    }
 
+    private UpdateResult applySeatUpdate(String flightId, String seatNumber, Passenger passenger,
+                                         long expectedVersion, char fareClass) {
+        FlightSnapshot s = snapshot;
+        int i = s.indexOf(flightId);
+        if (i < 0) return UpdateResult.NOT_FOUND;
+        Seat current = s.flights().get(i).getSeat(seatNumber);
+        if (current == null) return UpdateResult.NOT_FOUND;
+        if (expectedVersion != ANY_VERSION && current.getVersion() != expectedVersion) return UpdateResult.CONFLICT;
+
+        long version = s.version() + 1;     // == version of the snapshot published below
+        Flight copy = s.flights().get(i).copy(); // copy-on-write: readers keep the old flight
+        Seat seat = copy.getSeat(seatNumber);
+        if (!moveFareClass(copy.getFareInventory(), seat, passenger, fareClass)) return UpdateResult.SOLD_OUT;
         if (passenger == null) {
             seat.clearPassenger();           // AVAILABLE
+            if (current.isBooked()) promote(flightId, copy, seat); // ... unless someone is waiting
         } else {
-            seat.setPassenger(passenger);    // BOOKED
+            seat.setPassenger(passenger);    // BOOKED (keeps the fare class set above)
+            waitlist.remove(flightId, passenger); // seated passengers never wait (O(1))
+        }
+        seat.stampVersion(version);
+        copy.stampVersion(version);
+        snapshot = s.withReplaced(i, copy);
+        return UpdateResult.UPDATED;
+    }
+
+    /**
+     * Adjust the class counters of an unpublished flight copy for booking (passenger != null)
+     * or releasing the seat, and record the class on the seat. A booking keeps the seat's
+     * current class unless another one is requested; new bookings default to the top class.
+     * @return false if the requested class is unknown or sold out (counters unchanged)
+     */
+    private static boolean moveFareClass(FareInventory fares, Seat seat, Passenger passenger, char fareClass) {
+        if (fares == null) return fareClass == DEFAULT_CLASS;
+        char held = seat.isBooked() ? (fares.hasClass(seat.getFareClass()) ? seat.getFareClass() : fares.topClass()) : 0;
+        if (passenger == null) {
+            if (held != 0) fares.release(held);
+            return true;
         }
-        save(); // AUTOSAVE
+        char wanted = fareClass != DEFAULT_CLASS ? Character.toUpperCase(fareClass) : held != 0 ? held : fares.topClass();
+        if (wanted == held) return true;
+        if (held != 0) fares.release(held);
+        if (!fares.book(wanted)) return false; // the copy is discarded, so no need to undo the release
+        seat.setFareClass(wanted);
         return true;
     }
 
+    /** One seat of a bulk booking (BookingImporter); fareClass 0 = top class if the flight has classes. */
+    record SeatBooking(String seatNumber, Passenger passenger, char fareClass) {}
+
+    /**
+     * Book many seats of one flight on a single copy and publish it once; no save.
+     * Caller holds the lock (BookingImporter holds it for the whole list).
+     * - UPDATED: booked, or already held by the same passenger (unchanged[k] = true)
+     * - NOT_FOUND: no such seat; CONFLICT: seat held by someone else (including an
+     *   earlier row of the same batch); SOLD_OUT: fare class unknown or full
+     * @return one result per booking, or null if the flight does not exist
+     */
+    UpdateResult[] applyBookings(String flightId, List<SeatBooking> bookings, boolean[] unchanged) {
+        FlightSnapshot s = snapshot;
+        int i = s.indexOf(flightId);
+        if (i < 0) return null;
+        long version = s.version() + 1;
+        Flight copy = s.flights().get(i).copy();
+        Map<String, Seat> seats = new HashMap<>(copy.getSeats().size() * 4 / 3 + 1); // getSeat is a linear scan
+        for (Seat seat : copy.getSeats()) seats.put(seat.getSeatNumber().toUpperCase(Locale.ROOT), seat);
+
+        UpdateResult[] out = new UpdateResult[bookings.size()];
+        boolean changed = false;
+        for (int k = 0; k < out.length; k++) {
+            SeatBooking b = bookings.get(k);
+            Seat seat = b.seatNumber() == null ? null : seats.get(b.seatNumber().trim().toUpperCase(Locale.ROOT));
+            if (seat == null) {
+                out[k] = UpdateResult.NOT_FOUND;
+            } else if (seat.isBooked()) {
+                unchanged[k] = b.passenger().equals(seat.getPassenger());
+                out[k] = unchanged[k] ? UpdateResult.UPDATED : UpdateResult.CONFLICT;
+            } else if (!moveFareClass(copy.getFareInventory(), seat, b.passenger(), b.fareClass())) {
+                out[k] = UpdateResult.SOLD_OUT;
+            } else {
+                seat.setPassenger(b.passenger());
+                seat.stampVersion(version);
+                waitlist.remove(flightId, b.passenger());
+                out[k] = UpdateResult.UPDATED;
+                changed = true;
+            }
+        }
+        if (changed) {
+            copy.stampVersion(version);
+            snapshot = s.withReplaced(i, copy);
+        }
+        return out;
+    }
+
+    /**
+     * Give a just-released seat of an unpublished flight copy to the head of the flight's
+     * waitlist (top fare class); O(log n), no seat scan: a passenger who books a seat is
+     * taken off the waitlist at that moment. The seat stays free if nobody is waiting.
+     */
+    private void promote(String flightId, Flight copy, Seat seat) {
+        Waitlist.Entry head = waitlist.peek(flightId);
+        if (head == null) return;
+        FareInventory fares = copy.getFareInventory();
+        if (fares != null) {
+            if (!fares.book(fares.topClass())) return;
+            seat.setFareClass(fares.topClass());
+        }
+        waitlist.poll(flightId);
+        seat.setPassenger(head.passenger());
+        Log.info(SOURCE, "Promoted " + head.passenger().getFullName() + " from the waitlist to "
+                + copy.getId() + " " + seat.getSeatNumber());
+    }
+
+    /**
+     * Book a seat in a fare class (e.g. 'M'); fails if the flight has no such class or
+     * the class has no availability left. Rebooking a booked seat moves it to the class.
+     */
+    public synchronized boolean bookSeat(String flightId, String seatNumber, Passenger passenger, char fareClass) {
+        if (passenger == null || fareClass == DEFAULT_CLASS) return false;
+        return updateSeat(flightId, seatNumber, passenger, ANY_VERSION, fareClass) == UpdateResult.UPDATED;
+    }
+
     /** Convenience wrappers */
     public boolean bookSeat(String flightId, String seatNumber, Passenger passenger) {
         return updateSeat(flightId, seatNumber, passenger);
@@ -70,15 +349,203 @@ public class DatabaseService {
         return updateSeat(flightId, seatNumber, null);
     }
 
-    /** Persist current flights to disk. */
-    public boolean save() {
+    /**
+     * bookSeat with an idempotency key (null = no deduplication). With a key, the seat
+     * is booked only if it is still AVAILABLE, like BookingWriter.book, so a keyed
+     * "book" means the same whichever entry point records it. Repeating a key
+     * returns the first call's outcome without changing anything; reusing it for a
+     * different flight/seat/operation returns false. If the save fails, the change is
+     * undone, false is returned and the key is not recorded, so a retry can succeed.
+     * @throws IllegalArgumentException if the key is blank, too long or has control characters
+     */
+    public boolean bookSeat(String flightId, String seatNumber, Passenger passenger, String idempotencyKey) {
+        return updateSeatOnce("book", flightId, seatNumber, passenger, idempotencyKey);
+    }
+
+    /** releaseSeat with an idempotency key; see bookSeat(..., idempotencyKey). */
+    public boolean releaseSeat(String flightId, String seatNumber, String idempotencyKey) {
+        return updateSeatOnce("release", flightId, seatNumber, null, idempotencyKey);
+    }
+
+    private synchronized boolean updateSeatOnce(String op, String flightId, String seatNumber,
+                                                Passenger passenger, String key) {
+        if (key == null) return updateSeat(flightId, seatNumber, passenger);
+        String request = IdempotencyCache.request(op, flightId, seatNumber);
+        IdempotencyCache.Replay earlier = replay(key, request);
+        if (earlier != null) return earlier == IdempotencyCache.Replay.TRUE;
+        JfrEvents.SeatUpdate event = new JfrEvents.SeatUpdate();
+        event.begin();
+        long t0 = System.nanoTime();
+        FlightSnapshot before = snapshot;
+        Seat current = findSeat(flightId, seatNumber);
+        boolean applied = current != null && !(passenger != null && current.isBooked()) // keyed book: only if available
+                && applySeatUpdate(flightId, seatNumber, passenger);
+        boolean ok = applied && commit();         // saves first ...
+        if (applied && !ok) {
+            restore(before);                      // not saved: keep nothing, record no key
+        } else {
+            idempotency.put(key, request, ok);
+            idempotency.flush();                  // ... then records the key
+        }
+        commitSeatUpdate(event, t0, flightId, seatNumber, passenger, ok);
+        return ok;
+    }
+
+    // idempotency helpers; caller holds the lock (also used by BookingWriter)
+    /** Earlier outcome of key (MISMATCH if it was used for another request), or null if it is new. */
+    IdempotencyCache.Replay replay(String key, String request) {
+        IdempotencyCache.checkKey(key);
+        IdempotencyCache.Replay r = idempotency.lookup(key, request);
+        if (r == null) return null;
+        if (r == IdempotencyCache.Replay.MISMATCH) {
+            Log.limited(Log.Level.WARN, SOURCE, "idempotency-mismatch",
+                    "Idempotency key reused for a different request: " + request);
+        } else {
+            Log.debug(SOURCE, "Replayed idempotent " + request);
+        }
+        return r;
+    }
+
+    IdempotencyCache idempotency() {
+        return idempotency;
+    }
+
+    /**
+     * Put back the flights of an earlier snapshot, published under a new version (versions
+     * only grow). Indexes are rebuilt and the waitlist is re-read from its last saved state.
+     * Used to undo changes whose save failed; caller holds the lock.
+     */
+    void restore(FlightSnapshot earlier) {
+        List<Flight> flights = earlier.flights();
+        snapshot = FlightSnapshot.of(snapshot.version() + 1, flights);
+        schedule.rebuild(flights);
+        routes.rebuild(flights);
+        waitlist.read(snapshot);
+    }
+
+    /** What persist() managed to write. */
+    private enum Saved { NOTHING, DATA, ALL }
+
+    /** Persist current flights to disk; true if the data file and the waitlist were written. */
+    public synchronized boolean save() {
+        return persist() == Saved.ALL;
+    }
+
+    /**
+     * save() for callers that undo a change when it is not persisted: true once the data
+     * file is written, because the change is then on disk and comes back on load. A
+     * waitlist that could not be written stays dirty and is retried by the next save.
+     * Caller holds the lock.
+     */
+    boolean commit() {
+        return persist() != Saved.NOTHING;
+    }
+
+    private Saved persist() {
+        JfrEvents.DatabaseSave event = new JfrEvents.DatabaseSave();
+        event.begin();
+        long t0 = System.nanoTime();
+        Saved saved = Saved.NOTHING;
         try {
-            FileStorage.write(dbPath, flights);
-            return true;
+            FileStorage.write(dbPath, snapshot.flights());
+            saved = Saved.DATA;
+            if (waitlist.write()) saved = Saved.ALL; // after the data file, see Waitlist
         } catch (IOException e) {
-            System.out.println("[DatabaseService] Save failed: " + e.getMessage());
+            Log.error(SOURCE, "Save failed: " + e.getMessage());
+        } finally {
+            boolean ok = saved == Saved.ALL;
+            Metrics.record(Metrics.Op.SAVE, System.nanoTime() - t0, ok);
+            if (event.shouldCommit()) {
+                event.flightCount = snapshot.size();
+                event.success = ok;
+                event.commit();
+            }
+        }
+        return saved;
+    }
+
+    // ---------- waitlist ----------
+
+    /**
+     * Put a passenger on a flight's waitlist. Lower tiers are promoted first (0 = top
+     * tier); within a tier, earlier requests go first.
+     * @return true if queued and saved; false if the flight is unknown, the passenger is
+     *         invalid, already waiting or already holds a seat on the flight
+     */
+    public synchronized boolean joinWaitlist(String flightId, Passenger passenger, int tier) {
+        Flight f = findFlight(flightId);
+        if (f == null || passenger == null || tier < 0
+                || !ValidationUtils.isValidName(passenger.getFirstName())
+                || !ValidationUtils.isValidName(passenger.getLastName())
+                || !ValidationUtils.isValidDobIso(passenger.getDateOfBirth())) {
+            Log.warn(SOURCE, "joinWaitlist: invalid request for " + flightId);
             return false;
         }
+        if (Waitlist.holdsSeat(f, passenger) || waitlist.add(f.getId(), passenger, tier) == null) return false;
+        return save();
+    }
+
+    /** Take a passenger off a flight's waitlist; true if removed and saved. */
+    public synchronized boolean leaveWaitlist(String flightId, Passenger passenger) {
+        if (flightId == null || passenger == null || !waitlist.remove(flightId, passenger)) return false;
+        return save();
+    }
+
+    /** A flight's waitlist in promotion order (a copy); empty if none. */
+    public synchronized List<Waitlist.Entry> getWaitlist(String flightId) {
+        return flightId == null ? List.of() : waitlist.entries(flightId);
+    }
+
+    public synchronized int getWaitlistSize(String flightId) {
+        return flightId == null ? 0 : waitlist.size(flightId);
+    }
+
+    // ---------- archive ----------
+
+    /**
+     * Move every flight departing before cutoff to the archive, then drop it from the
+     * live data and save. The archive is written first, and only flights it reports as
+     * archived are dropped, so a failed save leaves the flights in both places and the
+     * next run just finishes the job.
+     * @return flights moved; -1 if the archive could not be written (nothing changed)
+     */
+    public synchronized int archiveDepartedBefore(LocalDateTime cutoff) {
+        if (cutoff == null) return 0;
+        FlightSnapshot s = snapshot;
+        List<Flight> departed = schedule.departing(s, LocalDateTime.MIN, cutoff);
+        if (departed.isEmpty()) return 0;
+        List<Flight> archived;
+        try {
+            archived = archive.append(departed);
+        } catch (IOException e) {
+            Log.error(SOURCE, "Archiving failed: " + e.getMessage());
+            return -1;
+        }
+        if (archived.isEmpty()) return 0;
+        Set<Flight> gone = new HashSet<>(archived); // Flight equality is by id
+        List<Flight> live = new ArrayList<>(s.size() - archived.size());
+        for (Flight f : s.flights()) {
+            if (!gone.contains(f)) live.add(f);
+        }
+        for (Flight f : archived) {
+            schedule.remove(f);
+            routes.remove(f);
+            waitlist.clear(f.getId());
+        }
+        snapshot = FlightSnapshot.of(s.version() + 1, live); // one rebuild, not one per flight
+        save();
+        Log.info(SOURCE, "Archived " + archived.size() + " flights departing before " + cutoff);
+        return archived.size();
+    }
+
+    /** An archived flight (read from disk on demand), or null if not archived. */
+    public Flight findArchivedFlight(String flightId) {
+        return archive.find(flightId);
+    }
+
+    /** All flights archived for a departure month, read from disk on demand. */
+    public List<Flight> getArchivedFlights(YearMonth month) {
+        return month == null ? List.of() : archive.month(month);
     }
 
     // =====================================================================
@@ -97,33 +564,78 @@ public class DatabaseService {
      */
     public synchronized boolean addFlight(String flightId, String flightNumber,
                                           int startRow, int endRow, char[] seatLetters) {
+        JfrEvents.FlightChange event = new JfrEvents.FlightChange();
+        event.begin();
+        long t0 = System.nanoTime();
+        boolean ok = applyAddFlight(flightId, flightNumber, startRow, endRow, seatLetters) && save();
+        Metrics.record(Metrics.Op.ADD_FLIGHT, System.nanoTime() - t0, ok);
+        commitFlightChange(event, "ADD", flightId, ok);
+        return ok;
+    }
+
+    /**
+     * addFlight with a schedule; origin/destination are 3-letter airport codes,
+     * arrival (optional) may not be before departure. Pass all nulls for none.
+     * @return true if added and saved; false if validation fails or duplicate id
+     */
+    public synchronized boolean addFlight(String flightId, String flightNumber,
+                                          int startRow, int endRow, char[] seatLetters,
+                                          String origin, String destination,
+                                          LocalDateTime departure, LocalDateTime arrival) {
+        JfrEvents.FlightChange event = new JfrEvents.FlightChange();
+        event.begin();
+        long t0 = System.nanoTime();
+        boolean ok = applyAddFlight(flightId, flightNumber, startRow, endRow, seatLetters,
+                origin, destination, departure, arrival) && save();
+        Metrics.record(Metrics.Op.ADD_FLIGHT, System.nanoTime() - t0, ok);
+        commitFlightChange(event, "ADD", flightId, ok);
+        return ok;
+    }
+
+    boolean applyAddFlight(String flightId, String flightNumber,
+                           int startRow, int endRow, char[] seatLetters) {
+        return applyAddFlight(flightId, flightNumber, startRow, endRow, seatLetters, null, null, null, null);
+    }
+
+    boolean applyAddFlight(String flightId, String flightNumber,
+                           int startRow, int endRow, char[] seatLetters,
+                           String origin, String destination, LocalDateTime departure, LocalDateTime arrival) {
         // Validation
         if (isBlank(flightId) || isBlank(flightNumber)) {
-            System.out.println("[DatabaseService] addFlight: missing id/number");
+            Log.warn(SOURCE, "addFlight: missing id/number");
             return false;
         }
         if (findFlight(flightId) != null) {
-            System.out.println("[DatabaseService] addFlight: duplicate flightId " + flightId);
+            Log.warn(SOURCE, "addFlight: duplicate flightId " + flightId);
             return false;
         }
         if (startRow < 1 || endRow < startRow) {
-            System.out.println("[DatabaseService] addFlight: invalid row range " + startRow + ".." + endRow);
+            Log.warn(SOURCE, "addFlight: invalid row range " + startRow + ".." + endRow);
             return false;
         }
         if (seatLetters == null || seatLetters.length == 0) {
-            System.out.println("[DatabaseService] addFlight: no seat letters provided");
+            Log.warn(SOURCE, "addFlight: no seat letters provided");
             return false;
         }
         // Limiter so someone doesn't make 10k seats by accident
         if ((long)(endRow - startRow + 1) * (long)seatLetters.length > 5000) {
-            System.out.println("[DatabaseService] addFlight: too many seats requested");
+            Log.warn(SOURCE, "addFlight: too many seats requested");
             return false;
         }
 
         Flight flight = new Flight(flightId, flightNumber);
+        try {
+            flight.setSchedule(origin, destination, departure, arrival);
+        } catch (IllegalArgumentException e) {
+            Log.warn(SOURCE, "addFlight: " + e.getMessage());
+            return false;
+        }
         generateSeats(flight, startRow, endRow, seatLetters);
-        flights.add(flight);
-        return save();
+        stamp(flight, snapshot.version() + 1);
+        snapshot = snapshot.withAdded(flight);
+        schedule.add(flight);
+        routes.add(flight);
+        return true;
     }
 
     /**
@@ -131,25 +643,144 @@ public class DatabaseService {
      * @return true if removed and saved; false if not found
      */
     public synchronized boolean deleteFlight(String flightId) {
-        Flight f = findFlight(flightId);
-        if (f == null) {
-            System.out.println("[DatabaseService] deleteFlight: not found " + flightId);
+        JfrEvents.FlightChange event = new JfrEvents.FlightChange();
+        event.begin();
+        int seatCount = getSeats(flightId).size(); // before it is gone
+        long t0 = System.nanoTime();
+        boolean ok = applyDeleteFlight(flightId) && save();
+        Metrics.record(Metrics.Op.DELETE_FLIGHT, System.nanoTime() - t0, ok);
+        if (event.shouldCommit()) {
+            event.action = "DELETE";
+            event.flightId = flightId;
+            event.seatCount = seatCount;
+            event.success = ok;
+            event.commit();
+        }
+        return ok;
+    }
+
+    /**
+     * Publish many new, validated flights at once (FlightImporter): one snapshot rebuild
+     * instead of one per flight, no save. Caller holds the lock and has checked that the
+     * ids are new and unique.
+     */
+    void applyAddFlights(List<Flight> flights) {
+        if (flights.isEmpty()) return;
+        FlightSnapshot s = snapshot;
+        long version = s.version() + 1;
+        List<Flight> all = new ArrayList<>(s.size() + flights.size());
+        all.addAll(s.flights());
+        for (Flight f : flights) {
+            stamp(f, version);
+            all.add(f);
+        }
+        snapshot = FlightSnapshot.of(version, all);
+        for (Flight f : flights) {
+            schedule.add(f);
+            routes.add(f);
+        }
+    }
+
+    boolean applyDeleteFlight(String flightId) {
+        int i = snapshot.indexOf(flightId);
+        if (i < 0) {
+            Log.warn(SOURCE, "deleteFlight: not found " + flightId);
             return false;
         }
-        flights.remove(f);
+        Flight gone = snapshot.flights().get(i);
+        schedule.remove(gone);
+        routes.remove(gone);
+        waitlist.clear(gone.getId());
+        snapshot = snapshot.withRemoved(i);
+        return true;
+    }
+
+    /**
+     * Split a flight into nested fare classes, or remove them (classes == null).
+     * Counters start from the current bookings (seats without a class count as top class).
+     * @param classes class letters, highest fare first (e.g. "YBM")
+     * @param limits  nested booking limit per class, non-increasing (see FareInventory)
+     * @return true if changed and saved; false if not found or invalid
+     */
+    public synchronized boolean setFareClasses(String flightId, String classes, int[] limits) {
+        FlightSnapshot s = snapshot;
+        int i = s.indexOf(flightId);
+        if (i < 0) return false;
+        Flight copy = s.flights().get(i).copy();
+        try {
+            copy.setFareInventory(classes == null ? null : FareInventory.of(classes, limits));
+        } catch (IllegalArgumentException e) {
+            Log.warn(SOURCE, "setFareClasses: " + e.getMessage());
+            return false;
+        }
+        copy.stampVersion(s.version() + 1);
+        snapshot = s.withReplaced(i, copy);
+        return save();
+    }
+
+    /**
+     * Seats still sellable in a fare class, from maintained counters (lock-free, no seat
+     * scan); -1 if the flight is unknown, has no fare classes or no such class.
+     */
+    public int getFareAvailability(String flightId, char fareClass) {
+        Flight f = snapshot.flight(flightId);
+        FareInventory fares = f == null ? null : f.getFareInventory();
+        return fares == null ? -1 : fares.available(fareClass);
+    }
+
+    /**
+     * Set or clear (all nulls) the schedule of an existing flight; see addFlight.
+     * @return true if changed and saved; false if not found or invalid
+     */
+    public synchronized boolean updateSchedule(String flightId, String origin, String destination,
+                                               LocalDateTime departure, LocalDateTime arrival) {
+        FlightSnapshot s = snapshot;
+        int i = s.indexOf(flightId);
+        if (i < 0) return false;
+        Flight old = s.flights().get(i);
+        Flight copy = old.copy();
+        try {
+            copy.setSchedule(origin, destination, departure, arrival);
+        } catch (IllegalArgumentException e) {
+            Log.warn(SOURCE, "updateSchedule: " + e.getMessage());
+            return false;
+        }
+        copy.stampVersion(s.version() + 1);
+        boolean moved = !Objects.equals(old.getDeparture(), copy.getDeparture());
+        boolean rerouted = moved || !Objects.equals(old.getArrival(), copy.getArrival())
+                || !Objects.equals(old.getOrigin(), copy.getOrigin())
+                || !Objects.equals(old.getDestination(), copy.getDestination());
+        // new keys first: they resolve to the old flight (and are skipped) until published
+        if (moved) schedule.add(copy);
+        if (rerouted) routes.add(copy);
+        snapshot = s.withReplaced(i, copy);
+        if (moved) schedule.remove(old);
+        if (rerouted) routes.remove(old);
         return save();
     }
 
     // ---------- helpers ----------
+    private void commitFlightChange(JfrEvents.FlightChange event, String action, String flightId, boolean ok) {
+        if (!event.shouldCommit()) return;
+        event.action = action;
+        event.flightId = flightId;
+        event.seatCount = getSeats(flightId).size();
+        event.success = ok;
+        event.commit();
+    }
+
+    /** Seat in the current snapshot; null if flight or seat is missing. */
+    Seat findSeat(String flightId, String seatNumber) {
+        Flight f = findFlight(flightId);
+        return f == null ? null : f.getSeat(seatNumber);
+    }
+
     private Flight findFlight(String flightId) {
-        if (flightId == null) return null;
-        for (Flight f : flights) {
-            if (flightId.equalsIgnoreCase(f.getId())) return f;
-        }
-        return null;
+        return snapshot.flight(flightId);
     }
 
-    private void generateSeats(Flight flight, int startRow, int endRow, char[] seatLetters) {
+    /** Row x letter seat layout ("1A", "1B", ...); shared with DatasetGenerator. */
+    static void generateSeats(Flight flight, int startRow, int endRow, char[] seatLetters) {
         for (int row = startRow; row <= endRow; row++) {
             for (char c : seatLetters) {
                 // Ensure letter is uppercase and valid
@@ -160,6 +791,12 @@ public class DatabaseService {
         }
     }
 
+    /** Stamp an unpublished flight and all its seats with version. */
+    private static void stamp(Flight flight, long version) {
+        flight.stampVersion(version);
+        for (Seat seat : flight.getSeats()) seat.stampVersion(version);
+    }
+
     private static boolean isBlank(String s) {
         return s == null || s.trim().isEmpty();
     }
@@ -0,0 +1,116 @@
+package airlines;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * DatasetGenerator - deterministic synthetic flights for benchmarks and load tests.
+ * - N flights x (rows x letters) seats, same layout as DatabaseService.addFlight
+ * - bookedRatio of seats get a passenger (0.0 .. 1.0)
+ * - Same seed -> same flights, seats, bookings and passengers
+ * - schedule(...) adds random routes and times for schedule / connection tests
+ */
+public final class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "John", "Mary", "Wei", "Ana", "Omar", "Priya", "Lukas", "Chloe", "Mateo", "Yuki"
+    };
+    private static final String[] LAST_NAMES = {
+            "Doe", "Smith", "Garcia", "Nguyen", "O'Connor", "Patel", "Kim", "Mueller", "Rossi", "Silva"
+    };
+
+    private DatasetGenerator() {}
+
+    /**
+     * @param flightCount number of flights (ids G000001.., numbers NU1..)
+     * @param rows        rows per flight (1..rows)
+     * @param letters     seat letters per row
+     * @param bookedRatio fraction of seats booked
+     * @param seed        random seed
+     */
+    public static List<Flight> generate(int flightCount, int rows, char[] letters,
+                                        double bookedRatio, long seed) {
+        if (flightCount < 0 || rows < 1 || letters == null || letters.length == 0) {
+            throw new IllegalArgumentException("flightCount >= 0, rows >= 1 and at least one seat letter required");
+        }
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<Flight> flights = new ArrayList<>(flightCount);
+        for (int i = 1; i <= flightCount; i++) {
+            flights.add(nextFlight(i, rows, letters, bookedRatio, rnd));
+        }
+        return flights;
+    }
+
+    /**
+     * Same dataset as generate(...), streamed straight to a database file one flight
+     * at a time (constant memory, suitable for millions of seat rows).
+     * @return number of seat rows written
+     */
+    public static long generateTo(Path file, int flightCount, int rows, char[] letters,
+                                  double bookedRatio, long seed) throws IOException {
+        if (flightCount < 0 || rows < 1 || letters == null || letters.length == 0) {
+            throw new IllegalArgumentException("flightCount >= 0, rows >= 1 and at least one seat letter required");
+        }
+        SplittableRandom rnd = new SplittableRandom(seed);
+        long seats = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(FileStorage.HEADER);
+            out.newLine();
+            for (int i = 1; i <= flightCount; i++) {
+                seats += FileStorage.writeRows(out, nextFlight(i, rows, letters, bookedRatio, rnd));
+            }
+        }
+        return seats;
+    }
+
+    private static Flight nextFlight(int i, int rows, char[] letters, double bookedRatio, SplittableRandom rnd) {
+        Flight f = new Flight(flightId(i), "NU" + i);
+        DatabaseService.generateSeats(f, 1, rows, letters);
+        for (Seat s : f.getSeats()) {
+            if (rnd.nextDouble() < bookedRatio) s.setPassenger(passenger(rnd));
+        }
+        return f;
+    }
+
+    /**
+     * Give every flight a random route between two of the first `airports` codes
+     * (AAA, AAB, ...), a departure in [start, start + days) on a 5-minute grid and a
+     * 1-6 h block time. Same seed -> same schedule.
+     */
+    public static void schedule(List<Flight> flights, int airports, LocalDateTime start, int days, long seed) {
+        if (airports < 2 || days < 1) throw new IllegalArgumentException("airports >= 2 and days >= 1 required");
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int slots = days * 24 * 12;
+        for (Flight f : flights) {
+            int from = rnd.nextInt(airports);
+            int to = (from + 1 + rnd.nextInt(airports - 1)) % airports;
+            LocalDateTime dep = start.plusMinutes(5L * rnd.nextInt(slots));
+            f.setSchedule(airportCode(from), airportCode(to), dep, dep.plusMinutes(60 + 5L * rnd.nextInt(61)));
+        }
+    }
+
+    /** 0 -> AAA, 1 -> AAB, ... (26^3 codes). */
+    public static String airportCode(int i) {
+        if (i < 0 || i >= 26 * 26 * 26) throw new IllegalArgumentException("airport index out of range: " + i);
+        return new String(new char[]{(char) ('A' + i / 676), (char) ('A' + i / 26 % 26), (char) ('A' + i % 26)});
+    }
+
+    /** Stable id for the i-th generated flight (1-based), e.g. G000042. */
+    public static String flightId(int i) {
+        return String.format("G%06d", i);
+    }
+
+    /** Random but valid passenger (passes ValidationUtils name/DOB rules). */
+    static Passenger passenger(SplittableRandom rnd) {
+        String dob = String.format("%04d-%02d-%02d",
+                1930 + rnd.nextInt(90), 1 + rnd.nextInt(12), 1 + rnd.nextInt(28));
+        return new Passenger(FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)],
+                             LAST_NAMES[rnd.nextInt(LAST_NAMES.length)], dob);
+    }
+}
@@ -0,0 +1,199 @@
+package airlines;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * FareInventory - nested booking classes of one flight (e.g. Y > B > M).
+ * - Classes are ordered from highest to lowest fare; each has a nested booking
+ *   limit: bookings in that class and every lower class together may not exceed
+ *   it (limits never increase down the list; the top limit is usually the cabin)
+ * - So seats "protected" for a higher class (limit of the class above minus this
+ *   limit) can never be sold to a lower one, but a higher class may take any seat
+ * - sold[] and the nested totals are updated in place with every booking / release
+ *   and available[] is re-derived from them (O(classes), no allocation), so
+ *   availability queries never scan seats
+ * - Lives inside a Flight and follows its copy-on-write life cycle: DatabaseService
+ *   changes it only on an unpublished copy, so readers see counters and seats agree
+ * - Text form (FileStorage column): "Y=30;B=20;M=10"
+ */
+public final class FareInventory {
+
+    private final char[] classes; // highest fare first
+    private final int[] limits;   // nested booking limits, non-increasing
+    private final int[] sold;     // seats sold per class
+    private final int[] nestSold; // seats sold in class k and every class below it
+    private final int[] available;
+    private int capacity;         // seats on the flight
+
+    private FareInventory(char[] classes, int[] limits, int[] sold, int[] nestSold, int[] available, int capacity) {
+        this.classes = classes;
+        this.limits = limits;
+        this.sold = sold;
+        this.nestSold = nestSold;
+        this.available = available;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param classes one letter per class, highest fare first (e.g. "YBM")
+     * @param limits  nested booking limit per class, non-increasing, >= 0
+     * @throws IllegalArgumentException on duplicate / non-letter classes or bad limits
+     */
+    public static FareInventory of(String classes, int[] limits) {
+        if (classes == null || classes.isEmpty() || limits == null || limits.length != classes.length()) {
+            throw new IllegalArgumentException("one booking limit per fare class required");
+        }
+        char[] c = classes.toUpperCase(Locale.ROOT).toCharArray();
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] < 'A' || c[i] > 'Z') throw new IllegalArgumentException("fare classes are letters A-Z");
+            for (int j = 0; j < i; j++) {
+                if (c[j] == c[i]) throw new IllegalArgumentException("duplicate fare class " + c[i]);
+            }
+            if (limits[i] < 0 || (i > 0 && limits[i] > limits[i - 1])) {
+                throw new IllegalArgumentException("booking limits must be >= 0 and non-increasing");
+            }
+        }
+        return new FareInventory(c, limits.clone(), new int[c.length], new int[c.length], new int[c.length], 0);
+    }
+
+    /** Parse the text form ("Y=30;B=20;M=10"). */
+    public static FareInventory parse(String text) {
+        if (text == null || text.isBlank()) throw new IllegalArgumentException("empty fare classes");
+        String[] parts = text.trim().split(";");
+        StringBuilder classes = new StringBuilder(parts.length);
+        int[] limits = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String p = parts[i].trim();
+            if (p.length() < 3 || p.charAt(1) != '=') throw new IllegalArgumentException("bad fare class " + p);
+            classes.append(p.charAt(0));
+            try {
+                limits[i] = Integer.parseInt(p.substring(2));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("bad booking limit " + p);
+            }
+        }
+        return of(classes.toString(), limits);
+    }
+
+    /** Text form for persistence. */
+    public String encode() {
+        StringBuilder sb = new StringBuilder(classes.length * 5);
+        for (int i = 0; i < classes.length; i++) {
+            if (i > 0) sb.append(';');
+            sb.append(classes[i]).append('=').append(limits[i]);
+        }
+        return sb.toString();
+    }
+
+    // ---------- queries (O(classes), no seat scans) ----------
+
+    /** Class letters, highest fare first. */
+    public String classes() {
+        return new String(classes);
+    }
+
+    /** Highest class; bookings without a class are sold in it. */
+    public char topClass() {
+        return classes[0];
+    }
+
+    public boolean hasClass(char fareClass) {
+        return index(fareClass) >= 0;
+    }
+
+    /** Seats that can still be sold in fareClass; -1 if the class does not exist. */
+    public int available(char fareClass) {
+        int i = index(fareClass);
+        return i < 0 ? -1 : available[i];
+    }
+
+    /** Seats sold in fareClass; -1 if the class does not exist. */
+    public int sold(char fareClass) {
+        int i = index(fareClass);
+        return i < 0 ? -1 : sold[i];
+    }
+
+    /** Nested booking limit of fareClass; -1 if the class does not exist. */
+    public int limit(char fareClass) {
+        int i = index(fareClass);
+        return i < 0 ? -1 : limits[i];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FareInventory{");
+        for (int i = 0; i < classes.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(classes[i]).append(' ').append(sold[i]).append('/').append(limits[i])
+              .append(" avail ").append(available[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+    // ---------- updates (DatabaseService, on an unpublished Flight copy) ----------
+
+    /** Take one seat in fareClass; false (nothing changed) if it is not available. */
+    boolean book(char fareClass) {
+        int i = index(fareClass);
+        if (i < 0 || available[i] <= 0) return false;
+        sold[i]++;
+        for (int k = 0; k <= i; k++) nestSold[k]++; // every nest that contains class i
+        recompute();
+        return true;
+    }
+
+    /** Give back one seat sold in fareClass (no-op for unknown classes). */
+    void release(char fareClass) {
+        int i = index(fareClass);
+        if (i < 0 || sold[i] == 0) return;
+        sold[i]--;
+        for (int k = 0; k <= i; k++) nestSold[k]--;
+        recompute();
+    }
+
+    /**
+     * Reset counters from the flight's seats. Booked seats without a known class
+     * are counted in the top class (they were sold before classes existed).
+     */
+    void recount(List<Seat> seats) {
+        Arrays.fill(sold, 0);
+        for (Seat s : seats) {
+            if (!s.isBooked()) continue;
+            int i = index(s.getFareClass());
+            sold[i < 0 ? 0 : i]++;
+        }
+        capacity = seats.size();
+        int below = 0;
+        for (int k = classes.length - 1; k >= 0; k--) {
+            below += sold[k];
+            nestSold[k] = below;
+        }
+        recompute();
+    }
+
+    FareInventory copy() {
+        return new FareInventory(classes, limits, sold.clone(), nestSold.clone(), available.clone(), capacity);
+    }
+
+    /**
+     * available[i] = min over the nests k <= i (class k and everything below it) of
+     * limit[k] - sold in that nest, and never more than the unsold seats.
+     */
+    private void recompute() {
+        int n = classes.length;
+        int room = capacity - nestSold[0];
+        for (int i = 0; i < n; i++) {
+            room = Math.min(room, limits[i] - nestSold[i]);
+            available[i] = Math.max(0, room);
+        }
+    }
+
+    private int index(char fareClass) {
+        char c = Character.toUpperCase(fareClass);
+        for (int i = 0; i < classes.length; i++) {
+            if (classes[i] == c) return i;
+        }
+        return -1;
+    }
+}
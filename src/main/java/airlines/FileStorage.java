@@ -1,18 +1,35 @@
 package airlines;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
  * FileStorage - Handles reading and initializing the local CSV database.
  *
  * CSV columns:
- * flightId,flightNumber,seatNumber,status,firstName,lastName,dateOfBirth
+ * flightId,flightNumber,seatNumber,status,firstName,lastName,dateOfBirth,departure,arrival,origin,destination,
+ * fareClasses,fareClass
+ *
+ * The schedule columns (ISO local date-time, 3-letter airport codes; empty when
+ * unscheduled) and fareClasses ("Y=30;B=20", empty = none) repeat on every seat row
+ * and are read from a flight's first row; fareClass is the class the seat was sold in.
+ * Files with only the first seven (or eleven) columns still load, as unscheduled
+ * flights (or flights without fare classes).
+ *
+ * Bad rows are skipped; a few are logged as samples, then one summary line per read.
  */
 public final class FileStorage {
 
+    private static final String SOURCE = "FileStorage";
+    /** Bad rows logged individually per read; the rest only show up in the summary line. */
+    private static final int SAMPLE_ROWS = 3;
+
     private FileStorage() {}
 
     /**
@@ -24,90 +41,207 @@ public final class FileStorage {
 
         // 1️⃣ If file does not exist, create with defaults
         if (!Files.exists(p)) {
-            System.out.println("[FileStorage] " + path + " not found. Creating default database...");
+            Log.info(SOURCE, path + " not found. Creating default database...");
             List<Flight> defaults = defaultFlights();
             try {
                 write(p.toString(), defaults); // create the file
             } catch (IOException e) {
-                System.out.println("[FileStorage] Error creating default file: " + e.getMessage());
+                Log.error(SOURCE, "Error creating default file: " + e.getMessage());
             }
             return defaults;
         }
 
         // 2️⃣ Otherwise, load from file
-        Map<String, Flight> flightsById = new LinkedHashMap<>();
-        try {
-            List<String> lines = Files.readAllLines(p, StandardCharsets.UTF_8);
-            for (String raw : lines) {
-                if (raw == null || raw.isBlank() || raw.startsWith("#")) continue;
-
-                String[] cols = raw.split(",", -1);
-                if (cols.length < 7) {
-                    System.out.println("[FileStorage] Skipping malformed row: " + raw);
-                    continue;
-                }
-
-                String flightId = cols[0].trim();
-                String flightNumber = cols[1].trim();
-                String seatNumber = cols[2].trim();
-                String statusStr = cols[3].trim().toUpperCase(Locale.ROOT);
-                String firstName = cols[4].trim();
-                String lastName = cols[5].trim();
-                String dob = cols[6].trim();
-
-                if (flightId.isEmpty() || flightNumber.isEmpty() || seatNumber.isEmpty()) continue;
-
-                Flight flight = flightsById.computeIfAbsent(flightId, id -> new Flight(id, flightNumber));
-
-                Seat seat;
-                if (statusStr.equals("BOOKED")) {
-                    Passenger passenger = new Passenger(firstName, lastName, dob);
-                    seat = new Seat(seatNumber, passenger);
-                } else {
-                    seat = new Seat(seatNumber);
-                }
-                flight.addSeat(seat);
-            }
+        JfrEvents.StorageRead event = new JfrEvents.StorageRead();
+        event.begin();
+        long bytes;
+        List<Flight> flights;
+        try (BufferedReader in = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            bytes = Files.size(p);
+            Metrics.addBytesRead(bytes);
+            flights = readRows(in, path);
         } catch (IOException e) {
-            System.out.println("[FileStorage] Error reading file, using defaults: " + e.getMessage());
+            Log.error(SOURCE, "Error reading file, using defaults: " + e.getMessage());
             return defaultFlights();
         }
 
-        if (flightsById.isEmpty()) {
-            System.out.println("[FileStorage] File empty or invalid. Rebuilding with defaults.");
+        if (flights.isEmpty()) {
+            Log.warn(SOURCE, "File empty or invalid. Rebuilding with defaults.");
             List<Flight> defaults = defaultFlights();
             try {
                 write(p.toString(), defaults);
             } catch (IOException e) {
-                System.out.println("[FileStorage] Could not rebuild file: " + e.getMessage());
+                Log.error(SOURCE, "Could not rebuild file: " + e.getMessage());
             }
             return defaults;
         }
 
-        System.out.println("[FileStorage] Loaded " + flightsById.size() + " flights from " + path);
+        if (event.shouldCommit()) {
+            long seats = 0;
+            for (Flight f : flights) seats += f.getSeats().size();
+            event.path = path;
+            event.flightCount = flights.size();
+            event.seatCount = seats;
+            event.bytes = bytes;
+            event.commit();
+        }
+        Log.info(SOURCE, "Loaded " + flights.size() + " flights from " + path);
+        return flights;
+    }
+
+    /**
+     * Parse database rows (any source: the database file, an archive segment) into
+     * flights in first-seen order; bad rows are skipped and summarised per source.
+     */
+    static List<Flight> readRows(BufferedReader in, String source) throws IOException {
+        Map<String, Flight> flightsById = new LinkedHashMap<>();
+        long malformed = 0, unknownStatus = 0, badSchedule = 0, badFares = 0;
+        Map<Flight, FareInventory> fares = new HashMap<>(); // set once all seats are read
+        String raw;
+        while ((raw = in.readLine()) != null) {
+            if (raw.isBlank() || raw.startsWith("#")) continue;
+
+            String[] cols = raw.split(",", -1);
+            if (cols.length < 7) {
+                if (malformed++ < SAMPLE_ROWS) {
+                    Log.limited(Log.Level.WARN, SOURCE, "malformed row", "Skipping malformed row: " + raw);
+                }
+                continue;
+            }
+
+            String flightId = cols[0].trim();
+            String flightNumber = cols[1].trim();
+            String seatNumber = cols[2].trim();
+            String statusStr = cols[3].trim().toUpperCase(Locale.ROOT);
+            String firstName = cols[4].trim();
+            String lastName = cols[5].trim();
+            String dob = cols[6].trim();
+
+            if (flightId.isEmpty() || flightNumber.isEmpty() || seatNumber.isEmpty()) continue;
+            if (!statusStr.equals("BOOKED") && !statusStr.equals("AVAILABLE")) {
+                if (unknownStatus++ < SAMPLE_ROWS) {
+                    Log.limited(Log.Level.WARN, SOURCE, "unknown status", "Skipping row with unknown status: " + raw);
+                }
+                continue;
+            }
+
+            Flight flight = flightsById.get(flightId);
+            if (flight == null) {
+                flight = new Flight(flightId, flightNumber);
+                if (cols.length >= 11 && !setSchedule(flight, cols) && badSchedule++ < SAMPLE_ROWS) {
+                    Log.limited(Log.Level.WARN, SOURCE, "bad schedule", "Ignoring invalid schedule: " + raw);
+                }
+                if (cols.length >= 13 && !cols[11].isBlank()) {
+                    try {
+                        fares.put(flight, FareInventory.parse(cols[11]));
+                    } catch (IllegalArgumentException e) {
+                        if (badFares++ < SAMPLE_ROWS) {
+                            Log.limited(Log.Level.WARN, SOURCE, "bad fares", "Ignoring invalid fare classes: " + raw);
+                        }
+                    }
+                }
+                flightsById.put(flightId, flight);
+            }
+
+            Seat seat;
+            if (statusStr.equals("BOOKED")) {
+                Passenger passenger = new Passenger(firstName, lastName, dob);
+                seat = new Seat(seatNumber, passenger);
+                if (cols.length >= 13 && cols[12].trim().length() == 1) seat.setFareClass(cols[12].trim().charAt(0));
+            } else {
+                seat = new Seat(seatNumber);
+            }
+            flight.addSeat(seat);
+        }
+
+        if (malformed > 0 || unknownStatus > 0) {
+            Log.warn(SOURCE, String.format(Locale.ROOT, "Skipped %,d malformed rows and %,d rows with unknown status in %s",
+                    malformed, unknownStatus, source));
+        }
+        if (badSchedule > 0 || badFares > 0) {
+            Log.warn(SOURCE, String.format(Locale.ROOT,
+                    "Loaded %,d flights without their invalid schedule and %,d without invalid fare classes from %s",
+                    badSchedule, badFares, source));
+        }
+        fares.forEach(Flight::setFareInventory); // counts the bookings read above
         return new ArrayList<>(flightsById.values());
     }
 
+    /** Header line written at the top of every database file. */
+    static final String HEADER = "# flightId,flightNumber,seatNumber,status,firstName,lastName,dateOfBirth,"
+            + "departure,arrival,origin,destination,fareClasses,fareClass";
+
+    /** Columns 7..10; false (flight left unscheduled) if any value is invalid. */
+    private static boolean setSchedule(Flight flight, String[] cols) {
+        String dep = cols[7].trim(), arr = cols[8].trim(), origin = cols[9].trim(), dest = cols[10].trim();
+        if (dep.isEmpty() && arr.isEmpty() && origin.isEmpty() && dest.isEmpty()) return true;
+        try {
+            flight.setSchedule(origin.isEmpty() ? null : origin, dest.isEmpty() ? null : dest,
+                    dep.isEmpty() ? null : LocalDateTime.parse(dep), arr.isEmpty() ? null : LocalDateTime.parse(arr));
+            return true;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * Writes flights to the given CSV path.
+     * Rows are streamed through a buffered writer (no in-memory copy of the file).
      */
     public static void write(String path, List<Flight> flights) throws IOException {
-        List<String> lines = new ArrayList<>();
-        lines.add("# flightId,flightNumber,seatNumber,status,firstName,lastName,dateOfBirth");
-
-        for (Flight f : flights) {
-            for (Seat s : f.getSeats()) {
-                Passenger p = s.getPassenger();
-                String first = p != null ? p.getFirstName() : "";
-                String last = p != null ? p.getLastName() : "";
-                String dob = p != null ? p.getDateOfBirth() : "";
-                lines.add(String.join(",", f.getId(), f.getFlightNumber(),
-                        s.getSeatNumber(), s.getStatus().name(), first, last, dob));
-            }
+        JfrEvents.StorageWrite event = new JfrEvents.StorageWrite();
+        event.begin();
+        long seats = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(Path.of(path), StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+            for (Flight f : flights) seats += writeRows(out, f);
         }
+        long bytes = Files.size(Path.of(path));
+        Metrics.addBytesWritten(bytes);
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.flightCount = flights.size();
+            event.seatCount = seats;
+            event.bytes = bytes;
+            event.commit();
+        }
+        Log.info(SOURCE, "Saved " + flights.size() + " flights to " + path);
+    }
+
+    /** Append one CSV row per seat of the flight (shared with the dataset generator); returns rows written. */
+    static int writeRows(BufferedWriter out, Flight f) throws IOException {
+        String flightColumns = scheduleColumns(f) + ","
+                + (f.getFareInventory() != null ? f.getFareInventory().encode() : ""); // same for every seat row
+        for (Seat s : f.getSeats()) {
+            Passenger p = s.getPassenger();
+            out.write(f.getId());
+            out.write(',');
+            out.write(f.getFlightNumber());
+            out.write(',');
+            out.write(s.getSeatNumber());
+            out.write(',');
+            out.write(s.getStatus().name());
+            out.write(',');
+            out.write(p != null ? p.getFirstName() : "");
+            out.write(',');
+            out.write(p != null ? p.getLastName() : "");
+            out.write(',');
+            out.write(p != null ? p.getDateOfBirth() : "");
+            out.write(flightColumns);
+            out.write(',');
+            if (s.getFareClass() != 0) out.write(s.getFareClass());
+            out.newLine();
+        }
+        return f.getSeats().size();
+    }
 
-        Files.write(Path.of(path), lines, StandardCharsets.UTF_8);
-        System.out.println("[FileStorage] Saved " + flights.size() + " flights to " + path);
+    /** ",departure,arrival,origin,destination" (empty values when unscheduled). */
+    private static String scheduleColumns(Flight f) {
+        return "," + (f.getDeparture() != null ? f.getDeparture().toString() : "")
+                + "," + (f.getArrival() != null ? f.getArrival().toString() : "")
+                + "," + (f.getOrigin() != null ? f.getOrigin() : "")
+                + "," + (f.getDestination() != null ? f.getDestination() : "");
     }
 
     /** Default dataset used when file is missing or invalid. */
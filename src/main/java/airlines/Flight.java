@@ -1,7 +1,9 @@
 package airlines;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -9,11 +11,29 @@ import java.util.Objects;
  * - id: stable identifier for the flight (e.g., "F001")
  * - flightNumber: display number (e.g., "NU100")
  * - seats: list of Seat objects (Issue #3 will flesh out Seat)
+ * - schedule (optional): origin/destination airport codes and local departure /
+ *   arrival times; unscheduled flights have all four null
+ * - fares (optional): nested booking-class inventory (FareInventory); null = one
+ *   undivided cabin
+ * - version: stamped by DatabaseService on every change to the flight (monotonic
+ *   across the service); compare versions instead of contents to detect changes
+ * - booked / available counts are kept by the seats themselves (each Seat knows its
+ *   flight and reports every status flip), so reading them is O(1). Plain fields:
+ *   DatabaseService only changes unpublished copies under its lock and publishes
+ *   them through a volatile snapshot, so readers always see exact counts
  */
 public class Flight {
     private final String id;
     private String flightNumber;
     private final List<Seat> seats;
+    private final List<Seat> seatsView; // cached read-only view (getSeats does not allocate)
+    private long version;               // 0 until published by a DatabaseService
+    private String origin;              // schedule; all null = unscheduled
+    private String destination;
+    private LocalDateTime departure;
+    private LocalDateTime arrival;
+    private FareInventory fares;        // null = no fare classes
+    private int booked;                 // seats with status BOOKED, kept by Seat.changeStatus
 
     /**
      * Create a Flight with no seats yet (can add later with addSeat()).
@@ -28,16 +48,19 @@ public class Flight {
         this.id = id;
         this.flightNumber = flightNumber;
         this.seats = new ArrayList<>();
+        this.seatsView = Collections.unmodifiableList(seats);
     }
 
     /**
      * Optional convenience: construct with an existing list of seats.
-
+     * Seats that already belong to another flight are copied, so that flight keeps them.
      */
     public Flight(String id, String flightNumber, List<Seat> initialSeats) {
         this(id, flightNumber);
         if (initialSeats != null) {
-            this.seats.addAll(initialSeats);
+            for (Seat s : new ArrayList<>(initialSeats)) { // the list may be a live seat view
+                if (s != null) addSeat(s.owner() == null ? s : s.copy());
+            }
         }
     }
 
@@ -58,21 +81,146 @@ public class Flight {
         this.flightNumber = flightNumber;
     }
 
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public LocalDateTime getDeparture() {
+        return departure;
+    }
+
+    public LocalDateTime getArrival() {
+        return arrival;
+    }
+
+    /** True when the flight has a departure time (and so appears in schedule queries). */
+    public boolean isScheduled() {
+        return departure != null;
+    }
+
+    /**
+     * Set (or clear, with all nulls) the schedule.
+     * Airport codes are 3 letters (stored uppercase); arrival needs a departure and
+     * may not be before it.
+     */
+    public void setSchedule(String origin, String destination, LocalDateTime departure, LocalDateTime arrival) {
+        if (origin != null && !ValidationUtils.isValidAirportCode(origin)) {
+            throw new IllegalArgumentException("origin must be a 3-letter airport code");
+        }
+        if (destination != null && !ValidationUtils.isValidAirportCode(destination)) {
+            throw new IllegalArgumentException("destination must be a 3-letter airport code");
+        }
+        if (arrival != null && (departure == null || arrival.isBefore(departure))) {
+            throw new IllegalArgumentException("arrival must not be before departure");
+        }
+        this.origin = origin == null ? null : origin.trim().toUpperCase(Locale.ROOT);
+        this.destination = destination == null ? null : destination.trim().toUpperCase(Locale.ROOT);
+        this.departure = departure;
+        this.arrival = arrival;
+    }
+
+    /** Fare-class inventory, or null if the flight is not split into classes. */
+    public FareInventory getFareInventory() {
+        return fares;
+    }
+
+    /** Set (or clear, with null) the fare classes; counters are recounted from the seats. */
+    public void setFareInventory(FareInventory fares) {
+        this.fares = fares;
+        if (fares != null) fares.recount(seats);
+    }
+
+    /** Seats currently BOOKED (O(1)). */
+    public int getBookedCount() {
+        return booked;
+    }
+
+    /** Seats currently AVAILABLE (O(1)). */
+    public int getAvailableCount() {
+        return seats.size() - booked;
+    }
+
+    /** Called by a seat of this flight when it flips between AVAILABLE and BOOKED. */
+    void bookedChanged(int delta) {
+        booked += delta;
+    }
+
+    /** Version of the last published change to this flight (0 if never published). */
+    public long getVersion() {
+        return version;
+    }
+
+    void stampVersion(long version) {
+        this.version = version;
+    }
+
     /**
      * Returns an unmodifiable view of the seat list.
      * Use addSeat/removeSeat to modify.
      */
     public List<Seat> getSeats() {
-        return Collections.unmodifiableList(seats);
+        return seatsView;
     }
 
+    /**
+     * Add a seat; the seat then belongs to this flight (a seat is on one flight at a time,
+     * so it is taken off its previous flight). Adding a seat this flight already has is a no-op.
+     */
     public void addSeat(Seat seat) {
-        if (seat == null) return;
+        if (seat == null || seat.owner() == this) return;
+        Flight previous = seat.owner();
+        if (previous != null) previous.removeAt(previous.indexOfSame(seat));
         seats.add(seat);
+        seat.setOwner(this);
+        if (seat.isBooked()) booked++;
+        if (fares != null) fares.recount(seats);
     }
 
+    /** Remove the seat with the same number (case-insensitive); false if there is none. */
     public boolean removeSeat(Seat seat) {
-        return seats.remove(seat);
+        if (seat == null) return false;
+        int i = seats.indexOf(seat); // Seat equality is by number
+        if (i < 0) return false;
+        removeAt(i);
+        return true;
+    }
+
+    private int indexOfSame(Seat seat) {
+        for (int i = 0; i < seats.size(); i++) {
+            if (seats.get(i) == seat) return i;
+        }
+        return -1;
+    }
+
+    /** Take seats[i] off this flight; counters follow the seat actually removed. */
+    private void removeAt(int i) {
+        if (i < 0) return;
+        Seat removed = seats.remove(i);
+        if (removed.isBooked()) booked--;
+        removed.setOwner(null);
+        if (fares != null) fares.recount(seats);
+    }
+
+    /** Deep copy: same id, number, schedule and version, copied seats and fare counters. */
+    public Flight copy() {
+        Flight c = new Flight(id, flightNumber);
+        c.version = version;
+        c.origin = origin;
+        c.destination = destination;
+        c.departure = departure;
+        c.arrival = arrival;
+        for (Seat s : seats) {
+            Seat sc = s.copy();
+            sc.setOwner(c);
+            c.seats.add(sc);
+        }
+        c.booked = booked;
+        c.fares = fares == null ? null : fares.copy();
+        return c;
     }
 
     /**
@@ -94,6 +242,7 @@ public class Flight {
         return "Flight{" +
                 "id='" + id + '\'' +
                 ", flightNumber='" + flightNumber + '\'' +
+                (departure != null ? ", " + origin + "->" + destination + " " + departure : "") +
                 ", seats=" + seats.size() +
                 '}';
     }
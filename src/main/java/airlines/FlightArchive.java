@@ -0,0 +1,262 @@
+package airlines;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FlightArchive - cold storage for departed flights, outside the live database file.
+ * - One segment per departure month holding FileStorage rows. Each archive run adds
+ *   one complete GZIP file to it (yyyy-MM.csv.gz, then yyyy-MM.2.csv.gz, ...),
+ *   written to a .tmp file and moved into place, so a crash never leaves a torn file
+ *   behind and nothing is ever rewritten; a run file that cannot be read (damaged on
+ *   disk) is logged and skipped, and the rest of the month stays readable
+ * - index.tsv maps flight id -> segment (also append-only, later lines win); it is
+ *   read lazily on first use, so opening the database does not depend on archive size
+ * - Lookups decompress one month's run files and parse only the rows of the requested
+ *   flight; a flight archived twice (same id re-used) resolves to its latest copy
+ * - Segments and the index are written before DatabaseService drops the flights from
+ *   the live file, and only flights append() reports as archived are dropped. A flight
+ *   whose latest archived copy in the same segment has identical rows is not written
+ *   again, so retrying after a crash between the two never duplicates it; a re-used id
+ *   with different content is written, and that newer copy wins
+ * - Methods are synchronized: archiving is rare and lookups are on demand
+ */
+public final class FlightArchive {
+
+    private static final String SOURCE = "FlightArchive";
+    static final String INDEX = "index.tsv";
+    static final String SEGMENT_SUFFIX = ".csv.gz";
+
+    private final Path dir;
+    private Map<String, String> index; // upper-case id -> segment name; null until first use
+
+    public FlightArchive(Path dir) {
+        this.dir = dir;
+    }
+
+    /** Segment name of a departure month, also its first run file ("2026-11.csv.gz"). */
+    static String segment(YearMonth month) {
+        return month + SEGMENT_SUFFIX;
+    }
+
+    /** File of a segment's n-th archive run (n >= 2): "2026-11.csv.gz" -> "2026-11.3.csv.gz". */
+    static String runFile(String segment, int n) {
+        return segment.substring(0, segment.length() - SEGMENT_SUFFIX.length()) + '.' + n + SEGMENT_SUFFIX;
+    }
+
+    /** A segment's run files in write order (empty if the month has none). */
+    private List<Path> runFiles(String segment) {
+        List<Path> files = new ArrayList<>();
+        for (Path p = dir.resolve(segment); Files.exists(p); p = dir.resolve(runFile(segment, files.size() + 1))) {
+            files.add(p);
+        }
+        return files;
+    }
+
+    private static String key(String flightId) {
+        return flightId.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Append scheduled flights to their month segments and index them.
+     * @return the flights now safely in the archive: written by this call, or already
+     *         archived with identical rows (a retry); only these may leave the live data
+     * @throws IllegalArgumentException if a flight has no departure
+     */
+    public synchronized List<Flight> append(List<Flight> flights) throws IOException {
+        Map<String, String> idx = index();
+        Map<String, List<Flight>> bySegment = new TreeMap<>();
+        Map<String, Map<String, StringBuilder>> archivedRows = new HashMap<>(); // segment -> latest blocks, read on demand
+        List<Flight> archived = new ArrayList<>(flights.size());
+        for (Flight f : flights) {
+            if (f.getDeparture() == null) throw new IllegalArgumentException("cannot archive unscheduled flight " + f.getId());
+            String seg = segment(YearMonth.from(f.getDeparture()));
+            if (seg.equals(idx.get(key(f.getId())))) { // rare: a crash retry, or an id re-used in the same month
+                Map<String, StringBuilder> blocks = archivedRows.get(seg);
+                if (blocks == null) {
+                    blocks = readBlocks(runFiles(seg), null);
+                    archivedRows.put(seg, blocks);
+                }
+                StringBuilder copy = blocks.get(key(f.getId()));
+                if (copy != null && copy.toString().equals(rows(f))) {
+                    archived.add(f); // archived before a crash; the live copy is identical
+                    continue;
+                }
+            }
+            bySegment.computeIfAbsent(seg, k -> new ArrayList<>()).add(f);
+        }
+        if (bySegment.isEmpty()) return archived;
+        Files.createDirectories(dir);
+
+        int written = 0;
+        long bytes = 0;
+        StringBuilder indexLines = new StringBuilder();
+        for (Map.Entry<String, List<Flight>> e : bySegment.entrySet()) {
+            int runs = runFiles(e.getKey()).size();
+            Path file = dir.resolve(runs == 0 ? e.getKey() : runFile(e.getKey(), runs + 1));
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp"); // a crash leaves at most this behind
+            try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                    Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+                for (Flight f : e.getValue()) {
+                    out.write(rows(f));
+                    out.write('\n'); // ends this copy, so a re-archived id starts a new block
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            for (Flight f : e.getValue()) {
+                indexLines.append(f.getId()).append('\t').append(e.getKey()).append('\n');
+                archived.add(f);
+                written++;
+            }
+            bytes += Files.size(file);
+        }
+        Files.writeString(dir.resolve(INDEX), indexLines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        for (Map.Entry<String, List<Flight>> e : bySegment.entrySet()) {
+            for (Flight f : e.getValue()) idx.put(key(f.getId()), e.getKey());
+        }
+        Metrics.addBytesWritten(bytes);
+        Log.info(SOURCE, "Archived " + written + " flights into " + bySegment.size() + " segments (" + bytes + " bytes)");
+        return archived;
+    }
+
+    /** True if the flight id is in the archive. */
+    public synchronized boolean contains(String flightId) {
+        return flightId != null && index().containsKey(key(flightId));
+    }
+
+    /** Number of archived flights. */
+    public synchronized int size() {
+        return index().size();
+    }
+
+    /** An archived flight (a fresh, unpublished object), or null if not archived. */
+    public synchronized Flight find(String flightId) {
+        if (flightId == null) return null;
+        String seg = index().get(key(flightId));
+        if (seg == null) return null;
+        try {
+            List<Flight> found = parse(seg, key(flightId));
+            return found.isEmpty() ? null : found.get(0);
+        } catch (IOException e) {
+            Log.error(SOURCE, "Could not read " + seg + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** All flights archived for a departure month, in archive order; empty if none. */
+    public synchronized List<Flight> month(YearMonth month) {
+        String seg = segment(month);
+        try {
+            return parse(seg, null);
+        } catch (IOException e) {
+            Log.error(SOURCE, "Could not read " + seg + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // ---------- internals ----------
+
+    /**
+     * Decompress a segment's run files and parse the rows of one flight (or all,
+     * flightKey == null). Rows of a flight are contiguous and end with a blank line; a
+     * later block replaces an earlier one, so a re-archived id yields its latest copy.
+     */
+    private List<Flight> parse(String segment, String flightKey) throws IOException {
+        Map<String, StringBuilder> blocks = readBlocks(runFiles(segment), flightKey);
+        if (blocks.isEmpty()) return List.of();
+        StringBuilder rows = new StringBuilder();
+        for (StringBuilder b : blocks.values()) rows.append(b);
+        return FileStorage.readRows(new BufferedReader(new StringReader(rows.toString())), segment);
+    }
+
+    /**
+     * Latest block of rows per flight key ('\n'-terminated lines), in latest-copy order.
+     * A run file that cannot be read to the end is logged and contributes nothing.
+     */
+    private static Map<String, StringBuilder> readBlocks(List<Path> files, String flightKey) {
+        Map<String, StringBuilder> blocks = new LinkedHashMap<>();
+        for (Path file : files) {
+            List<Map.Entry<String, StringBuilder>> run = new ArrayList<>();
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                StringBuilder current = null;
+                String currentId = null;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        currentId = null; // end of a copy
+                        continue;
+                    }
+                    int comma = line.indexOf(',');
+                    if (comma <= 0) continue;
+                    String id = key(line.substring(0, comma));
+                    if (flightKey != null && !flightKey.equals(id)) {
+                        currentId = null;
+                        continue;
+                    }
+                    if (!id.equals(currentId)) { // a new block starts
+                        current = new StringBuilder();
+                        currentId = id;
+                        run.add(Map.entry(id, current));
+                    }
+                    current.append(line).append('\n');
+                }
+            } catch (IOException e) { // torn or damaged file: keep the other runs readable
+                Log.error(SOURCE, "Skipping unreadable archive file " + file + ": " + e);
+                continue;
+            }
+            for (Map.Entry<String, StringBuilder> b : run) {
+                blocks.remove(b.getKey()); // keep the map in latest-copy order
+                blocks.put(b.getKey(), b.getValue());
+            }
+        }
+        return blocks;
+    }
+
+    /** A flight's archive rows, exactly as readBlocks returns them. */
+    private static String rows(Flight f) throws IOException {
+        StringWriter sw = new StringWriter();
+        try (BufferedWriter out = new BufferedWriter(sw)) {
+            FileStorage.writeRows(out, f);
+        }
+        return sw.toString().replace(System.lineSeparator(), "\n");
+    }
+
+    private Map<String, String> index() {
+        if (index != null) return index;
+        Map<String, String> idx = new HashMap<>();
+        Path file = dir.resolve(INDEX);
+        if (Files.exists(file)) {
+            try {
+                for (String l : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int tab = l.indexOf('\t');
+                    if (tab > 0) idx.put(key(l.substring(0, tab)), l.substring(tab + 1));
+                }
+            } catch (IOException e) {
+                Log.error(SOURCE, "Could not read " + file + ": " + e.getMessage());
+            }
+        }
+        index = idx;
+        return idx;
+    }
+}
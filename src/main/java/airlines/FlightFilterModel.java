@@ -0,0 +1,109 @@
+package airlines;
+import javax.swing.AbstractListModel;
+import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+/**
+ * FlightFilterModel - virtual ListModel that shows only flights matching a prefix query.
+ * - No copying: holds an int[] of matching positions into the source model
+ * - Empty query = pass-through to the source
+ * - Fresh queries use FlightPrefixIndex (built lazily, dropped when the source changes)
+ * - Extending the previous query (e.g. "NU1" -> "NU12") refines the previous matches only
+ * - A source change drops the index and the matches, then rescans the source once for
+ *   the new matches right away: the events need the new size, and are fired against
+ *   the size last announced. Only the prefix index is lazy (rebuilt by the next fresh
+ *   query, not per source event)
+ */
+public class FlightFilterModel extends AbstractListModel<Flight> {
+
+    private final ListModel<Flight> source;
+    private FlightPrefixIndex index; // null until first fresh query after a source change
+    private String query = "";
+    private int[] matches;           // null = no filter (empty query) or stale (source changed)
+    private int size;                // size as last announced to listeners
+
+    public FlightFilterModel(ListModel<Flight> source) {
+        this.source = source;
+        this.size = source.getSize();
+        source.addListDataListener(new ListDataListener() {
+            @Override public void intervalAdded(ListDataEvent e) { sourceChanged(); }
+            @Override public void intervalRemoved(ListDataEvent e) { sourceChanged(); }
+            @Override public void contentsChanged(ListDataEvent e) { sourceChanged(); }
+        });
+    }
+
+    /** Apply a new prefix query (case-insensitive, matches flightId or flightNumber). */
+    public void setQuery(String newQuery) {
+        String q = FlightPrefixIndex.normalize(newQuery);
+        if (q.equals(query)) return;
+
+        if (q.isEmpty()) {
+            matches = null;
+        } else if (!query.isEmpty() && q.startsWith(query)) {
+            matches = refine(matches(), q); // reuse previous result set
+        } else {
+            if (index == null) index = new FlightPrefixIndex(source);
+            matches = index.lookup(q);
+        }
+        query = q;
+        fireResized();
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    @Override
+    public int getSize() {
+        int[] m = matches();
+        return m == null ? source.getSize() : m.length;
+    }
+
+    @Override
+    public Flight getElementAt(int i) {
+        int[] m = matches();
+        return source.getElementAt(m == null ? i : m[i]);
+    }
+
+    // ---------- helpers ----------
+
+    /** Current matches (null = no filter); after a source change, one scan of the source. */
+    private int[] matches() {
+        if (matches == null && !query.isEmpty()) matches = refine(null, query);
+        return matches;
+    }
+
+    /** Positions among previous (all source positions if null) whose flight matches q. */
+    private int[] refine(int[] previous, String q) {
+        int count = previous == null ? source.getSize() : previous.length;
+        int[] out = new int[count];
+        int n = 0;
+        for (int k = 0; k < count; k++) {
+            int pos = previous == null ? k : previous[k];
+            Flight f = source.getElementAt(pos);
+            if (FlightPrefixIndex.normalize(f.getId()).startsWith(q)
+                    || FlightPrefixIndex.normalize(f.getFlightNumber()).startsWith(q)) {
+                out[n++] = pos;
+            }
+        }
+        return n == out.length ? out : java.util.Arrays.copyOf(out, n);
+    }
+
+    private void sourceChanged() {
+        index = null;   // rebuilt by the next fresh query, not per event
+        matches = null; // rescanned by fireResized (it needs the new size)
+        fireResized();
+    }
+
+    /** One removed-tail event (if shrunk) or added-tail event (if grown), plus one changed event. */
+    private void fireResized() {
+        int oldSize = size;
+        int newSize = getSize();
+        size = newSize;
+        if (newSize < oldSize) fireIntervalRemoved(this, newSize, oldSize - 1);
+        if (newSize > oldSize) fireIntervalAdded(this, oldSize, newSize - 1);
+        int common = Math.min(oldSize, newSize);
+        if (common > 0) fireContentsChanged(this, 0, common - 1);
+    }
+}
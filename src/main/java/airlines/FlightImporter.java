@@ -0,0 +1,179 @@
+package airlines;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * FlightImporter - bulk import of a schedule file into DatabaseService.
+ * - File format, one flight per line ('#' lines and blank lines are skipped):
+ *   flightId,flightNumber,startRow,endRow,seatLetters[,origin,destination,departure,arrival]
+ *   times as yyyy-MM-dd HH:mm or ISO yyyy-MM-ddTHH:mm; schedule columns may be empty
+ * - Streaming: the file is read in chunks of CHUNK_LINES (ImportFiles); each chunk is validated in
+ *   parallel with the same ValidationUtils rules as AddFlightDialog, and seats are
+ *   generated by the same workers
+ * - Then, under the service lock, one pass checks every id against the live flight
+ *   index and the ids seen earlier in the file, all new flights are published in one
+ *   snapshot and the database is saved once; if that save fails the flights are taken
+ *   back out, so the import is all in or all out
+ * - Every rejected line is reported with its line number; allOrNothing imports nothing
+ *   if any line is rejected
+ * - CLI: FlightImporter FILE [--db database.txt] [--all-or-nothing true]
+ */
+public final class FlightImporter {
+
+    private static final String SOURCE = "FlightImporter";
+    static final int CHUNK_LINES = 4096;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm");
+
+    /** A rejected line. */
+    public record RowError(long line, String flightId, String message) {}
+
+    /**
+     * Outcome of an import.
+     * @param rows     data lines read
+     * @param imported flights added (0 if the save failed)
+     * @param errors   rejected lines, in file order
+     * @param saved    true if the database was saved (or nothing had to be saved)
+     */
+    public record Report(long rows, int imported, List<RowError> errors, boolean saved) {
+        public boolean ok() {
+            return errors.isEmpty() && saved;
+        }
+    }
+
+    /** A validated line: the new flight, or why it was rejected. */
+    private record Parsed(long line, String flightId, Flight flight, String error) {}
+
+    private FlightImporter() {}
+
+    /** Import a schedule file; see the class comment for the format. */
+    public static Report importFile(DatabaseService db, Path file, boolean allOrNothing) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(db, in, allOrNothing);
+        }
+    }
+
+    static Report importFrom(DatabaseService db, BufferedReader in, boolean allOrNothing) throws IOException {
+        long t0 = System.nanoTime();
+        List<Parsed> valid = new ArrayList<>();
+        List<RowError> errors = new ArrayList<>();
+        long rows = ImportFiles.forEachChunk(in, CHUNK_LINES, (chunk, lineNos, n) -> {
+            for (Parsed p : validate(chunk, lineNos, n)) {
+                if (p.error() == null) valid.add(p);
+                else errors.add(new RowError(p.line(), p.flightId(), p.error()));
+            }
+        });
+
+        int imported = 0;
+        boolean saved = true;
+        synchronized (db) {
+            List<Flight> accepted = new ArrayList<>(valid.size());
+            Map<String, Long> seen = new HashMap<>(valid.size() * 4 / 3 + 1); // upper-case id -> first line
+            FlightSnapshot live = db.snapshot();
+            for (Parsed p : valid) {
+                String key = p.flightId().toUpperCase(Locale.ROOT);
+                Long first = seen.putIfAbsent(key, p.line());
+                if (live.flight(p.flightId()) != null) {
+                    errors.add(new RowError(p.line(), p.flightId(), "flight already exists"));
+                } else if (first != null) {
+                    errors.add(new RowError(p.line(), p.flightId(), "duplicate of line " + first));
+                } else {
+                    accepted.add(p.flight());
+                }
+            }
+            if (!accepted.isEmpty() && !(allOrNothing && !errors.isEmpty())) {
+                db.applyAddFlights(accepted);
+                saved = db.commit();
+                if (saved) imported = accepted.size();
+                else db.restore(live); // not on disk: keep none of the import in memory either
+            }
+        }
+        errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+        Log.info(SOURCE, String.format(Locale.ROOT, "Imported %,d of %,d flights (%,d rejected) in %d ms",
+                imported, rows, errors.size(), (System.nanoTime() - t0) / 1_000_000));
+        return new Report(rows, imported, Collections.unmodifiableList(errors), saved);
+    }
+
+    /** Validate one chunk in parallel; results keep the chunk's order. */
+    private static List<Parsed> validate(String[] chunk, long[] lineNos, int n) {
+        Parsed[] out = new Parsed[n];
+        IntStream.range(0, n).parallel().forEach(i -> out[i] = parse(chunk[i], lineNos[i]));
+        return List.of(out);
+    }
+
+    /** Parse and validate one line (same rules as AddFlightDialog) and build its flight. */
+    private static Parsed parse(String raw, long line) {
+        String[] c = raw.split(",", -1);
+        String id = c[0].trim();
+        if (c.length != 5 && c.length != 9) return new Parsed(line, id, null, "expected 5 or 9 columns, got " + c.length);
+        if (!ValidationUtils.isValidFlightId(id)) return new Parsed(line, id, null, "invalid flight id");
+        String number = c[1].trim();
+        if (!ValidationUtils.isValidFlightNumber(number)) return new Parsed(line, id, null, "flight number must be NU###");
+        int startRow, endRow;
+        try {
+            startRow = Integer.parseInt(c[2].trim());
+            endRow = Integer.parseInt(c[3].trim());
+        } catch (NumberFormatException e) {
+            return new Parsed(line, id, null, "rows must be integers");
+        }
+        if (!ValidationUtils.isValidRowRange(startRow, endRow)) return new Parsed(line, id, null, "invalid row range");
+        Set<Character> unique = ValidationUtils.parseSeatLettersUnique(c[4]);
+        if (unique.isEmpty()) return new Parsed(line, id, null, "seat letters must be unique A-Z, at most 10");
+
+        Flight f = new Flight(id, number);
+        if (c.length == 9) {
+            try {
+                f.setSchedule(blankToNull(c[5]), blankToNull(c[6]), time(c[7]), time(c[8]));
+            } catch (DateTimeParseException e) {
+                return new Parsed(line, id, null, "times must be yyyy-MM-dd HH:mm");
+            } catch (IllegalArgumentException e) {
+                return new Parsed(line, id, null, e.getMessage());
+            }
+        }
+        char[] letters = new char[unique.size()];
+        int i = 0;
+        for (Character ch : unique) letters[i++] = ch;
+        DatabaseService.generateSeats(f, startRow, endRow, letters);
+        return new Parsed(line, id, f, null);
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    private static LocalDateTime time(String s) {
+        String t = blankToNull(s);
+        if (t == null) return null;
+        return t.indexOf('T') > 0 ? LocalDateTime.parse(t) : LocalDateTime.parse(t, TIME_FORMAT);
+    }
+
+    // ---------- CLI ----------
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.out.println("Usage:");
+            System.out.println("  FlightImporter FILE [--db database.txt] [--all-or-nothing true]");
+            return;
+        }
+        Map<String, String> o = ImportFiles.options(args);
+        DatabaseService db = new DatabaseService(o.getOrDefault("db", "database.txt"));
+        Report r = importFile(db, Path.of(args[0]), Boolean.parseBoolean(o.getOrDefault("all-or-nothing", "false")));
+        System.out.printf(Locale.ROOT, "Read %,d rows, imported %,d flights, rejected %,d%s%n",
+                r.rows(), r.imported(), r.errors().size(), r.saved() ? "" : " (SAVE FAILED)");
+        ImportFiles.printErrors(r.errors(), e -> "line " + e.line() + " " + e.flightId() + ": " + e.message());
+        if (!r.ok()) System.exit(1);
+    }
+}
@@ -0,0 +1,42 @@
+package airlines;
+import javax.swing.AbstractListModel;
+
+/**
+ * FlightListModel - read-through ListModel over DatabaseService.
+ * - No copy of the flight list: elements are read from the service on demand
+ * - getSize() is the size last announced to listeners, so a JList never sees the
+ *   size change before the matching event; call refresh() after load/add/delete
+ * - Construction is O(1); JList only asks for the rows it actually shows
+ * - refresh() publishes a data change with at most two events (resize + contents)
+ */
+public class FlightListModel extends AbstractListModel<Flight> {
+
+    private final DatabaseService db;
+    private int lastSize; // size as last announced to listeners
+
+    public FlightListModel(DatabaseService db) {
+        this.db = db;
+        this.lastSize = db.getFlightCount();
+    }
+
+    @Override
+    public int getSize() {
+        return lastSize;
+    }
+
+    @Override
+    public Flight getElementAt(int index) {
+        return db.getFlightAt(index);
+    }
+
+    /** Tell listeners the underlying flights changed (after load/add/delete). */
+    public void refresh() {
+        int oldSize = lastSize;
+        int newSize = db.getFlightCount();
+        lastSize = newSize;
+        if (newSize < oldSize) fireIntervalRemoved(this, newSize, oldSize - 1);
+        if (newSize > oldSize) fireIntervalAdded(this, oldSize, newSize - 1);
+        int common = Math.min(oldSize, newSize);
+        if (common > 0) fireContentsChanged(this, 0, common - 1);
+    }
+}
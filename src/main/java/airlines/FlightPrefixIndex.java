@@ -0,0 +1,57 @@
+package airlines;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import javax.swing.ListModel;
+
+/**
+ * FlightPrefixIndex - sorted prefix index over flightId and flightNumber.
+ * - Built once from a ListModel of flights (O(n log n))
+ * - Lookup is a binary search to the first key >= prefix, then a scan while keys match
+ * - Returns positions in the source model, in source order
+ */
+final class FlightPrefixIndex {
+
+    private final String[] keys;   // lower-cased id / number, sorted
+    private final int[] positions; // source position for keys[i]
+    private final int sourceSize;
+
+    FlightPrefixIndex(ListModel<Flight> source) {
+        sourceSize = source.getSize();
+        Entry[] entries = new Entry[sourceSize * 2];
+        for (int i = 0; i < sourceSize; i++) {
+            Flight f = source.getElementAt(i);
+            entries[2 * i] = new Entry(normalize(f.getId()), i);
+            entries[2 * i + 1] = new Entry(normalize(f.getFlightNumber()), i);
+        }
+        Arrays.sort(entries, (a, b) -> a.key.compareTo(b.key));
+        keys = new String[entries.length];
+        positions = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key;
+            positions[i] = entries[i].position;
+        }
+    }
+
+    /** Source positions of flights whose id or number starts with prefix (case-insensitive). */
+    int[] lookup(String prefix) {
+        String p = normalize(prefix);
+        int lo = 0, hi = keys.length;
+        while (lo < hi) { // lower bound
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(p) < 0) lo = mid + 1; else hi = mid;
+        }
+        BitSet hits = new BitSet(sourceSize); // de-dupes id+number hits, keeps source order
+        for (int i = lo; i < keys.length && keys[i].startsWith(p); i++) {
+            hits.set(positions[i]);
+        }
+        return hits.stream().toArray();
+    }
+
+    /** Same normalisation the index uses, for callers that refine results themselves. */
+    static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String key, int position) {}
+}
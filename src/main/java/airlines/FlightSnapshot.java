@@ -0,0 +1,128 @@
+package airlines;
+import java.util.List;
+
+/**
+ * FlightSnapshot - immutable, consistent view of all flights at one point in time.
+ * - DatabaseService publishes a new snapshot (volatile write) after every change;
+ *   readers grab the current one and can never see a half-applied update
+ * - flights() is a persistent FlightVector; a seat update replaces only the changed
+ *   flight (copy of that flight + O(log32 n) path), everything else is shared
+ * - flight(id) / seats(id) are lock-free and allocation-free (open-addressing id
+ *   index, case-insensitive like DatabaseService); the index is rebuilt only when
+ *   flights are added or deleted
+ * - Flights reachable from a snapshot must be treated as read-only
+ */
+public final class FlightSnapshot {
+
+    static final FlightSnapshot EMPTY = new FlightSnapshot(0, FlightVector.EMPTY, Index.of(FlightVector.EMPTY));
+
+    private final long version;
+    private final FlightVector flights;
+    private final Index index;
+
+    private FlightSnapshot(long version, FlightVector flights, Index index) {
+        this.version = version;
+        this.flights = flights;
+        this.index = index;
+    }
+
+    static FlightSnapshot of(long version, List<Flight> flights) {
+        FlightVector v = FlightVector.of(flights);
+        return new FlightSnapshot(version, v, Index.of(v));
+    }
+
+    /** Increases with every published change of the owning service. */
+    public long version() {
+        return version;
+    }
+
+    /** All flights in insertion order (immutable). */
+    public List<Flight> flights() {
+        return flights;
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    /** Flight by id (case-insensitive); null if absent. */
+    public Flight flight(String flightId) {
+        int i = indexOf(flightId);
+        return i < 0 ? null : flights.get(i);
+    }
+
+    /** Seats of a flight (read-only); empty if absent. */
+    public List<Seat> seats(String flightId) {
+        Flight f = flight(flightId);
+        return f == null ? List.of() : f.getSeats();
+    }
+
+    /** Position of the flight in flights(), or -1. */
+    int indexOf(String flightId) {
+        return flightId == null ? -1 : index.find(flightId, flights);
+    }
+
+    // ---------- successors (used by DatabaseService under its lock) ----------
+
+    /** Same flights, the one at index replaced by a flight with the same id. O(log32 n). */
+    FlightSnapshot withReplaced(int i, Flight flight) {
+        return new FlightSnapshot(version + 1, flights.with(i, flight), index);
+    }
+
+    /** Flight appended; O(log32 n) for the vector plus an O(n) index rebuild. */
+    FlightSnapshot withAdded(Flight flight) {
+        FlightVector v = flights.append(flight);
+        return new FlightSnapshot(version + 1, v, Index.of(v));
+    }
+
+    /** Flight at index removed; O(n). */
+    FlightSnapshot withRemoved(int i) {
+        FlightVector v = flights.without(i);
+        return new FlightSnapshot(version + 1, v, Index.of(v));
+    }
+
+    /**
+     * Open-addressing table from id (case-insensitive) to vector position.
+     * Hashing and comparison read chars in place, so lookups do not allocate.
+     */
+    private static final class Index {
+        private final int[] slots; // vector position + 1; 0 = empty
+        private final int mask;
+
+        private Index(int[] slots) {
+            this.slots = slots;
+            this.mask = slots.length - 1;
+        }
+
+        static Index of(FlightVector flights) {
+            int n = flights.size();
+            int cap = Integer.highestOneBit(Math.max(4, n * 2 - 1)) << 1; // load factor <= 0.5
+            int[] slots = new int[cap];
+            for (int i = 0; i < n; i++) {
+                int s = hash(flights.get(i).getId()) & (cap - 1);
+                while (slots[s] != 0) s = (s + 1) & (cap - 1);
+                slots[s] = i + 1;
+            }
+            return new Index(slots);
+        }
+
+        int find(String id, FlightVector flights) {
+            int s = hash(id) & mask;
+            int p;
+            while ((p = slots[s]) != 0) {
+                if (flights.get(p - 1).getId().equalsIgnoreCase(id)) return p - 1;
+                s = (s + 1) & mask;
+            }
+            return -1;
+        }
+
+        /** Case-insensitive hash consistent with String.equalsIgnoreCase. */
+        private static int hash(String s) {
+            int h = 0;
+            for (int i = 0; i < s.length(); i++) {
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package airlines;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * FlightVector - persistent (immutable, structurally shared) list of flights.
+ * - 32-way trie: get is O(log32 n), i.e. at most 4 hops for a million flights
+ * - set / append copy only the path to the changed slot (<= 4 arrays of <= 32
+ *   references); every other node is shared with the previous version
+ * - remove rebuilds the vector, O(n) (flight deletion is a rare admin action)
+ * - The List view is read-only; all mutators throw UnsupportedOperationException
+ */
+final class FlightVector extends AbstractList<Flight> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final FlightVector EMPTY = new FlightVector(0, 0, new Object[0]);
+
+    private final int size;
+    private final int shift;     // 0 = root is a leaf
+    private final Object[] root; // inner nodes hold Object[] children, leaves hold Flights
+
+    private FlightVector(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /** Bulk build from a list in O(n). */
+    static FlightVector of(List<? extends Flight> src) {
+        int n = src.size();
+        if (n == 0) return EMPTY;
+        Object[] level = new Object[(n + MASK) >>> BITS];
+        for (int k = 0; k < level.length; k++) {
+            int from = k << BITS, to = Math.min(n, from + WIDTH);
+            Object[] leaf = new Object[to - from];
+            for (int i = from; i < to; i++) leaf[i - from] = src.get(i);
+            level[k] = leaf;
+        }
+        int shift = 0;
+        while (level.length > 1) {
+            Object[] up = new Object[(level.length + MASK) >>> BITS];
+            for (int k = 0; k < up.length; k++) {
+                up[k] = Arrays.copyOfRange(level, k << BITS, Math.min(level.length, (k << BITS) + WIDTH));
+            }
+            level = up;
+            shift += BITS;
+        }
+        return new FlightVector(n, shift, (Object[]) level[0]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Flight get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        Object[] node = root;
+        for (int s = shift; s > 0; s -= BITS) node = (Object[]) node[(index >>> s) & MASK];
+        return (Flight) node[index & MASK];
+    }
+
+    /** New vector with index replaced; shares everything off the changed path. */
+    FlightVector with(int index, Flight flight) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        return new FlightVector(size, shift, setIn(root, shift, index, flight));
+    }
+
+    /** New vector with flight appended. */
+    FlightVector append(Flight flight) {
+        if (size == 0) return new FlightVector(1, 0, new Object[]{flight});
+        if (size == 1L << (shift + BITS)) { // full: grow a level
+            Object[] grown = new Object[]{root};
+            return new FlightVector(size + 1, shift + BITS, pushIn(grown, shift + BITS, size, flight));
+        }
+        return new FlightVector(size + 1, shift, pushIn(root, shift, size, flight));
+    }
+
+    /** New vector without index; O(n). */
+    FlightVector without(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        List<Flight> rest = new ArrayList<>(this);
+        rest.remove(index);
+        return of(rest);
+    }
+
+    private static Object[] setIn(Object[] node, int s, int index, Flight flight) {
+        Object[] copy = node.clone();
+        int slot = (index >>> s) & MASK;
+        copy[slot] = s == 0 ? flight : setIn((Object[]) node[slot], s - BITS, index, flight);
+        return copy;
+    }
+
+    /** index == current size, so the path only ever grows at its right edge. */
+    private static Object[] pushIn(Object[] node, int s, int index, Flight flight) {
+        int slot = (index >>> s) & MASK;
+        Object[] copy = Arrays.copyOf(node, Math.max(node.length, slot + 1));
+        if (s == 0) {
+            copy[slot] = flight;
+        } else {
+            Object[] child = slot < node.length ? (Object[]) node[slot] : new Object[0];
+            copy[slot] = pushIn(child, s - BITS, index, flight);
+        }
+        return copy;
+    }
+}
@@ -3,24 +3,38 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * Home screen showing all flights.
  * Adds: Add Flight, Delete Flight (with confirm), Refresh, Open.
+ * Search box: debounced type-ahead prefix filter on flight id / number.
  */
 public class HomeFrame extends JFrame {
     private final DatabaseService db;
-    private final DefaultListModel<Flight> listModel = new DefaultListModel<>();
-    private final JList<Flight> flightList = new JList<>(listModel);
+    private final Navigator navigator;
+    private final FlightListModel listModel;     // read-through view of db flights
+    private final FlightFilterModel filterModel; // type-ahead filter over listModel
+    private final JList<Flight> flightList;
+
+    // Search: restart the timer per keystroke, filter once typing pauses
+    private static final int SEARCH_DEBOUNCE_MS = 150;
+    private final JTextField searchField = new JTextField(20);
+    private final Timer searchTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> applySearch());
 
     private final JButton openBtn   = new JButton("Open Flight");
     private final JButton addBtn    = new JButton("Add Flight");
     private final JButton deleteBtn = new JButton("Delete Flight");
     private final JButton refreshBtn = new JButton("Refresh");
 
-    public HomeFrame(DatabaseService db) {
+    public HomeFrame(DatabaseService db, Navigator navigator) {
         super("National University Airlines");
         this.db = db;
+        this.navigator = navigator;
+        this.listModel = new FlightListModel(db);
+        this.filterModel = new FlightFilterModel(listModel);
+        this.flightList = new JList<>(filterModel);
         setJMenuBar(buildMenuBar());
         initComponents();
         loadFlights();
@@ -78,13 +92,16 @@ public class HomeFrame extends JFrame {
         // Flight list config
         flightList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         flightList.setVisibleRowCount(12);
+        // Fixed cell size: JList would otherwise render every row to measure the list
+        flightList.setPrototypeCellValue(new Flight("INTL-00000", "NU000000"));
         flightList.setCellRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
                                                           boolean isSelected, boolean cellHasFocus) {
                 JLabel l = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
                 if (value instanceof Flight f) {
-                    l.setText(f.getId() + "  —  " + f.getFlightNumber());
+                    l.setText(f.getId() + "  —  " + f.getFlightNumber()
+                            + "   (" + f.getBookedCount() + "/" + f.getSeats().size() + " booked)"); // O(1) per row
                 }
                 return l;
             }
@@ -97,6 +114,18 @@ public class HomeFrame extends JFrame {
             }
         });
 
+        // Search box (debounced)
+        searchField.setToolTipText("Type the start of a flight ID or number (e.g., F00 or NU1)");
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { searchTimer.restart(); }
+        });
+        JPanel search = new JPanel(new BorderLayout(6, 0));
+        search.add(new JLabel("Search:"), BorderLayout.WEST);
+        search.add(searchField, BorderLayout.CENTER);
+
         // Buttons row
         openBtn.addActionListener(e -> openSelectedFlight());
         refreshBtn.addActionListener(e -> reloadFromDisk());
@@ -120,6 +149,7 @@ public class HomeFrame extends JFrame {
         // Layout
         JPanel center = new JPanel(new BorderLayout(8, 8));
         center.setBorder(BorderFactory.createEmptyBorder(8, 16, 16, 16));
+        center.add(search, BorderLayout.NORTH);
         center.add(new JScrollPane(flightList), BorderLayout.CENTER);
         center.add(buttons, BorderLayout.SOUTH);
 
@@ -129,11 +159,10 @@ public class HomeFrame extends JFrame {
     }
 
     private void loadFlights() {
-        listModel.clear();
-        for (Flight f : db.getFlights()) listModel.addElement(f);
+        listModel.refresh(); // O(1): no copying, no per-flight events
 
-        if (!listModel.isEmpty()) {
-            flightList.setSelectedIndex(0);
+        if (listModel.getSize() > 0) {
+            if (filterModel.getSize() > 0) flightList.setSelectedIndex(0);
         } else {
             JOptionPane.showMessageDialog(
                 this,
@@ -144,6 +173,13 @@ public class HomeFrame extends JFrame {
         }
     }
 
+    private void applySearch() {
+        String previousId = getSelectedFlightId();
+        filterModel.setQuery(searchField.getText());
+        if (previousId != null) selectFlightById(previousId);
+        if (flightList.getSelectedIndex() < 0 && filterModel.getSize() > 0) flightList.setSelectedIndex(0);
+    }
+
     private void reloadFromDisk() {
         db.load();
         loadFlights();
@@ -155,9 +191,8 @@ public class HomeFrame extends JFrame {
             JOptionPane.showMessageDialog(this, "Please select a flight.", "No selection", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-        SeatsFrame seats = new SeatsFrame(db, selected.getId(), selected.getFlightNumber());
-        seats.setVisible(true);
-        this.dispose();
+        // Navigator hides this frame (kept alive) and reuses a cached SeatsFrame if present
+        navigator.showSeats(selected.getId(), selected.getFlightNumber());
     }
 
     // ---------- Add/Delete handlers ----------
@@ -192,9 +227,10 @@ public class HomeFrame extends JFrame {
             JOptionPane.showMessageDialog(this, "Delete failed. The flight may not exist or could not be removed.", "Delete Flight", JOptionPane.ERROR_MESSAGE);
             return;
         }
+        navigator.evict(selected.getId()); // drop cached seat screen for the deleted flight
         // Refresh list
         reloadFromDisk();
-        if (!listModel.isEmpty()) flightList.setSelectedIndex(Math.min(flightList.getModel().getSize() - 1, 0));
+        if (filterModel.getSize() > 0) flightList.setSelectedIndex(0);
         JOptionPane.showMessageDialog(this, "Flight deleted.", "Delete Flight", JOptionPane.INFORMATION_MESSAGE);
     }
 
@@ -205,8 +241,8 @@ public class HomeFrame extends JFrame {
 
     private void selectFlightById(String flightId) {
         if (flightId == null) return;
-        for (int i = 0; i < listModel.getSize(); i++) {
-            Flight f = listModel.get(i);
+        for (int i = 0; i < filterModel.getSize(); i++) {
+            Flight f = filterModel.getElementAt(i);
             if (flightId.equalsIgnoreCase(f.getId())) {
                 flightList.setSelectedIndex(i);
                 flightList.ensureIndexIsVisible(i);
@@ -0,0 +1,206 @@
+package airlines;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * IdempotencyCache - remembers the outcome of keyed booking requests so retries
+ * are answered without touching the seat or saving again.
+ * - Insertion-ordered LinkedHashMap: entries expire in insertion order, so both the
+ *   size bound and the TTL evict from the head in O(1) per entry
+ * - Each key is bound to its request (operation, flight, seat); reusing a key for a
+ *   different request is refused instead of replaying an unrelated outcome
+ * - Persisted to an append-only sidecar file (one tab-separated line per entry);
+ *   put() only buffers and flush() appends; callers flush after the database save,
+ *   so the sidecar never runs ahead of the data file, and discardUnflushed() after
+ *   a failed save
+ * - The sidecar is compacted (rewritten with live entries) when it grows to twice
+ *   the capacity; expired lines are dropped when it is read back
+ * - Not thread-safe; DatabaseService uses it under its own lock
+ */
+final class IdempotencyCache {
+
+    private static final String SOURCE = "IdempotencyCache";
+    static final int DEFAULT_CAPACITY = 10_000;
+    static final long DEFAULT_TTL_MILLIS = 24L * 60 * 60 * 1000;
+    static final int MAX_KEY_LENGTH = 128;
+
+    /** Lookup outcome of a key that was seen before. */
+    enum Replay { TRUE, FALSE, MISMATCH }
+
+    private record Entry(String request, boolean result, long expiresAt) {}
+
+    private final Path file; // null = in memory only
+    private final int capacity;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final List<String> unflushed = new ArrayList<>(); // keys put since the last flush
+    private int linesInFile;
+    private long hits;
+
+    IdempotencyCache(Path file) {
+        this(file, DEFAULT_CAPACITY, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    IdempotencyCache(Path file, int capacity, long ttlMillis, LongSupplier clock) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.file = file;
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        readFile();
+    }
+
+    /** Rejects keys that are blank, too long or contain control characters. */
+    static void checkKey(String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("idempotency key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) < 0x20) throw new IllegalArgumentException("idempotency key contains control characters");
+        }
+    }
+
+    /** Request fingerprint a key is bound to, e.g. "book F001 1A". */
+    static String request(String op, String flightId, String seatNumber) {
+        return op + ' ' + String.valueOf(flightId).toUpperCase(Locale.ROOT) + ' '
+                + String.valueOf(seatNumber).toUpperCase(Locale.ROOT);
+    }
+
+    /** Earlier outcome for key, or null if the key is new (or expired). */
+    Replay lookup(String key, String request) {
+        expire(clock.getAsLong());
+        Entry e = entries.get(key);
+        if (e == null) return null;
+        hits++;
+        if (!e.request().equals(request)) return Replay.MISMATCH;
+        return e.result() ? Replay.TRUE : Replay.FALSE;
+    }
+
+    /** Remember an outcome in memory; written to the sidecar by the next flush(). */
+    void put(String key, String request, boolean result) {
+        long now = clock.getAsLong();
+        expire(now);
+        Entry e = new Entry(request, result, now + ttlMillis);
+        entries.remove(key); // re-insert at the tail (newest)
+        entries.put(key, e);
+        while (entries.size() > capacity) removeEldest();
+        unflushed.add(key);
+    }
+
+    /** Append buffered entries to the sidecar (compacting it when it has grown too large). */
+    boolean flush() {
+        if (file == null) unflushed.clear();
+        if (unflushed.isEmpty()) return true;
+        try {
+            if (linesInFile + unflushed.size() > 2 * capacity) {
+                compact();
+            } else {
+                try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (String key : unflushed) {
+                        Entry e = entries.get(key);
+                        if (e == null) continue; // already evicted
+                        out.write(line(key, e));
+                        out.newLine();
+                        linesInFile++;
+                    }
+                }
+            }
+            unflushed.clear();
+            return true;
+        } catch (IOException ex) {
+            Log.error(SOURCE, "Could not write " + file + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /** Forget the entries put since the last flush (their changes were rolled back). */
+    void discardUnflushed() {
+        for (String key : unflushed) entries.remove(key);
+        unflushed.clear();
+    }
+
+    int size() {
+        expire(clock.getAsLong());
+        return entries.size();
+    }
+
+    /** Lookups that found an earlier entry (replays and mismatches). */
+    long hits() {
+        return hits;
+    }
+
+    // ---------- internals ----------
+
+    private void expire(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext() && it.next().expiresAt() <= now) it.remove();
+    }
+
+    private void removeEldest() {
+        Iterator<Entry> it = entries.values().iterator();
+        it.next();
+        it.remove();
+    }
+
+    private void compact() throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                out.write(line(e.getKey(), e.getValue()));
+                out.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        linesInFile = entries.size();
+    }
+
+    private static String line(String key, Entry e) {
+        return key + '\t' + e.request() + '\t' + e.result() + '\t' + e.expiresAt();
+    }
+
+    private void readFile() {
+        if (file == null || !Files.exists(file)) return;
+        long now = clock.getAsLong();
+        int bad = 0;
+        try {
+            for (String l : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                linesInFile++;
+                String[] parts = l.split("\t", -1);
+                if (parts.length != 4) {
+                    bad++;
+                    continue;
+                }
+                long expiresAt;
+                try {
+                    expiresAt = Long.parseLong(parts[3]);
+                } catch (NumberFormatException ex) {
+                    bad++;
+                    continue;
+                }
+                if (expiresAt <= now) continue;
+                entries.remove(parts[0]);
+                entries.put(parts[0], new Entry(parts[1], Boolean.parseBoolean(parts[2]), expiresAt));
+                while (entries.size() > capacity) removeEldest();
+            }
+        } catch (IOException ex) {
+            Log.error(SOURCE, "Could not read " + file + ": " + ex.getMessage());
+            return;
+        }
+        if (bad > 0) Log.warn(SOURCE, "Skipped " + bad + " malformed lines in " + file);
+        Log.info(SOURCE, "Loaded " + entries.size() + " idempotency keys from " + file);
+    }
+}
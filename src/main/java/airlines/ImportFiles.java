@@ -0,0 +1,77 @@
+package airlines;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * ImportFiles - plumbing shared by the bulk importers (FlightImporter, BookingImporter).
+ * - forEachChunk streams a file's data lines ('#' lines and blank lines are skipped)
+ *   in fixed-size chunks, with their 1-based line numbers, so callers can validate a
+ *   chunk in parallel without holding the whole file
+ * - options / printErrors are the common parts of the importers' CLIs
+ */
+final class ImportFiles {
+
+    static final int MAX_PRINTED_ERRORS = 50;
+
+    /** Receives one chunk: lines[0..n) and their file line numbers; the arrays are reused. */
+    @FunctionalInterface
+    interface ChunkHandler {
+        void accept(String[] lines, long[] lineNos, int n);
+    }
+
+    private ImportFiles() {}
+
+    /**
+     * Read every data line in chunks of at most chunkLines and hand each chunk over.
+     * @return data lines read
+     */
+    static long forEachChunk(BufferedReader in, int chunkLines, ChunkHandler handler) throws IOException {
+        String[] chunk = new String[chunkLines];
+        long[] lineNos = new long[chunkLines];
+        long lineNo = 0, rows = 0;
+        String line;
+        int n = 0;
+        while (true) {
+            line = in.readLine();
+            if (line != null) {
+                lineNo++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                chunk[n] = line;
+                lineNos[n++] = lineNo;
+                rows++;
+            }
+            if (n == chunkLines || (line == null && n > 0)) {
+                handler.accept(chunk, lineNos, n);
+                n = 0;
+            }
+            if (line == null) return rows;
+        }
+    }
+
+    /**
+     * "--name value" pairs after the FILE argument, keyed by name.
+     * @throws IllegalArgumentException if an option does not start with --
+     */
+    static Map<String, String> options(String[] args) {
+        Map<String, String> o = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Expected --option, got " + args[i]);
+            o.put(args[i].substring(2), args[i + 1]);
+        }
+        return o;
+    }
+
+    /** Print the first MAX_PRINTED_ERRORS errors, one per line, then how many were left out. */
+    static <E> void printErrors(List<E> errors, Function<E, String> format) {
+        for (E e : errors.subList(0, Math.min(MAX_PRINTED_ERRORS, errors.size()))) {
+            System.out.println("  " + format.apply(e));
+        }
+        if (errors.size() > MAX_PRINTED_ERRORS) {
+            System.out.println("  ... " + (errors.size() - MAX_PRINTED_ERRORS) + " more");
+        }
+    }
+}
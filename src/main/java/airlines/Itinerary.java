@@ -0,0 +1,53 @@
+package airlines;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Itinerary - one or more connecting flights returned by a connection search.
+ * - legs are in travel order; each leg departs from the previous leg's destination
+ * - Flights are snapshot objects: read-only, seat state as of the search
+ */
+public record Itinerary(List<Flight> legs) {
+
+    public Itinerary {
+        if (legs == null || legs.isEmpty()) throw new IllegalArgumentException("an itinerary needs at least one leg");
+        legs = List.copyOf(legs);
+    }
+
+    public String origin() {
+        return legs.get(0).getOrigin();
+    }
+
+    public String destination() {
+        return legs.get(legs.size() - 1).getDestination();
+    }
+
+    public LocalDateTime departure() {
+        return legs.get(0).getDeparture();
+    }
+
+    public LocalDateTime arrival() {
+        return legs.get(legs.size() - 1).getArrival();
+    }
+
+    /** Door-to-door time from first departure to last arrival. */
+    public Duration duration() {
+        return Duration.between(departure(), arrival());
+    }
+
+    /** Number of connections (legs - 1). */
+    public int stops() {
+        return legs.size() - 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(origin());
+        for (Flight f : legs) {
+            sb.append(" -[").append(f.getFlightNumber()).append(' ').append(f.getDeparture())
+              .append("]-> ").append(f.getDestination());
+        }
+        return sb.append(" (arr ").append(arrival()).append(')').toString();
+    }
+}
@@ -0,0 +1,85 @@
+package airlines;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JfrEvents - custom Java Flight Recorder events for bookings, saves and loads.
+ * Usage: new event -> begin() -> work -> if (shouldCommit()) { set fields; commit(); }
+ * With no recording running, begin/shouldCommit are no-ops and the JIT removes the
+ * allocation, so instrumentation costs next to nothing.
+ * View in JDK Mission Control under "National University Airlines".
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {}
+
+    @Name("airlines.SeatUpdate")
+    @Label("Seat Update")
+    @Description("DatabaseService.updateSeat (book or release), including its autosave")
+    @Category({"National University Airlines", "Database"})
+    @StackTrace(false)
+    public static final class SeatUpdate extends Event {
+        @Label("Flight Id") public String flightId;
+        @Label("Seat Number") public String seatNumber;
+        @Label("Booked") @Description("true = booking, false = release") public boolean booked;
+        @Label("Success") public boolean success;
+    }
+
+    @Name("airlines.FlightChange")
+    @Label("Flight Change")
+    @Description("DatabaseService.addFlight / deleteFlight, including the autosave")
+    @Category({"National University Airlines", "Database"})
+    @StackTrace(false)
+    public static final class FlightChange extends Event {
+        @Label("Action") @Description("ADD or DELETE") public String action;
+        @Label("Flight Id") public String flightId;
+        @Label("Seat Count") public int seatCount;
+        @Label("Success") public boolean success;
+    }
+
+    @Name("airlines.DatabaseSave")
+    @Label("Database Save")
+    @Category({"National University Airlines", "Database"})
+    @StackTrace(false)
+    public static final class DatabaseSave extends Event {
+        @Label("Flight Count") public int flightCount;
+        @Label("Success") public boolean success;
+    }
+
+    @Name("airlines.DatabaseLoad")
+    @Label("Database Load")
+    @Category({"National University Airlines", "Database"})
+    @StackTrace(false)
+    public static final class DatabaseLoad extends Event {
+        @Label("Flight Count") public int flightCount;
+    }
+
+    @Name("airlines.StorageRead")
+    @Label("Storage Read")
+    @Description("FileStorage.read of the CSV database")
+    @Category({"National University Airlines", "Storage"})
+    @StackTrace(false)
+    public static final class StorageRead extends Event {
+        @Label("Path") public String path;
+        @Label("Flight Count") public int flightCount;
+        @Label("Seat Count") public long seatCount;
+        @Label("Bytes") @DataAmount public long bytes;
+    }
+
+    @Name("airlines.StorageWrite")
+    @Label("Storage Write")
+    @Description("FileStorage.write of the CSV database")
+    @Category({"National University Airlines", "Storage"})
+    @StackTrace(false)
+    public static final class StorageWrite extends Event {
+        @Label("Path") public String path;
+        @Label("Flight Count") public int flightCount;
+        @Label("Seat Count") public long seatCount;
+        @Label("Bytes") @DataAmount public long bytes;
+    }
+}
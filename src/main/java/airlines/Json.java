@@ -0,0 +1,151 @@
+package airlines;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Json - just enough JSON for the booking HTTP API (no external dependency).
+ * - string(...) appends a quoted, escaped string
+ * - parseObject(...) reads one flat object of string / number / boolean / null
+ *   values into a map of strings (nested objects and arrays are rejected)
+ */
+final class Json {
+
+    private Json() {}
+
+    /** Append s as a JSON string literal ("null" for null). */
+    static StringBuilder string(StringBuilder sb, String s) {
+        if (s == null) return sb.append("null");
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * Parse {"key": value, ...}; values come back as their text (strings unescaped,
+     * null as Java null).
+     * @throws IllegalArgumentException on anything else
+     */
+    static Map<String, String> parseObject(String text) {
+        Parser p = new Parser(text == null ? "" : text);
+        Map<String, String> out = new LinkedHashMap<>();
+        p.skipWs();
+        p.expect('{');
+        p.skipWs();
+        if (p.peek() == '}') {
+            p.pos++;
+        } else {
+            while (true) {
+                p.skipWs();
+                String key = p.string();
+                p.skipWs();
+                p.expect(':');
+                p.skipWs();
+                out.put(key, p.value());
+                p.skipWs();
+                char c = p.next();
+                if (c == '}') break;
+                if (c != ',') throw p.error("expected , or }");
+            }
+        }
+        p.skipWs();
+        if (p.pos != p.s.length()) throw p.error("trailing characters");
+        return out;
+    }
+
+    private static final class Parser {
+        final String s;
+        int pos;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        char peek() {
+            return pos < s.length() ? s.charAt(pos) : '\0';
+        }
+
+        char next() {
+            if (pos >= s.length()) throw error("unexpected end");
+            return s.charAt(pos++);
+        }
+
+        void expect(char c) {
+            if (next() != c) throw error("expected " + c);
+        }
+
+        void skipWs() {
+            while (pos < s.length() && s.charAt(pos) <= ' ') pos++;
+        }
+
+        String value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '{' || c == '[') throw error("nested values are not supported");
+            int start = pos;
+            while (pos < s.length() && ",}] \t\r\n".indexOf(s.charAt(pos)) < 0) pos++;
+            String literal = s.substring(start, pos);
+            if (literal.equals("null")) return null;
+            if (literal.equals("true") || literal.equals("false")) return literal;
+            if (literal.isEmpty() || !isNumber(literal)) throw error("bad literal " + literal);
+            return literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = next();
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw error("bad \\u escape");
+                        try {
+                            sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("bad \\u escape");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw error("bad escape \\" + e);
+                }
+            }
+        }
+
+        private static boolean isNumber(String t) {
+            try {
+                Double.parseDouble(t);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        IllegalArgumentException error(String msg) {
+            return new IllegalArgumentException("Invalid JSON at " + pos + ": " + msg);
+        }
+    }
+}
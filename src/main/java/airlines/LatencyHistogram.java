@@ -0,0 +1,100 @@
+package airlines;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram - HDR-style log-linear histogram of nanosecond latencies.
+ * - Values below 128 ns get their own bucket; above that each power of two is
+ *   split into 64 linear sub-buckets (<= ~1.6% relative error)
+ * - record() is lock-free and allocation-free (one atomic increment + a few CAS)
+ * - Values above ~18 minutes land in the top bucket (max is still exact)
+ * - Reads (percentiles, mean) are approximate while writers are active
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB = 1 << SUB_BITS;     // 128 exact buckets
+    private static final int HALF = SUB >> 1;         // 64 sub-buckets per power of two
+    private static final int MAX_SHIFT = 34;          // highest bit 40 -> ~1.1e12 ns
+    private static final int BUCKETS = SUB + MAX_SHIFT * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /** Record one latency in nanoseconds (negative values count as 0). */
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(v));
+        total.incrementAndGet();
+        sum.addAndGet(v);
+        long m;
+        while (v > (m = max.get()) && !max.compareAndSet(m, v)) {
+            // retry until our value is recorded or someone recorded a bigger one
+        }
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = total.get();
+        return n == 0 ? 0.0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Value at the given percentile (0..100), as the highest value of the bucket
+     * that contains it; 0 when empty.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(highestValueOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    /** Clear all counts (not atomic with respect to concurrent record calls). */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /** One-line summary in microseconds, e.g. for logs and load-test reports. */
+    public String summary() {
+        return String.format("count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                getCount(), getMean() / 1e3,
+                getValueAtPercentile(50) / 1e3, getValueAtPercentile(90) / 1e3,
+                getValueAtPercentile(99) / 1e3, getValueAtPercentile(99.9) / 1e3,
+                getMax() / 1e3);
+    }
+
+    // ---------- bucket math ----------
+
+    static int indexOf(long v) {
+        if (v < SUB) return (int) v;
+        int shift = (63 - Long.numberOfLeadingZeros(v)) - (SUB_BITS - 1);
+        if (shift > MAX_SHIFT) return BUCKETS - 1;
+        return SUB + (shift - 1) * HALF + (int) ((v >>> shift) - HALF);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB) return index;
+        int k = index - SUB;
+        int shift = k / HALF + 1;
+        long sub = k % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,306 @@
+package airlines;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * LoadTestDriver - synthetic large databases + concurrent load against DatabaseService.
+ *
+ * Usage:
+ *   java -cp target/classes airlines.LoadTestDriver generate --out big.txt
+ *        [--flights 10000] [--rows 30] [--letters ABCDEF] [--booked 0.6] [--seed 42]
+ *   java -cp target/classes airlines.LoadTestDriver run --db big.txt
+ *        [--threads 8] [--seconds 30] [--rate 0] [--book 40] [--release 20] [--seed 42]
+ *   java -cp target/classes airlines.LoadTestDriver http --url http://127.0.0.1:8080
+ *        [--threads 2000] [--seconds 30] [--book 40] [--release 20] [--seed 42]
+ *
+ * run: each op is book / release / lookup (the rest after book% + release%).
+ * --rate 0 = closed loop (each thread issues its next op when the last completes).
+ * --rate N = open loop at N ops/s: op i is due at start + i/N and its latency is
+ * measured from that due time, so queueing behind slow ops (e.g. autosaves) shows
+ * up in the tail instead of being hidden by coordinated omission.
+ *
+ * http: the same mix against a running BookingServer, closed loop, one virtual
+ * thread per simulated client (thousands of concurrent connections). A 409 on
+ * book (seat already taken) is a normal outcome, not a failure.
+ */
+public final class LoadTestDriver {
+
+    enum Op { BOOK, RELEASE, LOOKUP }
+
+    /** Settings for one load run. */
+    record Config(int threads, int seconds, int ratePerSecond, int bookPct, int releasePct, long seed) {}
+
+    /** Results for one load run; histograms are in nanoseconds. */
+    static final class Report {
+        final LatencyHistogram all = new LatencyHistogram();
+        final LatencyHistogram[] byOp = {
+                new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram()
+        };
+        final AtomicLong failures = new AtomicLong();
+        long elapsedNanos;
+
+        double throughput() {
+            return elapsedNanos == 0 ? 0 : all.getCount() * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "ops=%d failures=%d elapsed=%.2fs throughput=%.1f ops/s%n",
+                    all.getCount(), failures.get(), elapsedNanos / 1e9, throughput()));
+            sb.append("  all     ").append(all.summary()).append(System.lineSeparator());
+            for (Op op : Op.values()) {
+                sb.append(String.format("  %-7s ", op.name().toLowerCase(Locale.ROOT)))
+                  .append(byOp[op.ordinal()].summary()).append(System.lineSeparator());
+            }
+            return sb.toString();
+        }
+    }
+
+    private LoadTestDriver() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        Map<String, String> o = options(args);
+        switch (args[0]) {
+            case "generate" -> {
+                Path out = Path.of(o.getOrDefault("out", "database.txt"));
+                int flights = Integer.parseInt(o.getOrDefault("flights", "10000"));
+                int rows = Integer.parseInt(o.getOrDefault("rows", "30"));
+                char[] letters = o.getOrDefault("letters", "ABCDEF").toUpperCase(Locale.ROOT).toCharArray();
+                double booked = Double.parseDouble(o.getOrDefault("booked", "0.6"));
+                long seed = Long.parseLong(o.getOrDefault("seed", "42"));
+                long t0 = System.nanoTime();
+                long seats = DatasetGenerator.generateTo(out, flights, rows, letters, booked, seed);
+                System.out.printf(Locale.ROOT, "Wrote %d flights / %d seat rows to %s in %.2fs%n",
+                        flights, seats, out, (System.nanoTime() - t0) / 1e9);
+            }
+            case "run" -> {
+                Config c = new Config(
+                        Integer.parseInt(o.getOrDefault("threads", "8")),
+                        Integer.parseInt(o.getOrDefault("seconds", "30")),
+                        Integer.parseInt(o.getOrDefault("rate", "0")),
+                        Integer.parseInt(o.getOrDefault("book", "40")),
+                        Integer.parseInt(o.getOrDefault("release", "20")),
+                        Long.parseLong(o.getOrDefault("seed", "42")));
+                long t0 = System.nanoTime();
+                DatabaseService db = new DatabaseService(o.getOrDefault("db", "database.txt"));
+                System.out.printf(Locale.ROOT, "Loaded %d flights in %.2fs; running %s%n",
+                        db.getFlightCount(), (System.nanoTime() - t0) / 1e9, c);
+                System.out.print(run(db, c));
+                System.out.print(Metrics.report()); // server-side view: save/update latencies, bytes
+            }
+            case "http" -> {
+                Config c = new Config(
+                        Integer.parseInt(o.getOrDefault("threads", "2000")),
+                        Integer.parseInt(o.getOrDefault("seconds", "30")),
+                        0,
+                        Integer.parseInt(o.getOrDefault("book", "40")),
+                        Integer.parseInt(o.getOrDefault("release", "20")),
+                        Long.parseLong(o.getOrDefault("seed", "42")));
+                System.out.print(runHttp(URI.create(o.getOrDefault("url", "http://127.0.0.1:8080")), c));
+            }
+            default -> usage();
+        }
+    }
+
+    /** Drive concurrent book/release/lookup traffic against db and collect latencies. */
+    static Report run(DatabaseService db, Config c) throws InterruptedException {
+        List<Flight> flights = db.getFlights();
+        if (flights.isEmpty()) throw new IllegalArgumentException("database has no flights");
+        String[] flightIds = new String[flights.size()];
+        String[][] seatNumbers = new String[flights.size()][];
+        for (int i = 0; i < flightIds.length; i++) {
+            Flight f = flights.get(i);
+            flightIds[i] = f.getId();
+            seatNumbers[i] = f.getSeats().stream().map(Seat::getSeatNumber).toArray(String[]::new);
+        }
+
+        Report report = new Report();
+        AtomicLong ticket = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + c.seconds() * 1_000_000_000L;
+        long interval = c.ratePerSecond() > 0 ? 1_000_000_000L / c.ratePerSecond() : 0;
+
+        SplittableRandom root = new SplittableRandom(c.seed());
+        Thread[] workers = new Thread[Math.max(1, c.threads())];
+        for (int t = 0; t < workers.length; t++) {
+            SplittableRandom rnd = root.split();
+            workers[t] = new Thread(() -> {
+                while (true) {
+                    long due;
+                    if (interval > 0) { // open loop: take the next slot on the fixed schedule
+                        due = start + ticket.getAndIncrement() * interval;
+                        if (due >= end) return;
+                        long wait;
+                        while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+                    } else {            // closed loop
+                        due = System.nanoTime();
+                        if (due >= end) return;
+                    }
+                    Op op = pick(rnd, c);
+                    int fi = rnd.nextInt(flightIds.length);
+                    String[] seats = seatNumbers[fi];
+                    String seat = seats.length == 0 ? "" : seats[rnd.nextInt(seats.length)];
+                    boolean ok = execute(db, op, flightIds[fi], seat, rnd);
+                    long latency = System.nanoTime() - due;
+                    report.all.record(latency);
+                    report.byOp[op.ordinal()].record(latency);
+                    if (!ok) report.failures.incrementAndGet();
+                }
+            }, "load-" + t);
+            workers[t].start();
+        }
+        for (Thread w : workers) w.join();
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /** Closed-loop book/release/lookup traffic over HTTP; c.threads() virtual-thread clients. */
+    static Report runHttp(URI base, Config c) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String[] flightIds = matches(get(client, base.resolve("/flights")), FLIGHT_ID);
+        if (flightIds.length == 0) throw new IllegalArgumentException("server has no flights");
+        String[][] seatNumbers = new String[flightIds.length][];
+        for (int i = 0; i < flightIds.length; i++) {
+            seatNumbers[i] = matches(get(client, base.resolve(flightPath(flightIds[i]) + "/seats")), SEAT_NUMBER);
+        }
+
+        Report report = new Report();
+        long start = System.nanoTime();
+        long end = start + c.seconds() * 1_000_000_000L;
+        SplittableRandom root = new SplittableRandom(c.seed());
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < Math.max(1, c.threads()); t++) {
+                SplittableRandom rnd = root.split();
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        Op op = pick(rnd, c);
+                        int fi = rnd.nextInt(flightIds.length);
+                        String[] seats = seatNumbers[fi];
+                        String seat = seats.length == 0 ? "" : seats[rnd.nextInt(seats.length)];
+                        long t0 = System.nanoTime();
+                        boolean ok;
+                        try {
+                            int status = client.send(httpRequest(base, op, flightIds[fi], seat, rnd),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status < 300 || (op != Op.LOOKUP && (status == 404 || status == 409));
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        long latency = System.nanoTime() - t0;
+                        report.all.record(latency);
+                        report.byOp[op.ordinal()].record(latency);
+                        if (!ok) report.failures.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        } // close() waits for every client
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private static final Pattern FLIGHT_ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final Pattern SEAT_NUMBER = Pattern.compile("\"seat\":\"([^\"]+)\"");
+
+    private static HttpRequest httpRequest(URI base, Op op, String flightId, String seat, SplittableRandom rnd) {
+        String seatPath = flightPath(flightId) + "/seats";
+        return switch (op) {
+            case LOOKUP -> HttpRequest.newBuilder(base.resolve(seatPath)).GET().build();
+            case RELEASE -> HttpRequest.newBuilder(base.resolve(seatPath + "/" + encode(seat) + "/release"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            case BOOK -> {
+                Passenger p = DatasetGenerator.passenger(rnd);
+                StringBuilder body = new StringBuilder("{\"firstName\":");
+                Json.string(body, p.getFirstName()).append(",\"lastName\":");
+                Json.string(body, p.getLastName()).append(",\"dateOfBirth\":");
+                Json.string(body, p.getDateOfBirth()).append('}');
+                yield HttpRequest.newBuilder(base.resolve(seatPath + "/" + encode(seat) + "/book"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build();
+            }
+        };
+    }
+
+    private static String get(HttpClient client, URI uri) throws IOException, InterruptedException {
+        HttpResponse<String> r = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (r.statusCode() != 200) throw new IOException("GET " + uri + " -> " + r.statusCode());
+        return r.body();
+    }
+
+    private static String[] matches(String json, Pattern p) {
+        return p.matcher(json).results().map(m -> m.group(1)).toArray(String[]::new);
+    }
+
+    private static String flightPath(String flightId) {
+        return "/flights/" + encode(flightId);
+    }
+
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static Op pick(SplittableRandom rnd, Config c) {
+        int r = rnd.nextInt(100);
+        if (r < c.bookPct()) return Op.BOOK;
+        if (r < c.bookPct() + c.releasePct()) return Op.RELEASE;
+        return Op.LOOKUP;
+    }
+
+    private static boolean execute(DatabaseService db, Op op, String flightId, String seat, SplittableRandom rnd) {
+        return switch (op) {
+            case BOOK -> db.bookSeat(flightId, seat, DatasetGenerator.passenger(rnd));
+            case RELEASE -> db.releaseSeat(flightId, seat);
+            case LOOKUP -> lookup(db, flightId, seat);
+        };
+    }
+
+    private static boolean lookup(DatabaseService db, String flightId, String seat) {
+        for (Seat s : db.getSeats(flightId)) {
+            if (s.getSeatNumber().equalsIgnoreCase(seat)) return true;
+        }
+        return false;
+    }
+
+    /** --key value pairs after the sub-command. */
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> o = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Expected --option, got " + args[i]);
+            o.put(args[i].substring(2), args[i + 1]);
+        }
+        return o;
+    }
+
+    private static void usage() {
+        System.out.println("Usage:");
+        System.out.println("  LoadTestDriver generate --out FILE [--flights N] [--rows R] [--letters ABCDEF] [--booked 0.6] [--seed 42]");
+        System.out.println("  LoadTestDriver run --db FILE [--threads 8] [--seconds 30] [--rate 0|ops/s] [--book 40] [--release 20] [--seed 42]");
+        System.out.println("  LoadTestDriver http --url URL [--threads 2000] [--seconds 30] [--book 40] [--release 20] [--seed 42]");
+    }
+}
@@ -0,0 +1,260 @@
+package airlines;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Log - small logging facade with levels and an asynchronous appender.
+ * - Callers only enqueue a record into a bounded ring buffer; formatting and console
+ *   I/O happen on the "log-appender" daemon thread, so logging never blocks a caller
+ * - When the buffer is full the record is dropped and counted (reported on the next write)
+ * - limited(...) caps a repeated message per key and window, then reports
+ *   "suppressed N" instead of printing every occurrence
+ * - Threshold from -Dnua.log.level=DEBUG|INFO|WARN|ERROR|OFF (default INFO)
+ * - Line format: 2026-01-31T10:15:30.123Z INFO  [thread] [Source] message
+ */
+public final class Log {
+
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    /** One enqueued log call; formatted on the appender thread. */
+    private record Entry(long epochMillis, Level level, String thread, String source, String message) {}
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH = 256;
+
+    private static final ArrayBlockingQueue<Entry> QUEUE = new ArrayBlockingQueue<>(CAPACITY);
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong WRITTEN = new AtomicLong();
+    private static final AtomicLong ENQUEUED = new AtomicLong();  // accepted by the buffer
+    private static final AtomicLong PROCESSED = new AtomicLong(); // taken off it by the appender
+    private static final ConcurrentHashMap<String, Limiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private static volatile Level threshold = parseLevel(System.getProperty("nua.log.level"), Level.INFO);
+    private static volatile Consumer<String> sink = System.out::println;
+    private static volatile int limitPerWindow = 5;
+    private static volatile long limitWindowNanos = TimeUnit.SECONDS.toNanos(10);
+
+    static {
+        Thread t = new Thread(Log::drainLoop, "log-appender");
+        t.setDaemon(true);
+        t.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(1, TimeUnit.SECONDS), "log-flush"));
+    }
+
+    private Log() {}
+
+    // ---------- logging ----------
+
+    public static boolean isEnabled(Level level) {
+        return level != Level.OFF && level.compareTo(threshold) >= 0;
+    }
+
+    public static void debug(String source, String message) {
+        log(Level.DEBUG, source, message);
+    }
+
+    public static void info(String source, String message) {
+        log(Level.INFO, source, message);
+    }
+
+    public static void warn(String source, String message) {
+        log(Level.WARN, source, message);
+    }
+
+    public static void error(String source, String message) {
+        log(Level.ERROR, source, message);
+    }
+
+    /** Enqueue one message; never blocks (drops and counts when the buffer is full). */
+    public static void log(Level level, String source, String message) {
+        if (!isEnabled(level)) return;
+        Thread t = Thread.currentThread();
+        String thread = t.getName();
+        if (thread.isEmpty()) thread = (t.isVirtual() ? "virtual-" : "thread-") + t.threadId();
+        Entry e = new Entry(System.currentTimeMillis(), level, thread, source, message);
+        if (QUEUE.offer(e)) ENQUEUED.incrementAndGet();
+        else DROPPED.incrementAndGet();
+    }
+
+    /**
+     * Like log(...), but at most limitPerWindow messages per key are written per window;
+     * the rest are counted and reported as one "suppressed N" line when the window ends.
+     */
+    public static void limited(Level level, String source, String key, String message) {
+        if (!isEnabled(level)) return;
+        Limiter l = LIMITERS.computeIfAbsent(key, k -> new Limiter(level, source, k));
+        long summary;
+        boolean emit;
+        synchronized (l) {
+            long now = System.nanoTime();
+            summary = l.rollIfExpired(now);
+            emit = l.emitted < limitPerWindow;
+            if (emit) l.emitted++;
+            else l.suppressed++;
+        }
+        if (summary > 0) log(level, source, suppressedLine(key, summary));
+        if (emit) log(level, source, message);
+    }
+
+    // ---------- control ----------
+
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level == null ? Level.INFO : level;
+    }
+
+    /** Records dropped because the buffer was full (since startup). */
+    public static long dropped() {
+        return DROPPED.get();
+    }
+
+    /** Lines handed to the sink (since startup). */
+    public static long written() {
+        return WRITTEN.get();
+    }
+
+    /**
+     * Report pending rate-limit summaries and wait until everything enqueued so far
+     * has been written; returns false on timeout.
+     */
+    public static boolean flush(long timeout, TimeUnit unit) {
+        for (Limiter l : LIMITERS.values()) {
+            long summary;
+            synchronized (l) {
+                summary = l.suppressed;
+                l.suppressed = 0;
+            }
+            if (summary > 0) log(l.level, l.source, suppressedLine(l.key, summary));
+        }
+        long target = ENQUEUED.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (PROCESSED.get() < target) {
+            if (System.nanoTime() - deadline >= 0) return false;
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /** Replace the output (tests); null restores System.out. */
+    static void setSink(Consumer<String> newSink) {
+        sink = newSink == null ? System.out::println : newSink;
+    }
+
+    /** Change the rate limit for limited(...) (tests); existing windows keep their start. */
+    static void setRateLimit(int perWindow, long window, TimeUnit unit) {
+        limitPerWindow = perWindow;
+        limitWindowNanos = unit.toNanos(window);
+    }
+
+    static Level parseLevel(String s, Level fallback) {
+        if (s == null) return fallback;
+        try {
+            return Level.valueOf(s.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    // ---------- appender ----------
+
+    private static void drainLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH);
+        StringBuilder sb = new StringBuilder(160);
+        long reportedDrops = 0;
+        while (true) {
+            Entry first;
+            try {
+                first = QUEUE.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                expireLimiters();
+                continue;
+            }
+            batch.add(first);
+            QUEUE.drainTo(batch, BATCH - 1);
+            Consumer<String> out = sink;
+            try {
+                long drops = DROPPED.get();
+                if (drops > reportedDrops) {
+                    out.accept(format(sb, new Entry(System.currentTimeMillis(), Level.WARN, "log-appender", "Log",
+                            "dropped " + (drops - reportedDrops) + " messages (buffer full)")));
+                    reportedDrops = drops;
+                }
+                for (Entry e : batch) {
+                    out.accept(format(sb, e));
+                    WRITTEN.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                // a failing sink must not kill the appender; the rest of the batch is lost
+            } finally {
+                PROCESSED.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /** Emit summaries for quiet keys whose window has ended (runs when the queue is idle). */
+    private static void expireLimiters() {
+        long now = System.nanoTime();
+        for (Limiter l : LIMITERS.values()) {
+            long summary;
+            synchronized (l) {
+                summary = l.rollIfExpired(now);
+            }
+            if (summary > 0) log(l.level, l.source, suppressedLine(l.key, summary));
+        }
+    }
+
+    private static String format(StringBuilder sb, Entry e) {
+        sb.setLength(0);
+        sb.append(Instant.ofEpochMilli(e.epochMillis())).append(' ');
+        String level = e.level().name();
+        sb.append(level);
+        for (int i = level.length(); i < 5; i++) sb.append(' ');
+        sb.append(" [").append(e.thread()).append("] [").append(e.source()).append("] ").append(e.message());
+        return sb.toString();
+    }
+
+    private static String suppressedLine(String key, long count) {
+        return String.format(Locale.ROOT, "suppressed %,d more \"%s\" messages", count, key);
+    }
+
+    /** Per-key rate-limit window; guarded by its own monitor. */
+    private static final class Limiter {
+        final Level level;
+        final String source;
+        final String key;
+        long windowStart = System.nanoTime();
+        int emitted;
+        long suppressed;
+
+        Limiter(Level level, String source, String key) {
+            this.level = level;
+            this.source = source;
+            this.key = key;
+        }
+
+        /** Start a new window if the current one is over; returns the count to report. */
+        long rollIfExpired(long now) {
+            if (now - windowStart < limitWindowNanos) return 0;
+            long s = suppressed;
+            windowStart = now;
+            emitted = 0;
+            suppressed = 0;
+            return s;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package airlines;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ManifestExporter - passenger manifests (booked seats: seat, full name, DOB) per flight.
+ * - Rows are encoded straight into one reusable ByteBuffer and drained to a channel
+ *   whenever it fills, so memory stays constant however many flights or seats are
+ *   exported (no per-flight strings or lists)
+ * - CSV ("seat,name,dateOfBirth" with a header) or fixed-width text (a title line
+ *   with the flight, then aligned columns; long names are cut)
+ * - exportAll(...) writes one file per flight (<flightId>.csv / .txt) from one
+ *   FlightSnapshot, so every manifest reflects the same moment; worker threads pull
+ *   flights from a shared counter, each with its own exporter and buffer
+ * - An exporter instance is not thread-safe (it owns the buffer); use one per thread
+ */
+public final class ManifestExporter {
+
+    private static final String SOURCE = "ManifestExporter";
+    static final int BUFFER_BYTES = 64 * 1024;
+    static final int SEAT_WIDTH = 6;
+    static final int NAME_WIDTH = 40;
+
+    /** Output layout. */
+    public enum Format {
+        CSV(".csv"), FIXED_WIDTH(".txt");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    /** Totals of an exportAll run. */
+    public record Result(int flights, long passengers, long bytes) {}
+
+    private final Format format;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder row = new StringBuilder(128);
+    private WritableByteChannel out;
+    private long written;
+
+    public ManifestExporter(Format format) {
+        if (format == null) throw new IllegalArgumentException("format required");
+        this.format = format;
+    }
+
+    /**
+     * Stream the manifest of one flight to a channel (left open); returns booked seats written.
+     * The flight should come from a snapshot (it is read without locking).
+     */
+    public int write(Flight flight, WritableByteChannel channel) throws IOException {
+        out = channel;
+        buffer.clear();
+        encoder.reset();
+        int passengers = 0;
+        try {
+            header(flight);
+            for (Seat s : flight.getSeats()) {
+                Passenger p = s.getPassenger();
+                if (!s.isBooked() || p == null) continue;
+                row.setLength(0);
+                if (format == Format.CSV) {
+                    row.append(s.getSeatNumber()).append(',');
+                    csvField(p.getFullName());
+                    row.append(',').append(p.getDateOfBirth());
+                } else {
+                    pad(s.getSeatNumber(), SEAT_WIDTH);
+                    pad(p.getFullName(), NAME_WIDTH);
+                    row.append(p.getDateOfBirth());
+                }
+                emitRow();
+                passengers++;
+            }
+            drain();
+        } finally {
+            out = null;
+        }
+        return passengers;
+    }
+
+    /** Bytes written by this exporter so far. */
+    public long bytesWritten() {
+        return written;
+    }
+
+    /** Write one manifest file for a flight of the current snapshot; -1 if the flight is unknown. */
+    public static int exportFlight(DatabaseService db, String flightId, Path file, Format format) throws IOException {
+        Flight f = db.snapshot().flight(flightId);
+        if (f == null) return -1;
+        ManifestExporter exporter = new ManifestExporter(format);
+        int passengers = exporter.writeFile(f, file);
+        Metrics.addBytesWritten(exporter.bytesWritten());
+        return passengers;
+    }
+
+    /**
+     * Write a manifest file per flight into dir (created if missing), using up to
+     * threads workers over one snapshot.
+     * @throws IOException the first failure (later ones are suppressed; an unexpected
+     *         exception is wrapped); files already written stay in place
+     */
+    public static Result exportAll(DatabaseService db, Path dir, Format format, int threads) throws IOException {
+        if (format == null) throw new IllegalArgumentException("format required");
+        List<Flight> flights = db.snapshot().flights();
+        Files.createDirectories(dir);
+        int workers = Math.max(1, Math.min(threads, flights.size()));
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong passengers = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        long t0 = System.nanoTime();
+
+        Runnable worker = () -> {
+            ManifestExporter exporter = new ManifestExporter(format);
+            int i;
+            while ((i = next.getAndIncrement()) < flights.size()) {
+                Flight f = flights.get(i);
+                try {
+                    passengers.addAndGet(exporter.writeFile(f, dir.resolve(fileName(f, format))));
+                } catch (IOException | RuntimeException e) { // a dead worker must not look like success
+                    IOException io = e instanceof IOException x ? x
+                            : new IOException("manifest for " + f.getId() + " failed: " + e, e);
+                    if (!failure.compareAndSet(null, io)) failure.get().addSuppressed(io);
+                }
+            }
+            bytes.addAndGet(exporter.bytesWritten());
+        };
+        if (workers == 1) {
+            worker.run();
+        } else {
+            try (ExecutorService pool = Executors.newFixedThreadPool(workers)) {
+                for (int w = 0; w < workers; w++) pool.execute(worker);
+            } // close() waits for the workers
+        }
+        Metrics.addBytesWritten(bytes.get());
+        if (failure.get() != null) {
+            Log.error(SOURCE, "Manifest export to " + dir + " failed: " + failure.get().getMessage());
+            throw failure.get();
+        }
+        Log.info(SOURCE, "Exported " + flights.size() + " manifests (" + passengers.get() + " passengers) to "
+                + dir + " in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        return new Result(flights.size(), passengers.get(), bytes.get());
+    }
+
+    /** "<flightId>.csv"; characters that are unsafe in file names become '_'. */
+    static String fileName(Flight f, Format format) {
+        StringBuilder sb = new StringBuilder(f.getId().length() + 4);
+        for (char c : f.getId().toCharArray()) {
+            sb.append(Character.isLetterOrDigit(c) || c == '-' || c == '_' ? c : '_');
+        }
+        return sb.append(format.extension()).toString();
+    }
+
+    // ---------- internals ----------
+
+    private int writeFile(Flight f, Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return write(f, ch);
+        }
+    }
+
+    private void header(Flight f) throws IOException {
+        row.setLength(0);
+        if (format == Format.CSV) {
+            row.append("seat,name,dateOfBirth");
+        } else {
+            row.append(f.getFlightNumber()).append(" (").append(f.getId()).append(')');
+            if (f.isScheduled()) {
+                if (f.getOrigin() != null) row.append(' ').append(f.getOrigin()).append("->").append(f.getDestination());
+                if (f.getDeparture() != null) row.append(' ').append(f.getDeparture());
+            }
+            emitRow();
+            row.setLength(0);
+            pad("SEAT", SEAT_WIDTH);
+            pad("NAME", NAME_WIDTH);
+            row.append("DOB");
+        }
+        emitRow();
+    }
+
+    /** Quote a CSV field only if it needs it. */
+    private void csvField(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) {
+            row.append(s);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') row.append('"');
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    /** Left-aligned column of width chars (cut, always followed by at least one space). */
+    private void pad(String s, int width) {
+        int n = Math.min(s.length(), width - 1);
+        row.append(s, 0, n);
+        for (int i = n; i < width; i++) row.append(' ');
+    }
+
+    /** Encode row + '\n' into the buffer, draining it to the channel as often as needed. */
+    private void emitRow() throws IOException {
+        row.append('\n');
+        CharBuffer chars = CharBuffer.wrap(row);
+        while (true) {
+            CoderResult r = encoder.encode(chars, buffer, false);
+            if (r.isUnderflow()) return;
+            if (r.isOverflow()) {
+                drain();
+            } else {
+                r.throwException();
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) written += out.write(buffer);
+        buffer.clear();
+    }
+}
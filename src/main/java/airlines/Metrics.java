@@ -0,0 +1,113 @@
+package airlines;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Metrics - in-process counters and latency histograms for DatabaseService / FileStorage.
+ * - One LatencyHistogram per operation (count, mean, percentiles, max)
+ * - Failure counters per operation, bytes read / written by FileStorage
+ * - Recording is lock-free and allocation-free, so it stays on in production
+ * - report() for on-demand queries, startPeriodicDump(...) for a timed dump
+ */
+public final class Metrics {
+
+    /** Instrumented operations. */
+    public enum Op { UPDATE_SEAT, SAVE, LOAD, ADD_FLIGHT, DELETE_FLIGHT }
+
+    private static final Op[] OPS = Op.values();
+    private static final LatencyHistogram[] LATENCY = new LatencyHistogram[OPS.length];
+    private static final AtomicLong[] FAILURES = new AtomicLong[OPS.length];
+    private static final AtomicLong BYTES_READ = new AtomicLong();
+    private static final AtomicLong BYTES_WRITTEN = new AtomicLong();
+
+    static {
+        for (int i = 0; i < OPS.length; i++) {
+            LATENCY[i] = new LatencyHistogram();
+            FAILURES[i] = new AtomicLong();
+        }
+    }
+
+    private Metrics() {}
+
+    // ---------- recording ----------
+
+    /** Record one completed operation; elapsed is in nanoseconds (System.nanoTime delta). */
+    public static void record(Op op, long elapsedNanos, boolean success) {
+        LATENCY[op.ordinal()].record(elapsedNanos);
+        if (!success) FAILURES[op.ordinal()].incrementAndGet();
+    }
+
+    static void addBytesRead(long bytes) {
+        BYTES_READ.addAndGet(bytes);
+    }
+
+    static void addBytesWritten(long bytes) {
+        BYTES_WRITTEN.addAndGet(bytes);
+    }
+
+    // ---------- queries ----------
+
+    /** Live histogram for an operation (nanoseconds). */
+    public static LatencyHistogram latency(Op op) {
+        return LATENCY[op.ordinal()];
+    }
+
+    public static long count(Op op) {
+        return LATENCY[op.ordinal()].getCount();
+    }
+
+    public static long failures(Op op) {
+        return FAILURES[op.ordinal()].get();
+    }
+
+    public static long bytesRead() {
+        return BYTES_READ.get();
+    }
+
+    public static long bytesWritten() {
+        return BYTES_WRITTEN.get();
+    }
+
+    /** Multi-line human-readable dump of all counters and histograms. */
+    public static String report() {
+        StringBuilder sb = new StringBuilder("[Metrics]");
+        sb.append(String.format(Locale.ROOT, " bytesRead=%d bytesWritten=%d%n", bytesRead(), bytesWritten()));
+        for (Op op : OPS) {
+            sb.append(String.format(Locale.ROOT, "  %-13s failures=%d %s%n",
+                    op.name().toLowerCase(Locale.ROOT), failures(op), latency(op).summary()));
+        }
+        return sb.toString();
+    }
+
+    /** Clear everything (tests, or the start of a measurement window). */
+    public static void reset() {
+        for (int i = 0; i < OPS.length; i++) {
+            LATENCY[i].reset();
+            FAILURES[i].set(0);
+        }
+        BYTES_READ.set(0);
+        BYTES_WRITTEN.set(0);
+    }
+
+    /**
+     * Hand report() to sink every period on a daemon thread.
+     * Cancel the returned future to stop dumping.
+     */
+    public static ScheduledFuture<?> startPeriodicDump(long period, TimeUnit unit, Consumer<String> sink) {
+        return DumpTimer.TIMER.scheduleAtFixedRate(() -> sink.accept(report()), period, period, unit);
+    }
+
+    /** Lazily created shared daemon thread for periodic dumps. */
+    private static final class DumpTimer {
+        static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -3,21 +3,45 @@ package airlines;
 import javax.swing.*;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 public class National_University_Airlines {
-    public static void main(String[] args) {
-        // Set LAF first
-        try {
-            UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
-        } catch (UnsupportedLookAndFeelException | ReflectiveOperationException ignored) {
-            // Fallback is fine; keep quiet or log if you like
+    public static void main(String[] args) throws Exception {
+        startMetricsDump();
+        // --headless: HTTP booking API only; returns before any Swing/AWT class is touched
+        if (Arrays.asList(args).contains("--headless")) {
+            System.setProperty("java.awt.headless", "true");
+            BookingServer.main(args);
+            return;
         }
+        Gui.start();
+    }
+
+    private static void startMetricsDump() {
+        // Optional: -Dnua.metrics.dumpSeconds=60 logs Metrics.report() periodically (-Dnua.log.level=... sets verbosity)
+        long dumpSeconds = Long.getLong("nua.metrics.dumpSeconds", 0L);
+        if (dumpSeconds > 0) {
+            Metrics.startPeriodicDump(dumpSeconds, TimeUnit.SECONDS, report -> Log.info("Metrics", report.strip()));
+        }
+    }
+
+    /** Swing start-up, kept in its own class so verifying main never loads AWT/Swing types. */
+    private static final class Gui {
+        static void start() {
+            // Set LAF first
+            try {
+                UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
+            } catch (UnsupportedLookAndFeelException | ReflectiveOperationException ignored) {
+                // Fallback is fine; keep quiet or log if you like
+            }
 
-        SwingUtilities.invokeLater(() -> {
-            // Make the path explicit
-            Path dbPath = Paths.get("database.txt");
-            DatabaseService db = new DatabaseService(dbPath.toString()); // autoloads or creates
-            new HomeFrame(db).setVisible(true);
-        });
+            SwingUtilities.invokeLater(() -> {
+                // Make the path explicit
+                Path dbPath = Paths.get("database.txt");
+                DatabaseService db = new DatabaseService(dbPath.toString()); // autoloads or creates
+                new Navigator(db).showHome(); // one HomeFrame, cached SeatsFrames
+            });
+        }
     }
 }
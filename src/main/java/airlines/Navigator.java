@@ -0,0 +1,78 @@
+package airlines;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Navigator - switches between the home screen and per-flight seat screens.
+ * - Keeps ONE long-lived HomeFrame (menus/models built once)
+ * - Caches recently opened SeatsFrames by flightId (LRU, bounded)
+ * - Navigation just hides/shows frames; evicted frames are disposed
+ */
+public class Navigator {
+
+    /** How many seat screens stay alive before the least recently used one is disposed. */
+    public static final int DEFAULT_CACHE_SIZE = 8;
+
+    private final DatabaseService db;
+    private final int cacheSize;
+    private HomeFrame home; // created lazily on first showHome()
+
+    // access-order LinkedHashMap = LRU; eldest entry is disposed on overflow
+    private final LinkedHashMap<String, SeatsFrame> seatFrames;
+
+    public Navigator(DatabaseService db) {
+        this(db, DEFAULT_CACHE_SIZE);
+    }
+
+    public Navigator(DatabaseService db, int cacheSize) {
+        this.db = db;
+        this.cacheSize = Math.max(1, cacheSize);
+        this.seatFrames = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SeatsFrame> eldest) {
+                if (size() <= Navigator.this.cacheSize) return false;
+                eldest.getValue().dispose();
+                return true;
+            }
+        };
+    }
+
+    /** Show the home screen, hiding any visible seat screen. */
+    public void showHome() {
+        if (home == null) home = new HomeFrame(db, this);
+        for (SeatsFrame f : seatFrames.values()) f.setVisible(false);
+        home.setVisible(true);
+        home.toFront();
+    }
+
+    /**
+     * Show the seat screen for a flight. A cached screen is re-shown after a
+     * cheap seat refresh; otherwise a new one is built and cached.
+     */
+    public void showSeats(String flightId, String flightNumber) {
+        if (flightId == null) return;
+        String key = flightId.toUpperCase();
+        SeatsFrame frame = seatFrames.get(key);
+        if (frame == null) {
+            frame = new SeatsFrame(db, this, flightId, flightNumber);
+            seatFrames.put(key, frame);
+        } else {
+            frame.refresh();
+        }
+        frame.setVisible(true);
+        frame.toFront();
+        if (home != null) home.setVisible(false);
+    }
+
+    /** Drop (and dispose) the cached seat screen for a flight, e.g. after delete. */
+    public void evict(String flightId) {
+        if (flightId == null) return;
+        SeatsFrame frame = seatFrames.remove(flightId.toUpperCase());
+        if (frame != null) frame.dispose();
+    }
+
+    /** Number of seat screens currently cached. */
+    public int cachedSeatScreens() {
+        return seatFrames.size();
+    }
+}
@@ -0,0 +1,165 @@
+package airlines;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * OccupancyAnalytics - fleet-wide load factors and passenger age distribution.
+ * - One pass over a FlightSnapshot as a parallel stream (fork/join): each task keeps
+ *   its own counters (seats and bookings per flight-number prefix, one count per age
+ *   bucket) and tasks are merged pairwise, so there is no shared state to contend on
+ * - Per-flight loads go into an array slot per snapshot position (disjoint writes)
+ * - Ages come from the packed yyyyMMdd DOB compared with ValidationUtils' cached
+ *   today: no LocalDate, no substring, no allocation per passenger
+ * - report() caches the last Report with its snapshot version; dashboards polling
+ *   between seat changes get it back in O(1), the next change triggers a recompute
+ */
+public final class OccupancyAnalytics {
+
+    private static final String SOURCE = "OccupancyAnalytics";
+
+    /** Age buckets (completed years on today's date); UNKNOWN = missing or invalid DOB. */
+    public enum AgeBucket {
+        UNDER_12(0), AGE_12_17(12), AGE_18_24(18), AGE_25_34(25), AGE_35_44(35),
+        AGE_45_54(45), AGE_55_64(55), AGE_65_PLUS(65), UNKNOWN(-1);
+
+        private final int from;
+
+        AgeBucket(int from) {
+            this.from = from;
+        }
+
+        private static final AgeBucket[] BY_AGE = new AgeBucket[66];
+        static {
+            for (int age = 0, b = 0; age < BY_AGE.length; age++) {
+                if (b + 1 < UNKNOWN.ordinal() && age >= values()[b + 1].from) b++;
+                BY_AGE[age] = values()[b];
+            }
+        }
+
+        /** Bucket of an age in years; UNKNOWN if negative. */
+        static AgeBucket of(int age) {
+            if (age < 0) return UNKNOWN;
+            return BY_AGE[Math.min(age, BY_AGE.length - 1)];
+        }
+    }
+
+    /** Seats and bookings of a flight or group of flights. */
+    public record Load(long seats, long booked) {
+        /** booked / seats, 0 for no seats. */
+        public double factor() {
+            return seats == 0 ? 0 : (double) booked / seats;
+        }
+    }
+
+    /**
+     * Aggregates of one snapshot.
+     * @param byFlight flight id -> load, in snapshot order
+     * @param byPrefix flight-number prefix (leading non-digits, e.g. "NU") -> load, sorted
+     * @param ages     booked passengers per age bucket (every bucket present)
+     */
+    public record Report(long snapshotVersion, Load overall, Map<String, Load> byFlight,
+                         Map<String, Load> byPrefix, Map<AgeBucket, Long> ages) {}
+
+    private final DatabaseService db;
+    private volatile Report cached;
+
+    public OccupancyAnalytics(DatabaseService db) {
+        this.db = db;
+    }
+
+    /** Report of the current snapshot; recomputed only if a change was published since the last call. */
+    public Report report() {
+        FlightSnapshot s = db.snapshot();
+        Report r = cached;
+        if (r == null || r.snapshotVersion() != s.version()) {
+            r = compute(s);
+            cached = r; // racing callers may both compute; either result is correct
+        }
+        return r;
+    }
+
+    /** Compute all aggregates of a snapshot with a parallel (fork/join) stream. */
+    public static Report compute(FlightSnapshot snapshot) {
+        long t0 = System.nanoTime();
+        List<Flight> flights = snapshot.flights();
+        int today = ValidationUtils.todayPacked();
+        Load[] perFlight = new Load[flights.size()];
+        Partial total = IntStream.range(0, flights.size()).parallel().collect(
+                () -> new Partial(today),
+                (p, i) -> perFlight[i] = p.add(flights.get(i)),
+                Partial::merge);
+
+        Map<String, Load> byFlight = new LinkedHashMap<>(perFlight.length * 4 / 3 + 1);
+        for (int i = 0; i < perFlight.length; i++) byFlight.put(flights.get(i).getId(), perFlight[i]);
+        Map<String, Load> byPrefix = new TreeMap<>();
+        total.prefixes.forEach((k, v) -> byPrefix.put(k, new Load(v[0], v[1])));
+        Map<AgeBucket, Long> ages = new EnumMap<>(AgeBucket.class);
+        for (AgeBucket b : AgeBucket.values()) ages.put(b, total.ages[b.ordinal()]);
+
+        Log.debug(SOURCE, "Analysed " + flights.size() + " flights in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        return new Report(snapshot.version(), new Load(total.seats, total.booked),
+                Collections.unmodifiableMap(byFlight), Collections.unmodifiableMap(byPrefix),
+                Collections.unmodifiableMap(ages));
+    }
+
+    /** Leading non-digit characters of a flight number, upper-cased ("NU310" -> "NU"). */
+    static String prefix(String flightNumber) {
+        int n = 0;
+        while (n < flightNumber.length() && !Character.isDigit(flightNumber.charAt(n))) n++;
+        return flightNumber.substring(0, n).toUpperCase(Locale.ROOT);
+    }
+
+    /** Age in completed years on today (both packed yyyyMMdd); -1 for an invalid or future DOB. */
+    static int age(String dateOfBirth, int todayPacked) {
+        int dob = ValidationUtils.packedDate(dateOfBirth);
+        return dob < 0 || dob > todayPacked ? -1 : (todayPacked - dob) / 10000;
+    }
+
+    /** Per-task counters of the fork/join pass; not thread-safe, never shared while filling. */
+    private static final class Partial {
+        final int today;
+        final long[] ages = new long[AgeBucket.values().length];
+        final Map<String, long[]> prefixes = new HashMap<>(); // prefix -> {seats, booked}
+        long seats;
+        long booked;
+
+        Partial(int today) {
+            this.today = today;
+        }
+
+        Load add(Flight f) {
+            List<Seat> list = f.getSeats();
+            long b = 0;
+            for (Seat s : list) {
+                if (!s.isBooked()) continue;
+                b++;
+                Passenger p = s.getPassenger();
+                ages[AgeBucket.of(p == null ? -1 : age(p.getDateOfBirth(), today)).ordinal()]++;
+            }
+            long[] group = prefixes.computeIfAbsent(prefix(f.getFlightNumber()), k -> new long[2]);
+            group[0] += list.size();
+            group[1] += b;
+            seats += list.size();
+            booked += b;
+            return new Load(list.size(), b);
+        }
+
+        void merge(Partial o) {
+            seats += o.seats;
+            booked += o.booked;
+            for (int i = 0; i < ages.length; i++) ages[i] += o.ages[i];
+            o.prefixes.forEach((k, v) -> {
+                long[] group = prefixes.computeIfAbsent(k, x -> new long[2]);
+                group[0] += v[0];
+                group[1] += v[1];
+            });
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package airlines;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * RouteGraph - time-dependent flight network for connection searches.
+ * - One departure-sorted skip list of legs per origin airport; flights with
+ *   origin, destination, departure and arrival become legs
+ * - Maintained incrementally by DatabaseService (add/delete/schedule change) under
+ *   its lock; searches never block and resolve legs against one FlightSnapshot
+ *   (stale legs are skipped, like ScheduleIndex)
+ * - Search works in rounds (RAPTOR style): round k finds the earliest arrival at
+ *   every airport using at most k legs, scanning each improved airport's departures
+ *   from "ready" (arrival + minimum connection) for at most MAX_WAIT. The first
+ *   round that reaches the destination gives the fewest-legs answer; the best over
+ *   all rounds gives the earliest arrival
+ * - A later arrival at a hub is kept as well when its MAX_WAIT window reaches
+ *   departures that no earlier arrival there could wait for
+ * - A leg is only used if its flight still has an available seat
+ */
+final class RouteGraph {
+
+    /** A leg never departs more than this long after the traveller is ready for it. */
+    static final Duration MAX_WAIT = Duration.ofHours(24);
+
+    /** Search objective. */
+    enum Objective { EARLIEST_ARRIVAL, FEWEST_LEGS }
+
+    /**
+     * Edge copied from the flight's schedule; ordered by departure, then id. Arrival and
+     * destination break ties so a rescheduled flight's new leg can coexist with the old
+     * one until the old one is removed.
+     */
+    record Leg(LocalDateTime departure, String flightId, LocalDateTime arrival, String destination)
+            implements Comparable<Leg> {
+        @Override
+        public int compareTo(Leg o) {
+            int c = departure.compareTo(o.departure);
+            if (c == 0) c = String.CASE_INSENSITIVE_ORDER.compare(flightId, o.flightId);
+            if (c == 0 && arrival != null && o.arrival != null) c = arrival.compareTo(o.arrival);
+            if (c == 0 && destination != null && o.destination != null) c = destination.compareTo(o.destination);
+            return c;
+        }
+
+        /** Smallest possible leg departing at t (range bound). */
+        static Leg bound(LocalDateTime t) {
+            return new Leg(t, "", null, null);
+        }
+    }
+
+    /** Best arrival at an airport in some round, linked back to the leg that got there. */
+    private record Label(LocalDateTime arrival, Flight flight, Label previous) {}
+
+    private volatile Map<String, ConcurrentSkipListSet<Leg>> byOrigin = new ConcurrentHashMap<>();
+
+    static boolean isRoutable(Flight f) {
+        return f.getOrigin() != null && f.getDestination() != null
+                && f.getDeparture() != null && f.getArrival() != null;
+    }
+
+    private static Leg leg(Flight f) {
+        return new Leg(f.getDeparture(), f.getId(), f.getArrival(), f.getDestination());
+    }
+
+    /** Replace the whole graph (built aside, then swapped in). */
+    void rebuild(List<Flight> flights) {
+        Map<String, ConcurrentSkipListSet<Leg>> fresh = new ConcurrentHashMap<>();
+        for (Flight f : flights) {
+            if (isRoutable(f)) fresh.computeIfAbsent(f.getOrigin(), k -> new ConcurrentSkipListSet<>()).add(leg(f));
+        }
+        byOrigin = fresh;
+    }
+
+    void add(Flight f) {
+        if (isRoutable(f)) byOrigin.computeIfAbsent(f.getOrigin(), k -> new ConcurrentSkipListSet<>()).add(leg(f));
+    }
+
+    void remove(Flight f) {
+        if (!isRoutable(f)) return;
+        ConcurrentSkipListSet<Leg> legs = byOrigin.get(f.getOrigin());
+        if (legs != null) legs.remove(leg(f)); // empty sets stay; airports are few
+    }
+
+    /** Number of legs in the graph. */
+    int size() {
+        int n = 0;
+        for (ConcurrentSkipListSet<Leg> legs : byOrigin.values()) n += legs.size();
+        return n;
+    }
+
+    /**
+     * Best itinerary from origin to destination departing at or after notBefore, or null.
+     * @param minConnection minimum time between arriving and departing at a hub
+     * @param maxLegs       at most this many flights (>= 1)
+     */
+    Itinerary search(FlightSnapshot snapshot, String origin, String destination, LocalDateTime notBefore,
+                     Duration minConnection, int maxLegs, Objective objective) {
+        if (origin == null || destination == null || notBefore == null || maxLegs < 1) return null;
+        String from = origin.trim().toUpperCase(Locale.ROOT);
+        String to = destination.trim().toUpperCase(Locale.ROOT);
+        if (from.equals(to)) return null;
+        Duration connection = minConnection == null || minConnection.isNegative() ? Duration.ZERO : minConnection;
+        Map<String, ConcurrentSkipListSet<Leg>> graph = byOrigin;
+
+        Map<String, LocalDateTime> best = new HashMap<>();     // earliest arrival so far, any round
+        Map<String, LocalDateTime> reach = new HashMap<>();    // latest MAX_WAIT horizon of a kept label
+        Map<String, List<Label>> marked = new HashMap<>();     // labels kept in the previous round
+        marked.put(from, List.of(new Label(notBefore, null, null)));
+        best.put(from, notBefore);
+        reach.put(from, notBefore.plus(MAX_WAIT));
+        Label target = null;
+
+        for (int round = 1; round <= maxLegs && !marked.isEmpty(); round++) {
+            Map<String, List<Label>> improved = new HashMap<>();
+            for (Map.Entry<String, List<Label>> e : marked.entrySet()) {
+                ConcurrentSkipListSet<Leg> legs = graph.get(e.getKey());
+                if (legs == null) continue;
+                for (Label at : e.getValue()) {
+                    LocalDateTime ready = at.flight() == null ? at.arrival() : at.arrival().plus(connection);
+                    LocalDateTime horizon = ready.plus(MAX_WAIT);
+                    if (target != null && target.arrival().isBefore(horizon)) horizon = target.arrival();
+                    if (!ready.isBefore(horizon)) continue;
+
+                    for (Leg leg : legs.subSet(Leg.bound(ready), true, Leg.bound(horizon), false)) {
+                        String dest = leg.destination();
+                        if (target != null && !leg.arrival().isBefore(target.arrival())) continue;
+                        LocalDateTime known = best.get(dest);
+                        boolean earlier = known == null || leg.arrival().isBefore(known);
+                        LocalDateTime waitsUntil = leg.arrival().plus(connection).plus(MAX_WAIT);
+                        // a later arrival only helps if it can wait for departures no kept label reaches
+                        if (!earlier && (dest.equals(to) || !waitsUntil.isAfter(reach.get(dest)))) continue;
+                        Flight f = resolve(snapshot, leg, e.getKey());
+                        if (f == null || f.getAvailableCount() == 0) continue;
+
+                        Label l = new Label(leg.arrival(), f, at);
+                        if (earlier) best.put(dest, leg.arrival());
+                        reach.merge(dest, waitsUntil, (a, b) -> a.isAfter(b) ? a : b);
+                        improved.computeIfAbsent(dest, k -> new ArrayList<>(1)).add(l);
+                        if (dest.equals(to)) target = l;
+                    }
+                }
+            }
+            if (target != null && objective == Objective.FEWEST_LEGS) break;
+            improved.remove(to); // nothing to gain by flying on from the destination
+            marked = improved;
+        }
+        return target == null ? null : itinerary(target);
+    }
+
+    /** The flight behind a leg, or null if it was deleted or rescheduled since the leg was added. */
+    private static Flight resolve(FlightSnapshot snapshot, Leg leg, String origin) {
+        Flight f = snapshot.flight(leg.flightId());
+        if (f == null || !leg.departure().equals(f.getDeparture()) || !leg.arrival().equals(f.getArrival())
+                || !origin.equals(f.getOrigin()) || !leg.destination().equals(f.getDestination())) {
+            return null;
+        }
+        return f;
+    }
+
+    private static Itinerary itinerary(Label last) {
+        List<Flight> legs = new ArrayList<>();
+        for (Label l = last; l.flight() != null; l = l.previous()) legs.add(l.flight());
+        Collections.reverse(legs);
+        return new Itinerary(legs);
+    }
+}
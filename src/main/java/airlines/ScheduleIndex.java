@@ -0,0 +1,68 @@
+package airlines;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * ScheduleIndex - scheduled flights sorted by departure time.
+ * - Concurrent skip list of (departure, flightId) keys: a range query is
+ *   O(log n + k) and never blocks, while DatabaseService updates it under its lock
+ * - Holds ids, not Flights; queries resolve ids against one FlightSnapshot, so
+ *   seat updates (which replace Flight objects) never touch the index
+ * - Keys whose flight is gone or whose departure changed are skipped on
+ *   resolution, so a reader racing an update sees the old or the new flight
+ *   but never both
+ * - rebuild() builds a new set and swaps it in (no half-empty window on load)
+ */
+final class ScheduleIndex {
+
+    /** Sort key; ids are unique ignoring case, which makes equal departures distinct. */
+    record Key(LocalDateTime departure, String flightId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key o) {
+            int c = departure.compareTo(o.departure);
+            return c != 0 ? c : String.CASE_INSENSITIVE_ORDER.compare(flightId, o.flightId);
+        }
+    }
+
+    private volatile ConcurrentSkipListSet<Key> keys = new ConcurrentSkipListSet<>();
+
+    /** Replace the whole index with the scheduled flights of the list. */
+    void rebuild(List<Flight> flights) {
+        ConcurrentSkipListSet<Key> fresh = new ConcurrentSkipListSet<>();
+        for (Flight f : flights) {
+            if (f.isScheduled()) fresh.add(new Key(f.getDeparture(), f.getId()));
+        }
+        keys = fresh;
+    }
+
+    void add(Flight f) {
+        if (f.isScheduled()) keys.add(new Key(f.getDeparture(), f.getId()));
+    }
+
+    void remove(Flight f) {
+        if (f.isScheduled()) keys.remove(new Key(f.getDeparture(), f.getId()));
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    /** Keys with from <= departure < to, in departure order. */
+    NavigableSet<Key> range(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) return new ConcurrentSkipListSet<>();
+        return keys.subSet(new Key(from, ""), true, new Key(to, ""), false);
+    }
+
+    /** Flights departing in [from, to), resolved against snapshot. */
+    List<Flight> departing(FlightSnapshot snapshot, LocalDateTime from, LocalDateTime to) {
+        List<Flight> out = new ArrayList<>();
+        for (Key k : range(from, to)) {
+            Flight f = snapshot.flight(k.flightId());
+            if (f != null && k.departure().equals(f.getDeparture())) out.add(f);
+        }
+        return out;
+    }
+}
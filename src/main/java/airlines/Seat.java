@@ -6,11 +6,19 @@ import java.util.Objects;
  * - seatNumber: e.g., "12A"
  * - status: AVAILABLE or BOOKED
  * - passenger: optional; if present -> BOOKED, if absent -> AVAILABLE
+ * - fareClass: booking class the seat was sold in (0 = none / AVAILABLE); see FareInventory
+ * - version: stamped by DatabaseService when the seat changes; the expected value
+ *   for DatabaseService.updateSeatIfVersion (optimistic concurrency)
+ * - owner: the Flight the seat was added to; every AVAILABLE <-> BOOKED change
+ *   (setPassenger, setStatus, clearPassenger) adjusts that flight's booked counter
  */
 public class Seat {
     private final String seatNumber;
     private SeatStatus status;
     private Passenger passenger; // nullable
+    private long version;        // 0 until published by a DatabaseService
+    private char fareClass;      // 0 = none
+    private Flight owner;        // set by Flight.addSeat; null = not on a flight
 
     /** Create an AVAILABLE seat with no passenger. */
     public Seat(String seatNumber) {
@@ -35,6 +43,16 @@ public class Seat {
 
     public Passenger getPassenger() { return passenger; }
 
+    /** Version of the last published change to this seat (0 if never published). */
+    public long getVersion() { return version; }
+
+    void stampVersion(long version) { this.version = version; }
+
+    /** Booking class of the current booking (e.g. 'Y'); 0 if none. */
+    public char getFareClass() { return fareClass; }
+
+    void setFareClass(char fareClass) { this.fareClass = fareClass; }
+
     /** True when status is BOOKED (or passenger present). */
     public boolean isBooked() {
         return status == SeatStatus.BOOKED;
@@ -43,7 +61,8 @@ public class Seat {
     /** Assign/replace passenger; null clears booking and marks AVAILABLE. */
     public void setPassenger(Passenger passenger) {
         this.passenger = passenger;
-        this.status = (passenger == null) ? SeatStatus.AVAILABLE : SeatStatus.BOOKED;
+        changeStatus((passenger == null) ? SeatStatus.AVAILABLE : SeatStatus.BOOKED);
+        if (passenger == null) this.fareClass = 0;
     }
 
     /** Convenience for clearing a booking. */
@@ -51,16 +70,44 @@ public class Seat {
         setPassenger(null);
     }
 
+    /**
+     * Independent copy with the same number, status, passenger, fare class and version
+     * (passengers are shared as values); the copy has no owner until added to a flight.
+     */
+    public Seat copy() {
+        Seat c = new Seat(seatNumber, passenger);
+        c.status = status;
+        c.version = version;
+        c.fareClass = fareClass;
+        return c;
+    }
+
     /** Force status; keeps passenger reference but reconciles consistency. */
     public void setStatus(SeatStatus status) {
         if (status == null) return;
-        this.status = status;
+        changeStatus(status);
         if (status == SeatStatus.AVAILABLE) {
             this.passenger = null; // available implies no passenger
+            this.fareClass = 0;
         }
         // if BOOKED with null passenger, UI/service should set passenger next
     }
 
+    Flight owner() {
+        return owner;
+    }
+
+    void setOwner(Flight owner) {
+        this.owner = owner;
+    }
+
+    /** Single place where status changes, so the owner's counter never drifts. */
+    private void changeStatus(SeatStatus next) {
+        boolean wasBooked = status == SeatStatus.BOOKED;
+        status = next;
+        if (owner != null && wasBooked != (next == SeatStatus.BOOKED)) owner.bookedChanged(wasBooked ? -1 : 1);
+    }
+
     @Override
     public String toString() {
         return "Seat{" + seatNumber + ", " + status + (passenger != null ? ", " + passenger.getFullName() : "") + "}";
@@ -10,12 +10,16 @@ import java.util.List;
  * - DOB must be yyyy-MM-dd, real date, and not in the future.
  * - Clear visual feedback: invalid fields are highlighted and focused.
  * - Release checkbox is never pre-selected; user opts in.
+ * - Optimistic save: remembers the seat version it loaded and saves with
+ *   DatabaseService.updateSeatIfVersion; if another agent changed the seat in the
+ *   meantime the save is refused, the latest values are shown, and nothing is lost.
  */
 public class SeatEditorDialog extends JDialog {
     private final DatabaseService db;
     private final String flightId;
     private final String flightNumber;
     private final String seatNumber;
+    private long seatVersion = -1; // version of the values shown; -1 = seat not found
 
     // UI fields
     private final JTextField firstField = new JTextField(18);
@@ -107,6 +111,7 @@ public class SeatEditorDialog extends JDialog {
         List<Seat> seats = db.getSeats(flightId);
         for (Seat s : seats) {
             if (seatNumber.equalsIgnoreCase(s.getSeatNumber())) {
+                seatVersion = s.getVersion();
                 if (s.getPassenger() != null) {
                     firstField.setText(s.getPassenger().getFirstName());
                     lastField.setText(s.getPassenger().getLastName());
@@ -156,11 +161,7 @@ public class SeatEditorDialog extends JDialog {
     private void onSave() {
         // Path 1: explicit release
         if (releaseCheck.isSelected()) {
-            boolean ok = db.releaseSeat(flightId, seatNumber);
-            if (!ok) {
-                JOptionPane.showMessageDialog(this, "Failed to release seat. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+            if (!save(null, "Failed to release seat. Please try again.")) return;
             dispose();
             return;
         }
@@ -171,11 +172,7 @@ public class SeatEditorDialog extends JDialog {
         String dob   = dobField.getText().trim();
 
         if (first.isEmpty() && last.isEmpty() && dob.isEmpty()) {
-            boolean ok = db.releaseSeat(flightId, seatNumber);
-            if (!ok) {
-                JOptionPane.showMessageDialog(this, "Failed to mark seat AVAILABLE. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+            if (!save(null, "Failed to mark seat AVAILABLE. Please try again.")) return;
             dispose();
             return;
         }
@@ -197,14 +194,30 @@ public class SeatEditorDialog extends JDialog {
         }
 
         Passenger p = new Passenger(first, last, dob);
-        boolean ok = db.bookSeat(flightId, seatNumber, p); // autosaves
-        if (!ok) {
-            JOptionPane.showMessageDialog(this, "Failed to book seat. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
+        if (!save(p, "Failed to book seat. Please try again.")) return;
         dispose();
     }
 
+    /** Book (p != null) or release, only if nobody changed the seat since it was loaded. */
+    private boolean save(Passenger p, String failureMessage) {
+        DatabaseService.UpdateResult result = db.updateSeatIfVersion(flightId, seatNumber, p, seatVersion); // autosaves
+        switch (result) {
+            case UPDATED:
+                return true;
+            case CONFLICT:
+                JOptionPane.showMessageDialog(this,
+                        "Seat " + seatNumber + " was changed by someone else while you were editing.\n"
+                                + "The latest values are now shown; review them and save again.",
+                        "Seat changed", JOptionPane.WARNING_MESSAGE);
+                clearInvalidHighlights();
+                loadExistingValues();
+                return false;
+            default:
+                JOptionPane.showMessageDialog(this, failureMessage, "Error", JOptionPane.ERROR_MESSAGE);
+                return false;
+        }
+    }
+
     private void wireKeyShortcuts() {
         // Enter = Save, Esc = Cancel
         getRootPane().setDefaultButton(saveBtn);
@@ -0,0 +1,231 @@
+package airlines;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * SeatMapPanel - graphical cabin grid (rows x seat letters) with colour-coded status.
+ * - The whole grid is rendered once into a cached BufferedImage
+ * - paintComponent only blits the clipped region of that image
+ * - refresh() compares statuses and redraws/repaints only the changed seat cells
+ * - Click on a seat -> onSeatClicked callback (SeatsFrame opens SeatEditorDialog)
+ */
+public class SeatMapPanel extends JComponent implements Scrollable {
+
+    private static final int CELL_W = 30;
+    private static final int CELL_H = 24;
+    private static final int GAP = 4;
+    private static final int LEFT = 44;   // room for row labels
+    private static final int TOP = 24;    // room for letter labels
+
+    private static final Color AVAILABLE_COLOR = new Color(120, 196, 120);
+    private static final Color BOOKED_COLOR = new Color(214, 96, 96);
+    private static final Color EMPTY_COLOR = new Color(236, 236, 236);
+
+    private final Consumer<String> onSeatClicked;
+
+    // Layout: rows (sorted) x letters (sorted); cell index = rowIdx * letters + colIdx
+    private int[] rows = new int[0];
+    private String[] letters = new String[0];
+    private String[] cellSeat = new String[0];        // seatNumber per cell, null = no seat
+    private SeatStatus[] cellStatus = new SeatStatus[0];
+    private final Map<String, Integer> cellBySeat = new HashMap<>();
+
+    private BufferedImage image; // cached rendering of the full grid
+
+    public SeatMapPanel(Consumer<String> onSeatClicked) {
+        this.onSeatClicked = onSeatClicked;
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setToolTipText(""); // enables getToolTipText(MouseEvent)
+
+        addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) {
+                int cell = cellAt(e.getX(), e.getY());
+                if (cell >= 0 && cellSeat[cell] != null && SeatMapPanel.this.onSeatClicked != null) {
+                    SeatMapPanel.this.onSeatClicked.accept(cellSeat[cell]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Bring the map in sync with the given seats. If the seat layout is unchanged,
+     * only cells whose status changed are redrawn and repainted; otherwise the
+     * layout and cached image are rebuilt.
+     */
+    public void refresh(List<Seat> seats) {
+        if (!sameLayout(seats)) {
+            rebuild(seats);
+            return;
+        }
+        for (Seat s : seats) {
+            Integer cell = cellBySeat.get(key(s.getSeatNumber()));
+            if (cell == null || cell < 0 || cellStatus[cell] == s.getStatus()) continue;
+            cellStatus[cell] = s.getStatus();
+            Graphics2D g = image.createGraphics();
+            try {
+                drawCell(g, cell);
+            } finally {
+                g.dispose();
+            }
+            repaint(cellBounds(cell));
+        }
+    }
+
+    // ---------- layout ----------
+
+    private boolean sameLayout(List<Seat> seats) {
+        if (image == null || seats.size() != cellBySeat.size()) return false;
+        for (Seat s : seats) {
+            if (!cellBySeat.containsKey(key(s.getSeatNumber()))) return false;
+        }
+        return true;
+    }
+
+    private void rebuild(List<Seat> seats) {
+        // Split "12A" into row 12 / letter "A"; seats that don't fit the pattern are skipped
+        TreeMap<Integer, Map<String, Seat>> byRow = new TreeMap<>();
+        TreeSet<String> letterSet = new TreeSet<>();
+        cellBySeat.clear();
+        for (Seat s : seats) {
+            String num = s.getSeatNumber();
+            int i = 0;
+            while (i < num.length() && Character.isDigit(num.charAt(i))) i++;
+            if (i == 0 || i == num.length() || i > 9) {
+                cellBySeat.put(key(num), -1); // known seat, just not drawable
+                continue;
+            }
+            int row = Integer.parseInt(num.substring(0, i));
+            String letter = num.substring(i).toUpperCase(Locale.ROOT);
+            byRow.computeIfAbsent(row, r -> new HashMap<>()).put(letter, s);
+            letterSet.add(letter);
+        }
+
+        rows = byRow.keySet().stream().mapToInt(Integer::intValue).toArray();
+        letters = letterSet.toArray(new String[0]);
+        int cells = rows.length * letters.length;
+        cellSeat = new String[cells];
+        cellStatus = new SeatStatus[cells];
+        for (int r = 0; r < rows.length; r++) {
+            Map<String, Seat> row = byRow.get(rows[r]);
+            for (int c = 0; c < letters.length; c++) {
+                Seat s = row.get(letters[c]);
+                if (s == null) continue;
+                int cell = r * letters.length + c;
+                cellSeat[cell] = s.getSeatNumber();
+                cellStatus[cell] = s.getStatus();
+                cellBySeat.put(key(s.getSeatNumber()), cell);
+            }
+        }
+
+        Dimension size = new Dimension(LEFT + letters.length * (CELL_W + GAP) + GAP,
+                                       TOP + rows.length * (CELL_H + GAP) + GAP);
+        image = new BufferedImage(Math.max(1, size.width), Math.max(1, size.height), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(getBackground());
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.setFont(getFont() != null ? getFont() : new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+            g.setColor(Color.DARK_GRAY);
+            FontMetrics fm = g.getFontMetrics();
+            for (int c = 0; c < letters.length; c++) {
+                int x = LEFT + c * (CELL_W + GAP) + (CELL_W - fm.stringWidth(letters[c])) / 2;
+                g.drawString(letters[c], x, TOP - 6);
+            }
+            for (int r = 0; r < rows.length; r++) {
+                String label = String.valueOf(rows[r]);
+                int y = TOP + r * (CELL_H + GAP) + (CELL_H + fm.getAscent()) / 2 - 2;
+                g.drawString(label, LEFT - GAP - 4 - fm.stringWidth(label), y);
+            }
+            for (int cell = 0; cell < cells; cell++) drawCell(g, cell);
+        } finally {
+            g.dispose();
+        }
+
+        setPreferredSize(size);
+        revalidate();
+        repaint();
+    }
+
+    // ---------- rendering ----------
+
+    private void drawCell(Graphics2D g, int cell) {
+        Rectangle r = cellBounds(cell);
+        if (cellSeat[cell] == null) {
+            g.setColor(EMPTY_COLOR);
+        } else {
+            g.setColor(cellStatus[cell] == SeatStatus.BOOKED ? BOOKED_COLOR : AVAILABLE_COLOR);
+        }
+        g.fillRoundRect(r.x, r.y, r.width, r.height, 6, 6);
+    }
+
+    private Rectangle cellBounds(int cell) {
+        int r = cell / letters.length;
+        int c = cell % letters.length;
+        return new Rectangle(LEFT + c * (CELL_W + GAP), TOP + r * (CELL_H + GAP), CELL_W, CELL_H);
+    }
+
+    /** Cell index under the point, or -1 when outside a seat rectangle. */
+    private int cellAt(int x, int y) {
+        if (letters.length == 0 || x < LEFT || y < TOP) return -1;
+        int c = (x - LEFT) / (CELL_W + GAP);
+        int r = (y - TOP) / (CELL_H + GAP);
+        if (c >= letters.length || r >= rows.length) return -1;
+        if ((x - LEFT) % (CELL_W + GAP) >= CELL_W || (y - TOP) % (CELL_H + GAP) >= CELL_H) return -1;
+        return r * letters.length + c;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // Swing clips to the dirty region, so this only copies the pixels being repainted
+        Rectangle clip = g.getClipBounds();
+        g.setColor(getBackground());
+        if (clip != null) g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (image != null) g.drawImage(image, 0, 0, null);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int cell = cellAt(e.getX(), e.getY());
+        if (cell < 0 || cellSeat[cell] == null) return null;
+        return cellSeat[cell] + " – " + cellStatus[cell].name();
+    }
+
+    private static String key(String seatNumber) {
+        return seatNumber.toUpperCase(Locale.ROOT);
+    }
+
+    // ---------- Scrollable ----------
+
+    @Override public Dimension getPreferredScrollableViewportSize() {
+        Dimension d = getPreferredSize();
+        return new Dimension(Math.min(d.width, 640), Math.min(d.height, 400));
+    }
+
+    @Override public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? CELL_H + GAP : CELL_W + GAP;
+    }
+
+    @Override public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override public boolean getScrollableTracksViewportWidth() {
+        return getParent() != null && getParent().getWidth() > getPreferredSize().width;
+    }
+
+    @Override public boolean getScrollableTracksViewportHeight() {
+        return getParent() != null && getParent().getHeight() > getPreferredSize().height;
+    }
+}
@@ -5,22 +5,28 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.List;
 
 public class SeatsFrame extends JFrame {
     private final DatabaseService db;
+    private final Navigator navigator;
     private final String flightId;
     private final String flightNumber;
 
     private final JTable table;
     private final DefaultTableModel model;
+    private final SeatMapPanel seatMap = new SeatMapPanel(this::openEditor); // click-to-edit
     private final JButton editBtn = new JButton("Edit Seat");
     private final JButton backBtn = new JButton("Back");
     private final JButton refreshBtn = new JButton("Refresh");
+    private long shownVersion = -1; // flight version currently in the table
 
-    public SeatsFrame(DatabaseService db, String flightId, String flightNumber) {
+    public SeatsFrame(DatabaseService db, Navigator navigator, String flightId, String flightNumber) {
         super("Seats – " + flightNumber + " (" + flightId + ")");
         this.db = db;
+        this.navigator = navigator;
         this.flightId = flightId;
         this.flightNumber = flightNumber;
 
@@ -39,7 +45,20 @@ public class SeatsFrame extends JFrame {
 
         setSize(800, 520);
         setLocationRelativeTo(null);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        // Closing the window behaves like Back: the frame stays cached by the Navigator
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override public void windowClosing(WindowEvent e) {
+                navigator.showHome();
+            }
+        });
+    }
+
+    /** Re-read seats into the existing table (called by Navigator when re-shown); no-op if the flight is unchanged. */
+    public void refresh() {
+        Flight f = db.snapshot().flight(flightId);
+        if (f != null && f.getVersion() == shownVersion) return;
+        loadSeats();
     }
 
     private JMenuBar buildMenuBar() {
@@ -80,10 +99,7 @@ public class SeatsFrame extends JFrame {
         editBtn.setEnabled(false);
         editBtn.addActionListener(e -> openEditorForSelected());
 
-        backBtn.addActionListener(e -> {
-            new HomeFrame(db).setVisible(true);
-            dispose();
-        });
+        backBtn.addActionListener(e -> navigator.showHome());
 
         refreshBtn.addActionListener(e -> loadSeats());
 
@@ -106,21 +122,31 @@ public class SeatsFrame extends JFrame {
         south.add(backBtn);
         south.add(editBtn);
 
+        // Seat map (graphical) and the original table, side by side as tabs
+        JScrollPane mapScroll = new JScrollPane(seatMap);
+        mapScroll.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Seat Map", mapScroll);
+        tabs.addTab("List", new JScrollPane(table));
+
         setLayout(new BorderLayout(8, 8));
         add(header, BorderLayout.NORTH);
-        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(tabs, BorderLayout.CENTER);
         add(south, BorderLayout.SOUTH);
         ((JComponent) getContentPane()).setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
     }
 
     private void loadSeats() {
         model.setRowCount(0);
-        List<Seat> seats = db.getSeats(flightId);
+        Flight flight = db.snapshot().flight(flightId); // one snapshot: seats and version agree
+        shownVersion = flight == null ? -1 : flight.getVersion();
+        List<Seat> seats = flight == null ? List.of() : flight.getSeats();
         for (Seat s : seats) {
             String name = s.getPassenger() == null ? "" : s.getPassenger().getFullName();
             String dob  = s.getPassenger() == null ? "" : s.getPassenger().getDateOfBirth();
             model.addRow(new Object[]{ s.getSeatNumber(), s.getStatus().name(), name, dob });
         }
+        seatMap.refresh(seats); // repaints only seats whose status changed
         editBtn.setEnabled(false);
     }
 
@@ -128,10 +154,12 @@ public class SeatsFrame extends JFrame {
         int viewRow = table.getSelectedRow();
         if (viewRow < 0) return;
         int row = table.convertRowIndexToModel(viewRow);
-        String seatNumber = (String) model.getValueAt(row, 0);
+        openEditor((String) model.getValueAt(row, 0));
+    }
 
+    private void openEditor(String seatNumber) {
         SeatEditorDialog dlg = new SeatEditorDialog(this, db, flightId, flightNumber, seatNumber);
         dlg.openModal();
-        loadSeats();
+        refresh(); // cancelled or unchanged -> table is kept as is
     }
 }
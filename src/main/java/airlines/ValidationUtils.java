@@ -1,29 +1,77 @@
 package airlines;
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.time.ZoneId;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+/**
+ * Field validators used by the dialogs and bulk paths.
+ * Hand-rolled char scanning (no String.matches / regex compile per call, no
+ * allocation); the DOB check compares against a cached "today" that rolls over
+ * at local midnight.
+ */
 public final class ValidationUtils {
     private ValidationUtils() {}
 
     /** Non-empty, trims, allows letters, spaces, hyphens, apostrophes. */
     public static boolean isValidName(String s) {
         if (s == null) return false;
-        String t = s.trim();
-        if (t.isEmpty()) return false;
-        return t.matches("[A-Za-z\\p{L}][A-Za-z\\p{L}'\\- ]*");
+        int start = trimStart(s), end = trimEnd(s, start);
+        if (start == end) return false;
+        // first code point must be a letter (\p{L}), the rest letters or ' - space
+        int cp = s.codePointAt(start);
+        if (!Character.isLetter(cp)) return false;
+        for (int i = start + Character.charCount(cp); i < end; i += Character.charCount(cp)) {
+            cp = s.codePointAt(i);
+            if (!Character.isLetter(cp) && cp != '\'' && cp != '-' && cp != ' ') return false;
+        }
+        return true;
     }
 
     /** yyyy-MM-dd, real calendar date, not in the future. */
     public static boolean isValidDobIso(String s) {
-        if (s == null || !s.matches("\\d{4}-\\d{2}-\\d{2}")) return false;
-        try {
-            LocalDate d = LocalDate.parse(s);
-            return !d.isAfter(LocalDate.now());
-        } catch (DateTimeParseException ex) {
-            return false;
+        int packed = packedDate(s);
+        return packed >= 0 && packed <= todayPacked();
+    }
+
+    /** yyyy-MM-dd (real calendar date) packed as yyyyMMdd without allocating; -1 if invalid. */
+    static int packedDate(String s) {
+        if (s == null || s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') return -1;
+        int year = digits(s, 0, 4), month = digits(s, 5, 7), day = digits(s, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) return -1;
+        if (day > lengthOfMonth(year, month)) return -1;
+        return year * 10000 + month * 100 + day;
+    }
+
+    // --------------------------------------------------------------------
+    // Cached "today" for DOB checks
+    // --------------------------------------------------------------------
+
+    /** Today's local date as yyyyMMdd plus the instant (epoch millis) it stops being today. */
+    private record Today(int packed, long rollAtMillis) {}
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+    private static volatile Today today = new Today(0, Long.MIN_VALUE); // forces first computation
+
+    /** Today's local date packed as yyyyMMdd; recomputed only after local midnight. */
+    static int todayPacked() {
+        Clock c = clock;
+        Today t = today;
+        if (c.millis() >= t.rollAtMillis()) {
+            ZoneId zone = c.getZone();
+            LocalDate now = LocalDate.now(c);
+            long roll = now.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            t = new Today(now.getYear() * 10000 + now.getMonthValue() * 100 + now.getDayOfMonth(), roll);
+            today = t;
         }
+        return t.packed();
+    }
+
+    /** Test hook: swap the clock used for "today" (null restores the system clock). */
+    static void setClock(Clock c) {
+        clock = c == null ? Clock.systemDefaultZone() : c;
+        today = new Today(0, Long.MIN_VALUE);
     }
 
     // --------------------------------------------------------------------
@@ -33,17 +81,35 @@ public final class ValidationUtils {
     /** Flight ID: required, alphanumeric + dashes allowed (e.g., F003, INTL-01). */
     public static boolean isValidFlightId(String id) {
         if (id == null) return false;
-        String t = id.trim();
-        if (t.isEmpty()) return false;
-        return t.matches("[A-Za-z0-9\\-]+");
+        int start = trimStart(id), end = trimEnd(id, start);
+        if (start == end) return false;
+        for (int i = start; i < end; i++) {
+            char c = id.charAt(i);
+            if (!isAsciiLetter(c) && !isDigit(c) && c != '-') return false;
+        }
+        return true;
     }
 
     /** Flight number: recommended simple rule "NU" + digits (e.g., NU310). */
     public static boolean isValidFlightNumber(String num) {
         if (num == null) return false;
-        String t = num.trim();
-        if (t.isEmpty()) return false;
-        return t.matches("NU\\d+");
+        int start = trimStart(num), end = trimEnd(num, start);
+        if (end - start < 3 || num.charAt(start) != 'N' || num.charAt(start + 1) != 'U') return false;
+        for (int i = start + 2; i < end; i++) {
+            if (!isDigit(num.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /** Airport code: exactly 3 ASCII letters after trimming (e.g., SAN, jfk). */
+    public static boolean isValidAirportCode(String code) {
+        if (code == null) return false;
+        int start = trimStart(code), end = trimEnd(code, start);
+        if (end - start != 3) return false;
+        for (int i = start; i < end; i++) {
+            if (!isAsciiLetter(code.charAt(i))) return false;
+        }
+        return true;
     }
 
     /** Row range: start >= 1, end >= start (<= 200 rows). */
@@ -71,4 +137,51 @@ public final class ValidationUtils {
         if (out.size() != t.length()) return new LinkedHashSet<>();
         return out;
     }
+
+    // --------------------------------------------------------------------
+    // Scanning helpers (same whitespace rule as String.trim: chars <= ' ')
+    // --------------------------------------------------------------------
+
+    private static int trimStart(String s) {
+        int i = 0;
+        while (i < s.length() && s.charAt(i) <= ' ') i++;
+        return i;
+    }
+
+    private static int trimEnd(String s, int start) {
+        int end = s.length();
+        while (end > start && s.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    /** Parses ASCII digits in [from, to); -1 if any char is not 0-9. */
+    private static int digits(String s, int from, int to) {
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4: case 6: case 9: case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
 }
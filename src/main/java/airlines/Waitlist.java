@@ -0,0 +1,221 @@
+package airlines;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Waitlist - per-flight queues of passengers waiting for a seat.
+ * - One binary heap (PriorityQueue) per flight, ordered by tier (0 = highest),
+ *   then request time, then arrival order: promoting the head on a release is
+ *   O(log n), however many cancellations arrive at once
+ * - Next to each heap, a passenger -> entry map: duplicate checks and removals are
+ *   O(1); a removed entry stays in the heap and is skipped when it reaches the head
+ * - DatabaseService polls the head when a seat is released and books it into that
+ *   seat in the same copy-on-write step, so the seat is never seen free; a passenger
+ *   who books a seat on the flight is removed, so nobody seated is ever at the head
+ * - Persisted to a sidecar file (one tab-separated line per entry) that is rewritten
+ *   on save() after the database file; on load, entries whose passenger already
+ *   holds a seat on the flight are dropped, so a crash between the two writes never
+ *   promotes someone twice
+ * - Not thread-safe; DatabaseService uses it under its own lock
+ */
+public final class Waitlist {
+
+    private static final String SOURCE = "Waitlist";
+
+    /** One waiting passenger; seq keeps equal (tier, time) entries in join order. */
+    public record Entry(Passenger passenger, int tier, long requestedAt, long seq) {}
+
+    static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::tier)
+            .thenComparingLong(Entry::requestedAt)
+            .thenComparingLong(Entry::seq);
+
+    private final Path file; // null = in memory only
+    private final LongSupplier clock;
+    private final Map<String, Queue> queues = new HashMap<>(); // key: upper-case flight id
+    private long nextSeq;
+    private boolean dirty;
+
+    Waitlist(Path file) {
+        this(file, System::currentTimeMillis);
+    }
+
+    Waitlist(Path file, LongSupplier clock) {
+        this.file = file;
+        this.clock = clock;
+    }
+
+    private static String key(String flightId) {
+        return flightId.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /** One flight's queue: the heap plus the live entry of each waiting passenger. */
+    private static final class Queue {
+        final PriorityQueue<Entry> heap = new PriorityQueue<>(ORDER);
+        final Map<Passenger, Entry> waiting = new HashMap<>();
+
+        /** Head of the heap after dropping removed entries (amortized O(log n)). */
+        Entry head() {
+            Entry e;
+            while ((e = heap.peek()) != null && waiting.get(e.passenger()) != e) heap.poll();
+            return e;
+        }
+    }
+
+    /**
+     * Queue a passenger for a flight (O(log n)).
+     * @return the new entry, or null if the passenger is already waiting for it
+     */
+    Entry add(String flightId, Passenger passenger, int tier) {
+        Queue q = queues.computeIfAbsent(key(flightId), k -> new Queue());
+        if (q.waiting.containsKey(passenger)) return null;
+        Entry e = new Entry(passenger, tier, clock.getAsLong(), nextSeq++);
+        q.heap.add(e);
+        q.waiting.put(passenger, e);
+        dirty = true;
+        return e;
+    }
+
+    /** Remove a passenger from a flight's queue (O(1)); false if not waiting. */
+    boolean remove(String flightId, Passenger passenger) {
+        Queue q = queues.get(key(flightId));
+        if (q == null || q.waiting.remove(passenger) == null) return false;
+        dirty = true;
+        return true;
+    }
+
+    /** Next passenger to promote, or null if nobody waits. */
+    Entry peek(String flightId) {
+        Queue q = queues.get(key(flightId));
+        return q == null ? null : q.head();
+    }
+
+    /** Take the head of the queue (O(log n)); null if empty. */
+    Entry poll(String flightId) {
+        Queue q = queues.get(key(flightId));
+        Entry e = q == null ? null : q.head();
+        if (e == null) return null;
+        q.heap.poll();
+        q.waiting.remove(e.passenger());
+        dirty = true;
+        return e;
+    }
+
+    /** Drop a flight's whole queue (flight deleted). */
+    void clear(String flightId) {
+        if (queues.remove(key(flightId)) != null) dirty = true;
+    }
+
+    int size(String flightId) {
+        Queue q = queues.get(key(flightId));
+        return q == null ? 0 : q.waiting.size();
+    }
+
+    /** Entries in promotion order (a sorted copy; O(n log n)). */
+    List<Entry> entries(String flightId) {
+        Queue q = queues.get(key(flightId));
+        if (q == null) return List.of();
+        List<Entry> out = new ArrayList<>(q.waiting.values());
+        out.sort(ORDER);
+        return out;
+    }
+
+    // ---------- persistence ----------
+
+    /** Rewrite the sidecar if anything changed since the last write. */
+    boolean write() {
+        if (file == null || !dirty) return true;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Queue> q : queues.entrySet()) {
+                    for (Entry e : q.getValue().waiting.values()) {
+                        Passenger p = e.passenger();
+                        out.write(q.getKey() + '\t' + e.tier() + '\t' + e.requestedAt() + '\t' + e.seq() + '\t'
+                                + p.getFirstName() + '\t' + p.getLastName() + '\t' + p.getDateOfBirth());
+                        out.newLine();
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+            return true;
+        } catch (IOException ex) {
+            Log.error(SOURCE, "Could not write " + file + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Replace the queues with the sidecar's content, keeping only entries for existing
+     * flights whose passenger does not already hold a seat there.
+     */
+    void read(FlightSnapshot snapshot) {
+        queues.clear();
+        nextSeq = 0;
+        dirty = false;
+        if (file == null || !Files.exists(file)) return;
+        int bad = 0;
+        int dropped = 0;
+        Map<String, Set<Passenger>> seated = new HashMap<>(); // per flight, built on first entry
+        try {
+            for (String l : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = l.split("\t", -1);
+                Entry e;
+                try {
+                    if (parts.length != 7) throw new NumberFormatException();
+                    e = new Entry(new Passenger(parts[4], parts[5], parts[6]),
+                            Integer.parseInt(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+                } catch (NumberFormatException ex) {
+                    bad++;
+                    continue;
+                }
+                Flight f = snapshot.flight(parts[0]);
+                if (f == null || seated.computeIfAbsent(key(parts[0]), k -> passengers(f)).contains(e.passenger())) {
+                    dropped++;
+                    continue;
+                }
+                Queue q = queues.computeIfAbsent(key(parts[0]), k -> new Queue());
+                if (q.waiting.putIfAbsent(e.passenger(), e) == null) q.heap.add(e);
+                nextSeq = Math.max(nextSeq, e.seq() + 1);
+            }
+        } catch (IOException ex) {
+            Log.error(SOURCE, "Could not read " + file + ": " + ex.getMessage());
+            return;
+        }
+        if (bad > 0) Log.warn(SOURCE, "Skipped " + bad + " malformed lines in " + file);
+        if (dropped > 0) {
+            dirty = true; // rewritten by the next save
+            Log.info(SOURCE, "Dropped " + dropped + " entries for deleted flights or seated passengers");
+        }
+    }
+
+    /** True if p holds a seat on f (a seat scan; used when joining, not when promoting). */
+    static boolean holdsSeat(Flight f, Passenger p) {
+        for (Seat s : f.getSeats()) {
+            if (p.equals(s.getPassenger())) return true;
+        }
+        return false;
+    }
+
+    private static Set<Passenger> passengers(Flight f) {
+        Set<Passenger> out = new HashSet<>();
+        for (Seat s : f.getSeats()) {
+            if (s.getPassenger() != null) out.add(s.getPassenger());
+        }
+        return out;
+    }
+}
@@ -17,6 +17,28 @@ import org.junit.jupiter.api.Test;
  * - FileStorageTest: Tests for the FileStorage class
  * - DatabaseServiceTest: Tests for the DatabaseService class
  * - FlightPersistenceTest: Tests for flight persistence functionality
+ * - FlightFilterModelTest: Tests for the HomeFrame type-ahead filter model
+ * - FlightListModelTest: Tests for the read-through HomeFrame list model
+ * - DatasetGeneratorTest: Tests for the synthetic benchmark/load-test dataset generator
+ * - LatencyHistogramTest: Tests for the lock-free latency histogram
+ * - LoadTestDriverTest: Tests for the large-database generator and load driver
+ * - MetricsTest: Tests for the operation counters and latency histograms
+ * - JfrEventsTest: Tests for the Flight Recorder events emitted by the database
+ * - LogTest: Tests for log levels, rate limiting and the non-blocking appender
+ * - BookingServerTest: Tests for the headless HTTP API, including a loopback load burst
+ * - BookingWriterTest: Tests for the single-writer command queue, batching, snapshots and backpressure
+ * - FlightVectorTest: Tests for the persistent flight vector
+ * - FlightSnapshotTest: Tests for copy-on-write snapshots and lock-free lookups
+ * - IdempotencyCacheTest: Tests for idempotency keys, expiry and the sidecar file
+ * - ScheduleIndexTest: Tests for departure-time range queries
+ * - RouteGraphTest: Tests for multi-leg connection searches
+ * - FareInventoryTest: Tests for nested fare-class inventory
+ * - WaitlistTest: Tests for flight waitlists and promotion on release
+ * - ManifestExporterTest: Tests for streaming passenger manifests
+ * - OccupancyAnalyticsTest: Tests for fleet-wide load factors and age buckets
+ * - FlightArchiveTest: Tests for archiving departed flights to GZIP segments
+ * - FlightImporterTest: Tests for bulk schedule imports
+ * - BookingImporterTest: Tests for bulk passenger list imports
  */
 public class AllTestsSuite {
     
@@ -0,0 +1,131 @@
+package airlines;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BookingImporterTest {
+
+    private static final Passenger JOHN = new Passenger("John", "Doe", "1990-01-01");
+
+    @TempDir
+    Path tempDir;
+
+    private static BookingImporter.Report run(DatabaseService db, String... lines) throws IOException {
+        return BookingImporter.importFrom(db, new BufferedReader(new StringReader(String.join("\n", lines))));
+    }
+
+    @Test
+    void booksValidRowsAndReportsConflicts() throws IOException {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        assertTrue(db.bookSeat("F001", "1A", JOHN));
+        assertTrue(db.setFareClasses("F002", "YM", new int[]{16, 1}));
+        long version = db.snapshot().version();
+
+        BookingImporter.Report r = run(db,
+                "# flightId,seatNumber,firstName,lastName,dateOfBirth,fareClass",
+                "F001,1B,Ann,Lee,1985-05-05",
+                "f002,1a,Bob,Ray,1970-07-07,m",
+                "F001,1A,John,Doe,1990-01-01",   // already his: unchanged
+                "F001,1A,Eve,Max,1991-01-01",    // someone else's
+                "F001,1B,Eve,Max,1991-01-01",    // taken by line 2
+                "F002,1B,Eve,Max,1991-01-01,M",  // M sold out by line 3
+                "F002,1C,Eve,Max,1991-01-01,Q",
+                "F001,99Z,Eve,Max,1991-01-01",
+                "F999,1A,Eve,Max,1991-01-01",
+                "F001,2A,Eve,M4x,1991-01-01",
+                "F001,2A,Eve,Max,2999-01-01",
+                "F001,2A,Eve,Max",
+                "F002,2A,Eve,Max,1991-01-01,MM");
+        assertEquals(13, r.rows());
+        assertEquals(2, r.booked());
+        assertEquals(1, r.unchanged());
+        assertTrue(r.saved());
+        assertEquals(List.of("seat already booked", "seat already booked", "fare class not available",
+                        "fare class not available", "seat not found", "flight not found", "invalid name",
+                        "invalid date of birth", "expected 5 or 6 columns, got 4", "fare class must be one letter"),
+                r.errors().stream().map(BookingImporter.RowError::message).toList());
+        assertEquals(5L, r.errors().get(0).line());
+
+        Flight f1 = db.snapshot().flight("F001");
+        assertEquals("Ann Lee", f1.getSeat("1B").getPassenger().getFullName());
+        assertEquals(version + 1, f1.getVersion()); // one publish per flight
+        assertEquals(version + 2, db.snapshot().flight("F002").getVersion());
+        assertEquals('M', db.snapshot().flight("F002").getSeat("1A").getFareClass());
+        assertEquals(0, db.getFareAvailability("F002", 'M'));
+
+        DatabaseService reloaded = new DatabaseService(path);
+        assertEquals(2, reloaded.getBookedCount("F001"));
+        assertEquals(1, reloaded.getBookedCount("F002"));
+    }
+
+    @Test
+    void resendingAListChangesNothing() throws IOException {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        String[] list = {"F001,1A,Ann,Lee,1985-05-05", "F001,1B,Bob,Ray,1970-07-07"};
+        assertTrue(run(db, list).ok());
+        long version = db.snapshot().version();
+        BookingImporter.Report again = run(db, list);
+        assertTrue(again.ok());
+        assertEquals(0, again.booked());
+        assertEquals(2, again.unchanged());
+        assertEquals(version, db.snapshot().version());
+    }
+
+    @Test
+    void failedSaveBooksNothing() throws IOException {
+        Path file = tempDir.resolve("db.txt");
+        DatabaseService db = new DatabaseService(file.toString());
+        Passenger ann = new Passenger("Ann", "Lee", "1985-05-05");
+        assertTrue(db.joinWaitlist("F001", ann, 0));
+        long version = db.snapshot().version();
+        Files.delete(file);
+        Files.createDirectory(file); // every save fails from here on
+
+        BookingImporter.Report r = run(db, "F001,1A,Ann,Lee,1985-05-05", "F002,1A,Bob,Ray,1970-07-07", "F001,99Z,Eve,Max,1991-01-01");
+        assertFalse(r.saved());
+        assertEquals(0, r.booked());
+        assertEquals(1, r.errors().size());
+        assertFalse(db.findSeat("F001", "1A").isBooked()); // not left in memory for the next save to pick up
+        assertFalse(db.findSeat("F002", "1A").isBooked());
+        assertEquals(1, db.getWaitlistSize("F001"));     // booking had taken her off the waitlist
+        assertTrue(db.snapshot().version() > version);
+
+        Files.delete(file);
+        assertEquals(2, run(db, "F001,1A,Ann,Lee,1985-05-05", "F002,1A,Bob,Ray,1970-07-07").booked());
+        assertEquals(1, new DatabaseService(file.toString()).getBookedCount("F002"));
+    }
+
+    @Test
+    void importsHundredsOfThousandsOfRows() throws IOException { // throughput: ImportBenchmark (mvn -P jmh verify)
+        Path data = tempDir.resolve("db.txt");
+        DatasetGenerator.generateTo(data, 400, 50, new char[]{'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'J', 'K'}, 0.0, 3);
+        DatabaseService db = new DatabaseService(data.toString());
+        Path list = tempDir.resolve("pnl.csv");
+        StringBuilder sb = new StringBuilder();
+        for (Flight f : db.getFlights()) {
+            for (Seat s : f.getSeats()) {
+                sb.append(f.getId()).append(',').append(s.getSeatNumber()).append(",Pax,Doe,1980-02-03\n");
+            }
+        }
+        Files.writeString(list, sb, StandardCharsets.UTF_8);
+
+        BookingImporter.Report warm = BookingImporter.importFile(db, list); // books everything
+        assertEquals(200_000, warm.booked());
+        BookingImporter.Report r = BookingImporter.importFile(db, list);    // same rows, all unchanged
+        assertEquals(200_000, r.unchanged());
+        assertTrue(r.errors().isEmpty());
+        assertFalse(db.snapshot().flights().stream().anyMatch(f -> f.getAvailableCount() > 0));
+    }
+}
@@ -0,0 +1,209 @@
+package airlines;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BookingServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseService db;
+    private BookingServer server;
+    private HttpClient client;
+    private URI base;
+
+    @BeforeEach
+    void start() throws Exception {
+        db = new DatabaseService(tempDir.resolve("db.txt").toString()); // F001 (30 seats), F002 (16 seats)
+        server = new BookingServer(db, "127.0.0.1", 0, 4096);
+        server.start();
+        base = URI.create("http://127.0.0.1:" + server.port());
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body);
+        return client.send(HttpRequest.newBuilder(base.resolve(path)).method(method, publisher).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static final String JOHN = "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"dateOfBirth\":\"1990-01-01\"}";
+
+    @Test
+    void listsFlightsAndSeats() throws Exception {
+        HttpResponse<String> flights = send("GET", "/flights", null);
+        assertEquals(200, flights.statusCode());
+        assertEquals("[{\"id\":\"F001\",\"number\":\"NU100\",\"seats\":30,\"booked\":0,\"version\":1},"
+                + "{\"id\":\"F002\",\"number\":\"NU245\",\"seats\":16,\"booked\":0,\"version\":1}]", flights.body());
+        assertTrue(flights.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+
+        HttpResponse<String> seats = send("GET", "/flights/F002/seats", null);
+        assertEquals(200, seats.statusCode());
+        assertTrue(seats.body().startsWith("[{\"seat\":\"1A\",\"status\":\"AVAILABLE\",\"passenger\":null,\"version\":1}"));
+        assertEquals(404, send("GET", "/flights/NOPE/seats", null).statusCode());
+    }
+
+    @Test
+    void booksAndReleasesSeats() throws Exception {
+        assertEquals(200, send("POST", "/flights/F001/seats/1A/book", JOHN).statusCode());
+        assertEquals(409, send("POST", "/flights/F001/seats/1A/book", JOHN).statusCode());
+        assertEquals(404, send("POST", "/flights/F001/seats/99Z/book", JOHN).statusCode());
+        assertEquals(400, send("POST", "/flights/F001/seats/1B/book",
+                "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"dateOfBirth\":\"2999-01-01\"}").statusCode());
+        assertEquals(400, send("POST", "/flights/F001/seats/1B/book", "not json").statusCode());
+        assertEquals("John", db.getSeats("F001").get(0).getPassenger().getFirstName());
+
+        assertEquals(200, send("POST", "/flights/F001/seats/1A/release", null).statusCode());
+        assertNull(db.getSeats("F001").get(0).getPassenger());
+        assertEquals(405, send("GET", "/flights/F001/seats/1A/release", null).statusCode());
+    }
+
+    @Test
+    void idempotencyKeyTurnsRetriesIntoReplays() throws Exception {
+        HttpRequest.Builder book = HttpRequest.newBuilder(base.resolve("/flights/F001/seats/3A/book"))
+                .header("Idempotency-Key", "client-42").POST(HttpRequest.BodyPublishers.ofString(JOHN));
+        assertEquals(200, client.send(book.build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(200, client.send(book.build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(409, send("POST", "/flights/F001/seats/3A/book", JOHN).statusCode());
+        HttpRequest bad = HttpRequest.newBuilder(base.resolve("/flights/F001/seats/3B/book"))
+                .header("Idempotency-Key", "x".repeat(200)).POST(HttpRequest.BodyPublishers.ofString(JOHN)).build();
+        assertEquals(400, client.send(bad, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    void reusedKeyAndFailedSaveAreNotConflicts() throws Exception {
+        HttpRequest.Builder book = HttpRequest.newBuilder(base.resolve("/flights/F001/seats/4A/book"))
+                .header("Idempotency-Key", "client-43").POST(HttpRequest.BodyPublishers.ofString(JOHN));
+        assertEquals(200, client.send(book.build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        HttpRequest other = HttpRequest.newBuilder(base.resolve("/flights/F001/seats/4B/book"))
+                .header("Idempotency-Key", "client-43").POST(HttpRequest.BodyPublishers.ofString(JOHN)).build();
+        assertEquals(422, client.send(other, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        Path file = tempDir.resolve("db.txt");
+        Files.delete(file);
+        Files.createDirectory(file); // every save fails from here on
+        HttpResponse<String> failed = send("POST", "/flights/F001/seats/4C/book", JOHN);
+        assertEquals(503, failed.statusCode());
+        assertNotNull(failed.headers().firstValue("Retry-After").orElse(null));
+        assertEquals(503, send("POST", "/flights/F001/seats/4A/release", null).statusCode());
+        assertNull(db.findSeat("F001", "4C").getPassenger()); // rolled back, so a retry can still win
+        assertNotNull(db.findSeat("F001", "4A").getPassenger());
+    }
+
+    @Test
+    void writerBatchFailureIsAnInternalError() throws Exception {
+        DatabaseService failing = new DatabaseService(tempDir.resolve("failing.txt").toString()) {
+            @Override
+            boolean commit() {
+                throw new IllegalStateException("disk on fire");
+            }
+        };
+        BookingServer other = new BookingServer(failing, "127.0.0.1", 0, 16);
+        other.start();
+        try {
+            HttpResponse<String> r = client.send(HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + other.port() + "/flights/F001/seats/1A/book"))
+                    .POST(HttpRequest.BodyPublishers.ofString(JOHN)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(500, r.statusCode());
+            assertTrue(r.body().contains("internal error"));
+        } finally {
+            other.stop(0);
+        }
+    }
+
+    @Test
+    void addsAndDeletesFlights() throws Exception {
+        String body = "{\"id\":\"H001\",\"number\":\"NU700\",\"startRow\":1,\"endRow\":3,\"letters\":\"ab\"}";
+        assertEquals(201, send("POST", "/flights", body).statusCode());
+        assertEquals(409, send("POST", "/flights", body).statusCode());
+        assertEquals(6, db.getSeats("H001").size());
+        assertEquals(400, send("POST", "/flights",
+                "{\"id\":\"H002\",\"number\":\"XX1\",\"startRow\":1,\"endRow\":3,\"letters\":\"AB\"}").statusCode());
+        assertEquals(400, send("POST", "/flights",
+                "{\"id\":\"H002\",\"number\":\"NU1\",\"startRow\":\"x\",\"endRow\":3,\"letters\":\"AB\"}").statusCode());
+
+        assertEquals(200, send("DELETE", "/flights/H001", null).statusCode());
+        assertEquals(404, send("DELETE", "/flights/H001", null).statusCode());
+        assertEquals(405, send("PUT", "/flights", "{}").statusCode());
+        assertEquals(404, send("GET", "/flights/F001/crew", null).statusCode());
+    }
+
+    @Test
+    void thousandsOfConcurrentRequestsOverLoopback() throws Exception {
+        // 3000 requests in flight at once: bookings race for the same 46 seats, lookups interleave
+        SplittableRandom rnd = new SplittableRandom(7);
+        List<CompletableFuture<HttpResponse<Void>>> books = new ArrayList<>();
+        List<CompletableFuture<HttpResponse<Void>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String flight = rnd.nextBoolean() ? "F001" : "F002";
+            int rows = flight.equals("F001") ? 5 : 4;
+            String seat = (1 + rnd.nextInt(rows)) + "" + (char) ('A' + rnd.nextInt(rows == 5 ? 6 : 4));
+            HttpRequest req = i % 3 == 0
+                    ? HttpRequest.newBuilder(base.resolve("/flights/" + flight + "/seats")).GET().build()
+                    : HttpRequest.newBuilder(base.resolve("/flights/" + flight + "/seats/" + seat + "/book"))
+                            .POST(HttpRequest.BodyPublishers.ofString(JOHN)).build();
+            (i % 3 == 0 ? lookups : books).add(client.sendAsync(req, HttpResponse.BodyHandlers.discarding()));
+        }
+        int booked = 0;
+        for (CompletableFuture<HttpResponse<Void>> f : books) {
+            int status = f.join().statusCode();
+            assertTrue(status == 200 || status == 409, "status " + status);
+            if (status == 200) booked++;
+        }
+        for (CompletableFuture<HttpResponse<Void>> f : lookups) assertEquals(200, f.join().statusCode());
+
+        // every seat was won by exactly one request
+        int bookedSeats = 0;
+        for (Flight f : db.getFlights()) for (Seat s : f.getSeats()) if (s.isBooked()) bookedSeats++;
+        assertEquals(bookedSeats, booked);
+        assertEquals(46, booked);
+    }
+
+    @Test
+    void loadDriverRunsAgainstServer() throws Exception {
+        LoadTestDriver.Report r = LoadTestDriver.runHttp(base, new LoadTestDriver.Config(200, 1, 0, 30, 20, 3L));
+        assertTrue(r.all.getCount() > 0);
+        assertEquals(0, r.failures.get());
+    }
+
+    @Test
+    void jsonObjectsRoundTrip() {
+        StringBuilder sb = new StringBuilder("{\"name\":");
+        Json.string(sb, "O'Connor \"Jr\"\n\\").append(",\"n\":12,\"ok\":true,\"none\":null}");
+        Map<String, String> m = Json.parseObject(sb.toString());
+        assertEquals("O'Connor \"Jr\"\n\\", m.get("name"));
+        assertEquals("12", m.get("n"));
+        assertEquals("true", m.get("ok"));
+        assertTrue(m.containsKey("none"));
+        assertNull(m.get("none"));
+        assertNotNull(Json.parseObject(" { } "));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":[1]}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1} x"));
+    }
+}
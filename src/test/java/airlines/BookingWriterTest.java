@@ -0,0 +1,221 @@
+package airlines;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BookingWriterTest {
+
+    private static final Passenger JOHN = new Passenger("John", "Doe", "1990-01-01");
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseService newDb() {
+        return new DatabaseService(tempDir.resolve("db.txt").toString()); // F001 (30 seats), F002 (16 seats)
+    }
+
+    @Test
+    void commandsAreAppliedPersistedAndPublished() throws Exception {
+        DatabaseService db = newDb();
+        try (BookingWriter w = new BookingWriter(db)) {
+            assertTrue(w.bookSeat("F001", "1A", JOHN).join());
+            assertFalse(w.bookSeat("F001", "99Z", JOHN).join());
+            assertTrue(w.addFlight("W001", "NU500", 1, 2, new char[]{'A', 'B'}).join());
+            assertTrue(w.deleteFlight("F002").join());
+            assertFalse(w.deleteFlight("F002").join());
+
+            FlightSnapshot s = w.snapshot();
+            assertEquals(List.of("F001", "W001"), s.flights().stream().map(Flight::getId).toList());
+            assertTrue(s.flight("f001").getSeat("1A").isBooked()); // case-insensitive like the service
+            assertEquals(4, s.seats("W001").size());
+            assertTrue(s.seats("F002").isEmpty());
+        }
+        DatabaseService reloaded = newDb();
+        assertEquals(2, reloaded.getFlightCount());
+        assertEquals(JOHN, reloaded.getSeats("F001").get(0).getPassenger());
+    }
+
+    @Test
+    void snapshotsAreIsolatedAndShareUnchangedFlights() throws Exception {
+        DatabaseService db = newDb();
+        try (BookingWriter w = new BookingWriter(db)) {
+            FlightSnapshot before = w.snapshot();
+            assertTrue(w.bookSeat("F001", "2B", JOHN).join());
+            FlightSnapshot after = w.snapshot();
+
+            assertFalse(before.flight("F001").getSeat("2B").isBooked()); // old readers keep their view
+            assertTrue(after.flight("F001").getSeat("2B").isBooked());
+            assertNotSame(before.flight("F001"), after.flight("F001"));
+            assertSame(before.flight("F002"), after.flight("F002"));     // untouched flight is not copied
+            assertThrows(UnsupportedOperationException.class, () -> after.flights().remove(0));
+            assertTrue(after.version() > before.version());
+        }
+    }
+
+    @Test
+    void concurrentCommandsAreBatchedIntoFewSaves() throws Exception {
+        DatabaseService db = newDb();
+        List<String> seats = db.getSeats("F001").stream().map(Seat::getSeatNumber).toList();
+        try (BookingWriter w = new BookingWriter(db)) {
+            long saves = Metrics.count(Metrics.Op.SAVE);
+            long batches = w.batches();
+            List<CompletableFuture<Boolean>> results = new ArrayList<>();
+            Thread[] threads = new Thread[8];
+            for (int t = 0; t < threads.length; t++) {
+                int id = t;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        String seat = seats.get((id * 250 + i) % seats.size());
+                        CompletableFuture<Boolean> f = i % 2 == 0 ? w.bookSeat("F001", seat, JOHN)
+                                                                  : w.releaseSeat("F001", seat);
+                        synchronized (results) {
+                            results.add(f);
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread t : threads) t.join();
+            for (CompletableFuture<Boolean> f : results) assertTrue(f.join());
+
+            long used = w.batches() - batches;
+            assertEquals(2000, results.size());
+            assertTrue(used >= 1 && used < 2000, "batches " + used);
+            assertTrue(Metrics.count(Metrics.Op.SAVE) - saves >= used); // >= : other tests may save too
+        }
+    }
+
+    @Test
+    void bookIfAvailableHasExactlyOneWinner() throws Exception {
+        DatabaseService db = newDb();
+        try (BookingWriter w = new BookingWriter(db)) {
+            List<CompletableFuture<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(w.bookIfAvailable("F002", "3C", new Passenger("P", "N" + (char) ('a' + i % 26), "1990-01-01")));
+            }
+            assertEquals(1, results.stream().filter(CompletableFuture::join).count());
+            assertTrue(results.get(0).join()); // submission order decides
+            assertFalse(w.bookIfAvailable("F002", "99Z", JOHN).join());
+        }
+    }
+
+    @Test
+    void fullQueueRejectsOrBlocksThenRejects() throws Exception {
+        DatabaseService db = newDb();
+        try (BookingWriter reject = new BookingWriter(db, 1, BookingWriter.Backpressure.REJECT, 0, TimeUnit.SECONDS);
+             BookingWriter block = new BookingWriter(db, 1, BookingWriter.Backpressure.BLOCK, 50, TimeUnit.MILLISECONDS)) {
+            List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+            CompletableFuture<Boolean> rejected, timedOut;
+            long waited;
+            synchronized (db) { // stalls both writers inside their first batch
+                accepted.add(reject.bookSeat("F001", "1A", JOHN));
+                accepted.add(block.bookSeat("F001", "1B", JOHN));
+                while (reject.pending() > 0 || block.pending() > 0) Thread.onSpinWait();
+                accepted.add(reject.bookSeat("F001", "1C", JOHN)); // fills the single slot
+                accepted.add(block.bookSeat("F001", "1D", JOHN));
+                rejected = reject.bookSeat("F001", "1E", JOHN);
+                long t0 = System.nanoTime();
+                timedOut = block.bookSeat("F001", "1F", JOHN);
+                waited = System.nanoTime() - t0;
+            }
+            CompletionException e = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+            assertInstanceOf(RejectedExecutionException.class,
+                    assertThrows(CompletionException.class, timedOut::join).getCause());
+            assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(50), "BLOCK returned after " + waited + " ns");
+            assertEquals(1, reject.rejected());
+            assertEquals(1, block.rejected());
+            for (CompletableFuture<Boolean> f : accepted) assertTrue(f.join());
+        }
+    }
+
+    @Test
+    void closeDrainsQueueAndRejectsLaterCommands() throws Exception {
+        DatabaseService db = newDb();
+        BookingWriter w = new BookingWriter(db);
+        CompletableFuture<Boolean> queued = w.bookSeat("F001", "5F", JOHN);
+        w.close();
+        assertTrue(queued.join());
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(CompletionException.class, () -> w.bookSeat("F001", "5E", JOHN).join()).getCause());
+    }
+
+    @Test
+    void directServiceChangesAreVisibleImmediately() throws Exception {
+        DatabaseService db = newDb();
+        try (BookingWriter w = new BookingWriter(db)) {
+            assertNull(w.snapshot().flight("F002").getSeat("1A").getPassenger());
+            assertTrue(db.bookSeat("F002", "1A", JOHN)); // e.g. the Swing UI
+            assertNotNull(w.snapshot().flight("F002").getSeat("1A").getPassenger());
+        }
+    }
+
+    @Test
+    void failedSaveRollsTheBatchBack() throws Exception {
+        DatabaseService db = newDb();
+        Path file = tempDir.resolve("db.txt");
+        try (BookingWriter w = new BookingWriter(db)) {
+            assertTrue(w.bookSeat("F001", "1A", JOHN).join());
+            long version = w.snapshot().version();
+            Files.delete(file);
+            Files.createDirectory(file); // every save fails
+
+            assertEquals(BookingWriter.Result.SAVE_FAILED, w.book("F001", "1B", JOHN, "k1").join());
+            assertEquals(BookingWriter.Result.SAVE_FAILED, w.release("F001", "1A", null).join());
+            assertFalse(w.addFlight("W002", "NU501", 1, 1, new char[]{'A'}).join());
+            FlightSnapshot s = w.snapshot();
+            assertFalse(s.flight("F001").getSeat("1B").isBooked()); // nothing kept that was reported failed
+            assertTrue(s.flight("F001").getSeat("1A").isBooked());
+            assertNull(s.flight("W002"));
+            assertTrue(s.version() > version);
+
+            Files.delete(file);
+            assertEquals(BookingWriter.Result.UPDATED, w.book("F001", "1B", JOHN, "k1").join()); // key was not kept
+            assertEquals(BookingWriter.Result.UPDATED, w.book("F001", "1B", JOHN, "k1").join()); // now a replay
+            assertEquals(BookingWriter.Result.KEY_MISMATCH, w.release("F001", "1B", "k1").join());
+            assertEquals(BookingWriter.Result.CONFLICT, w.book("F001", "1B", JOHN, null).join());
+            assertEquals(BookingWriter.Result.NOT_FOUND, w.book("F001", "99Z", JOHN, null).join());
+        }
+        assertTrue(newDb().snapshot().flight("F001").getSeat("1B").isBooked());
+    }
+
+    @Test
+    void batchThatThrowsIsRolledBackBeforeItsFuturesFail() throws Exception {
+        boolean[] broken = {true};
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString()) {
+            @Override
+            boolean commit() {
+                if (broken[0]) throw new IllegalStateException("disk on fire");
+                return super.commit();
+            }
+        };
+        try (BookingWriter w = new BookingWriter(db)) {
+            CompletionException e = assertThrows(CompletionException.class,
+                    () -> w.book("F001", "1B", JOHN, "k1").join());
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertFalse(w.snapshot().flight("F001").getSeat("1B").isBooked()); // applied, then undone
+
+            broken[0] = false;
+            assertEquals(BookingWriter.Result.UPDATED, w.release("F001", "1C", "k1").join()); // key was not kept
+            assertEquals(BookingWriter.Result.KEY_MISMATCH, w.book("F001", "1B", JOHN, "k1").join());
+        }
+    }
+}
@@ -293,4 +293,92 @@ public class DatabaseServiceTest {
         }
         return null;
     }
+
+    @Test
+    void changesStampMonotonicVersionsOnFlightAndSeat() {
+        Flight before = db.snapshot().flight("F001");
+        long seat1B = before.getSeat("1B").getVersion();
+        long other = db.snapshot().flight("F002").getVersion();
+        assertTrue(before.getVersion() > 0);
+
+        assertTrue(db.bookSeat("F001", "1A", new Passenger("John", "Doe", "1990-01-01")));
+        Flight after = db.snapshot().flight("F001");
+        assertEquals(db.snapshot().version(), after.getVersion());
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(after.getVersion(), after.getSeat("1A").getVersion());
+        assertEquals(seat1B, after.getSeat("1B").getVersion());
+        assertEquals(other, db.snapshot().flight("F002").getVersion());
+        assertEquals(before.getVersion(), before.getSeat("1A").getVersion()); // old snapshot unchanged
+
+        assertTrue(db.addFlight("F100", "NU900", 1, 1, new char[]{'A'}));
+        assertTrue(db.snapshot().flight("F100").getVersion() > after.getVersion());
+    }
+
+    @Test
+    void updateSeatIfVersionRejectsStaleWriters() {
+        long read = db.snapshot().flight("F001").getSeat("1A").getVersion();
+        Passenger first = new Passenger("John", "Doe", "1990-01-01");
+        Passenger second = new Passenger("Jane", "Roe", "1991-02-02");
+
+        assertEquals(DatabaseService.UpdateResult.UPDATED, db.updateSeatIfVersion("F001", "1A", first, read));
+        // second agent loaded the same version before the first one saved
+        assertEquals(DatabaseService.UpdateResult.CONFLICT, db.updateSeatIfVersion("F001", "1A", second, read));
+        assertEquals("John", db.snapshot().flight("F001").getSeat("1A").getPassenger().getFirstName());
+
+        long fresh = db.snapshot().flight("F001").getSeat("1A").getVersion();
+        assertEquals(DatabaseService.UpdateResult.UPDATED, db.updateSeatIfVersion("F001", "1A", null, fresh));
+        assertFalse(db.snapshot().flight("F001").getSeat("1A").isBooked());
+        assertEquals(DatabaseService.UpdateResult.NOT_FOUND, db.updateSeatIfVersion("F001", "99Z", null, fresh));
+        assertEquals(DatabaseService.UpdateResult.NOT_FOUND, db.updateSeatIfVersion("NOPE", "1A", null, fresh));
+
+        // another seat on the same flight changing does not conflict
+        long seat1B = db.snapshot().flight("F001").getSeat("1B").getVersion();
+        assertTrue(db.bookSeat("F001", "1C", second));
+        assertEquals(DatabaseService.UpdateResult.UPDATED, db.updateSeatIfVersion("F001", "1B", second, seat1B));
+    }
+
+    @Test
+    void updateSeatIfVersionHasExactlyOneWinner() throws Exception {
+        long read = db.snapshot().flight("F001").getSeat("2A").getVersion();
+        java.util.concurrent.atomic.AtomicInteger winners = new java.util.concurrent.atomic.AtomicInteger();
+        Thread[] agents = new Thread[8];
+        for (int i = 0; i < agents.length; i++) {
+            Passenger p = new Passenger("Agent", "No" + (char) ('A' + i), "1990-01-01");
+            agents[i] = new Thread(() -> {
+                if (db.updateSeatIfVersion("F001", "2A", p, read) == DatabaseService.UpdateResult.UPDATED) {
+                    winners.incrementAndGet();
+                }
+            });
+            agents[i].start();
+        }
+        for (Thread t : agents) t.join();
+        assertEquals(1, winners.get());
+    }
+
+    @Test
+    void bookedCountsStayExactUnderConcurrentUpdates() throws Exception {
+        assertEquals(0, db.getBookedCount("F001"));
+        assertEquals(30, db.getAvailableCount("F001"));
+        assertEquals(-1, db.getBookedCount("NOPE"));
+        List<Seat> seats = db.getSeats("F001");
+        Thread[] agents = new Thread[6];
+        for (int i = 0; i < agents.length; i++) {
+            int agent = i;
+            agents[i] = new Thread(() -> {
+                for (int k = agent; k < seats.size(); k += agents.length) {
+                    String seat = seats.get(k).getSeatNumber();
+                    db.bookSeat("F001", seat, new Passenger("Agent", "Doe", "1990-01-01"));
+                    if (k % 3 == 0) db.releaseSeat("F001", seat);
+                }
+            });
+            agents[i].start();
+        }
+        for (Thread t : agents) t.join();
+        Flight f = db.snapshot().flight("F001");
+        long walked = f.getSeats().stream().filter(Seat::isBooked).count();
+        assertEquals(20, walked);
+        assertEquals(walked, f.getBookedCount());
+        assertEquals(10, db.getAvailableCount("F001"));
+        assertEquals(20, new DatabaseService(dbFilePath).getBookedCount("F001")); // counted again on load
+    }
 }
\ No newline at end of file
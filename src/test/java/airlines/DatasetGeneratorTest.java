@@ -0,0 +1,65 @@
+package airlines;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class DatasetGeneratorTest {
+
+    private static final char[] LETTERS = {'A', 'B', 'C', 'D'};
+
+    @Test
+    void generatesRequestedShape() {
+        List<Flight> flights = DatasetGenerator.generate(3, 5, LETTERS, 0.0, 1L);
+        assertEquals(3, flights.size());
+        assertEquals("G000001", flights.get(0).getId());
+        assertEquals("NU3", flights.get(2).getFlightNumber());
+        assertEquals(20, flights.get(1).getSeats().size());
+        assertEquals("5D", flights.get(1).getSeats().get(19).getSeatNumber());
+        for (Flight f : flights) {
+            for (Seat s : f.getSeats()) assertEquals(SeatStatus.AVAILABLE, s.getStatus());
+        }
+    }
+
+    @Test
+    void sameSeedGivesSameBookings() {
+        List<Flight> a = DatasetGenerator.generate(10, 10, LETTERS, 0.5, 7L);
+        List<Flight> b = DatasetGenerator.generate(10, 10, LETTERS, 0.5, 7L);
+        for (int i = 0; i < a.size(); i++) {
+            List<Seat> sa = a.get(i).getSeats();
+            List<Seat> sb = b.get(i).getSeats();
+            for (int j = 0; j < sa.size(); j++) {
+                assertEquals(sa.get(j).getStatus(), sb.get(j).getStatus());
+                assertEquals(sa.get(j).getPassenger(), sb.get(j).getPassenger());
+            }
+        }
+    }
+
+    @Test
+    void bookedRatioIsRoughlyHonouredWithValidPassengers() {
+        List<Flight> flights = DatasetGenerator.generate(50, 20, LETTERS, 0.25, 3L);
+        int booked = 0, total = 0;
+        for (Flight f : flights) {
+            for (Seat s : f.getSeats()) {
+                total++;
+                if (s.isBooked()) {
+                    booked++;
+                    assertTrue(ValidationUtils.isValidName(s.getPassenger().getFirstName()));
+                    assertTrue(ValidationUtils.isValidName(s.getPassenger().getLastName()));
+                    assertTrue(ValidationUtils.isValidDobIso(s.getPassenger().getDateOfBirth()));
+                }
+            }
+        }
+        double ratio = (double) booked / total;
+        assertTrue(ratio > 0.2 && ratio < 0.3, "ratio " + ratio);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.generate(1, 0, LETTERS, 0.5, 1L));
+        assertThrows(IllegalArgumentException.class, () -> DatasetGenerator.generate(1, 1, new char[0], 0.5, 1L));
+    }
+}
@@ -0,0 +1,113 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FareInventoryTest {
+
+    private static final Passenger JOHN = new Passenger("John", "Doe", "1990-01-01");
+
+    @TempDir
+    Path tempDir;
+
+    private static FareInventory tenSeats(String classes, int... limits) {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) seats.add(new Seat(i + "A"));
+        FareInventory fares = FareInventory.of(classes, limits);
+        fares.recount(seats);
+        return fares;
+    }
+
+    @Test
+    void lowerClassesCannotTakeProtectedSeats() {
+        FareInventory f = tenSeats("YBM", 10, 6, 2);
+        assertEquals(10, f.available('Y'));
+        assertEquals(6, f.available('B'));
+        assertEquals(2, f.available('m'));
+
+        assertTrue(f.book('M'));
+        assertTrue(f.book('M'));
+        assertFalse(f.book('M'));          // M limit reached
+        assertEquals(4, f.available('B')); // M bookings count against the B nest
+        for (int i = 0; i < 4; i++) assertTrue(f.book('B'));
+        assertEquals(0, f.available('B'));
+        assertEquals(4, f.available('Y')); // the 4 protected seats are Y only
+        for (int i = 0; i < 4; i++) assertTrue(f.book('Y'));
+        assertFalse(f.book('Y'));
+
+        f.release('M');
+        assertEquals(1, f.available('Y'));
+        assertEquals(1, f.available('B'));
+        assertEquals(1, f.available('M'));
+        assertEquals(-1, f.available('Q'));
+    }
+
+    @Test
+    void higherClassesCanUseLowerBucketsUntilTheCabinIsFull() {
+        FareInventory f = tenSeats("YM", 10, 8);
+        for (int i = 0; i < 7; i++) assertTrue(f.book('Y'));
+        assertEquals(3, f.available('M'));  // cabin room, not the M limit, is what's left
+        assertEquals(3, f.available('Y'));
+        assertEquals(7, f.sold('Y'));
+    }
+
+    @Test
+    void limitsAreValidatedAndRoundTripAsText() {
+        assertThrows(IllegalArgumentException.class, () -> FareInventory.of("YB", new int[]{5, 6}));
+        assertThrows(IllegalArgumentException.class, () -> FareInventory.of("YY", new int[]{5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> FareInventory.of("Y1", new int[]{5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> FareInventory.of("Y", new int[]{5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> FareInventory.parse("Y=x"));
+        FareInventory f = FareInventory.parse("Y=30;B=20;M=10");
+        assertEquals("Y=30;B=20;M=10", f.encode());
+        assertEquals(20, f.limit('B'));
+    }
+
+    @Test
+    void bookingsUpdateCountersTogetherWithSeats() {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path); // F002 has 16 seats
+        assertTrue(db.bookSeat("F002", "1A", JOHN));      // booked before classes exist
+        assertEquals(-1, db.getFareAvailability("F002", 'Y'));
+        assertFalse(db.bookSeat("F002", "1B", JOHN, 'M')); // no classes yet
+
+        assertTrue(db.setFareClasses("F002", "YBM", new int[]{16, 8, 2}));
+        assertEquals(1, db.snapshot().flight("F002").getFareInventory().sold('Y')); // legacy booking counted as Y
+        assertEquals(2, db.getFareAvailability("F002", 'M'));
+
+        assertTrue(db.bookSeat("F002", "1B", JOHN, 'M'));
+        assertTrue(db.bookSeat("F002", "1C", JOHN, 'M'));
+        long version = db.snapshot().version();
+        assertFalse(db.bookSeat("F002", "1D", JOHN, 'M'));
+        assertEquals(version, db.snapshot().version());   // nothing published on a sold-out class
+        assertFalse(db.snapshot().flight("F002").getSeat("1D").isBooked());
+        assertEquals(6, db.getFareAvailability("F002", 'B'));
+
+        assertTrue(db.bookSeat("F002", "1C", JOHN, 'B')); // rebook moves M -> B
+        assertEquals(1, db.getFareAvailability("F002", 'M'));
+        assertTrue(db.bookSeat("F002", "1C", new Passenger("Jane", "Doe", "1991-01-01"))); // keeps B
+        assertEquals('B', db.snapshot().flight("F002").getSeat("1C").getFareClass());
+        assertTrue(db.releaseSeat("F002", "1B"));
+        assertEquals(2, db.getFareAvailability("F002", 'M'));
+        assertEquals(0, db.snapshot().flight("F002").getSeat("1B").getFareClass());
+
+        DatabaseService reloaded = new DatabaseService(path);
+        FareInventory fares = reloaded.snapshot().flight("F002").getFareInventory();
+        assertEquals(1, fares.sold('Y'));
+        assertEquals(1, fares.sold('B'));
+        assertEquals(0, fares.sold('M'));
+        assertEquals(2, reloaded.getFareAvailability("F002", 'M'));
+
+        assertFalse(db.setFareClasses("F002", "YB", new int[]{4, 8}));
+        assertTrue(db.setFareClasses("F002", null, null));
+        assertEquals(-1, db.getFareAvailability("F002", 'Y'));
+    }
+}
@@ -5,6 +5,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -194,4 +195,62 @@ public class FileStorageTest {
         }
         return null;
     }
+
+    @Test
+    public void testScheduleRoundTripAndLegacyRows() throws IOException {
+        Path file = tempDir.resolve("scheduled.txt");
+        Flight scheduled = new Flight("F010", "NU310");
+        scheduled.addSeat(new Seat("1A", new Passenger("John", "Doe", "1990-01-01")));
+        scheduled.addSeat(new Seat("1B"));
+        scheduled.setSchedule("SAN", "JFK", LocalDateTime.of(2026, 11, 3, 8, 15), LocalDateTime.of(2026, 11, 3, 16, 40));
+        Flight unscheduled = new Flight("F011", "NU311");
+        unscheduled.addSeat(new Seat("1A"));
+        FileStorage.write(file.toString(), List.of(scheduled, unscheduled));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("F010,NU310,1A,BOOKED,John,Doe,1990-01-01,2026-11-03T08:15,2026-11-03T16:40,SAN,JFK,,", lines.get(1));
+        assertEquals("F011,NU311,1A,AVAILABLE,,,,,,,,,", lines.get(3));
+
+        List<Flight> read = FileStorage.read(file.toString());
+        assertEquals(LocalDateTime.of(2026, 11, 3, 8, 15), read.get(0).getDeparture());
+        assertEquals(LocalDateTime.of(2026, 11, 3, 16, 40), read.get(0).getArrival());
+        assertEquals("SAN", read.get(0).getOrigin());
+        assertEquals("JFK", read.get(0).getDestination());
+        assertNull(read.get(1).getDeparture());
+
+        // seven-column rows from older files load as unscheduled; a bad schedule is dropped, not the flight
+        Files.write(file, Arrays.asList(
+                "F001,NU100,1A,AVAILABLE,,,",
+                "F002,NU200,1A,AVAILABLE,,,,not-a-time,,SAN,JFK",
+                "F002,NU200,1B,AVAILABLE,,,,not-a-time,,SAN,JFK"), StandardCharsets.UTF_8);
+        read = FileStorage.read(file.toString());
+        assertEquals(2, read.size());
+        assertNull(read.get(0).getDeparture());
+        assertNull(read.get(1).getDeparture());
+        assertEquals(2, read.get(1).getSeats().size());
+    }
+
+    @Test
+    public void testFareClassesRoundTrip() throws IOException {
+        Path file = tempDir.resolve("fares.txt");
+        Flight f = new Flight("F020", "NU320");
+        for (int i = 1; i <= 4; i++) f.addSeat(new Seat(i + "A"));
+        f.setFareInventory(FareInventory.of("YBM", new int[]{4, 3, 1}));
+        f.getSeat("1A").setPassenger(new Passenger("John", "Doe", "1990-01-01"));
+        f.getSeat("1A").setFareClass('M');
+        f.setFareInventory(f.getFareInventory()); // recount after the direct seat change
+        FileStorage.write(file.toString(), List.of(f));
+        assertEquals("F020,NU320,1A,BOOKED,John,Doe,1990-01-01,,,,,Y=4;B=3;M=1,M", Files.readAllLines(file).get(1));
+
+        Flight read = FileStorage.read(file.toString()).get(0);
+        FareInventory fares = read.getFareInventory();
+        assertEquals("YBM", fares.classes());
+        assertEquals(1, fares.sold('M'));
+        assertEquals(0, fares.available('M'));
+        assertEquals(2, fares.available('B'));
+        assertEquals('M', read.getSeat("1A").getFareClass());
+
+        Files.write(file, Arrays.asList("F021,NU321,1A,BOOKED,Ann,Lee,1990-01-01,,,,,Y=1;B=5,"), StandardCharsets.UTF_8);
+        assertNull(FileStorage.read(file.toString()).get(0).getFareInventory()); // B above Y: ignored
+    }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package airlines;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlightArchiveTest {
+
+    private static final Passenger JOHN = new Passenger("John", "Doe", "1990-01-01");
+    private static final LocalDateTime OCT = LocalDateTime.of(2026, 10, 5, 9, 0);
+    private static final LocalDateTime NOV = LocalDateTime.of(2026, 11, 20, 9, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private static Flight flight(String id, LocalDateTime departure) {
+        Flight f = new Flight(id, "NU" + id.substring(1));
+        f.setSchedule("SAN", "JFK", departure, departure.plusHours(5));
+        f.addSeat(new Seat("1A", JOHN));
+        f.addSeat(new Seat("1B"));
+        return f;
+    }
+
+    @Test
+    void archivedFlightsLeaveTheLiveDataAndStayQueryable() throws Exception {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        char[] ab = {'A', 'B'};
+        assertTrue(db.addFlight("A1", "NU1", 1, 2, ab, "SAN", "JFK", OCT, null));
+        assertTrue(db.addFlight("A2", "NU2", 1, 2, ab, "SAN", "LAX", OCT.plusDays(3), null));
+        assertTrue(db.addFlight("A3", "NU3", 1, 2, ab, "SAN", "JFK", NOV, null));
+        assertTrue(db.bookSeat("A1", "2B", JOHN));
+        assertTrue(db.setFareClasses("A1", "YM", new int[]{4, 2}));
+        assertTrue(db.joinWaitlist("A2", JOHN, 0));
+
+        assertEquals(0, db.archiveDepartedBefore(OCT));
+        assertEquals(2, db.archiveDepartedBefore(LocalDateTime.of(2026, 11, 1, 0, 0)));
+        assertNull(db.snapshot().flight("A1"));
+        assertEquals(3, db.getFlightCount()); // F001, F002 (unscheduled) and A3
+        assertEquals(0, db.getWaitlistSize("A2"));
+        assertEquals(List.of(), db.getFlightsDeparting(LocalDateTime.MIN, NOV));
+        assertTrue(Files.exists(tempDir.resolve("db.txt.archive").resolve("2026-10.csv.gz")));
+        assertFalse(Files.readString(Path.of(path)).contains("A1,"));
+
+        Flight a1 = db.findArchivedFlight("a1");
+        assertNotNull(a1);
+        assertEquals(OCT, a1.getDeparture());
+        assertEquals(JOHN, a1.getSeat("2B").getPassenger());
+        assertEquals(1, a1.getBookedCount());
+        assertEquals("Y=4;M=2", a1.getFareInventory().encode());
+        assertNull(db.findArchivedFlight("A3"));
+
+        DatabaseService reloaded = new DatabaseService(path);
+        assertNull(reloaded.snapshot().flight("A2"));
+        assertEquals("NU2", reloaded.findArchivedFlight("A2").getFlightNumber());
+        assertEquals(1, reloaded.archiveDepartedBefore(LocalDateTime.of(2026, 12, 1, 0, 0)));
+        assertEquals(List.of("A1", "A2"),
+                reloaded.getArchivedFlights(YearMonth.of(2026, 10)).stream().map(Flight::getId).toList());
+        assertEquals(List.of("A3"),
+                reloaded.getArchivedFlights(YearMonth.of(2026, 11)).stream().map(Flight::getId).toList());
+        assertEquals(List.of(), reloaded.getArchivedFlights(YearMonth.of(2020, 1)));
+    }
+
+    @Test
+    void segmentsAreAppendOnlyAndRetriesDoNotDuplicate() throws Exception {
+        Path dir = tempDir.resolve("archive");
+        FlightArchive archive = new FlightArchive(dir);
+        assertEquals(2, archive.append(List.of(flight("A1", OCT), flight("A2", NOV))).size());
+        long size = Files.size(dir.resolve("2026-10.csv.gz"));
+        assertEquals(List.of("A1"), archive.append(List.of(flight("A1", OCT))).stream().map(Flight::getId).toList());
+        assertEquals(size, Files.size(dir.resolve("2026-10.csv.gz")));  // crash retry: already there, not rewritten
+        assertEquals(1, archive.append(List.of(flight("A4", OCT.plusDays(1)))).size());
+        assertEquals(size, Files.size(dir.resolve("2026-10.csv.gz")));  // never rewritten ...
+        assertTrue(Files.exists(dir.resolve("2026-10.2.csv.gz")));      // ... a second run file instead
+
+        Flight reused = flight("A1", NOV.plusDays(2));
+        reused.getSeat("1B").setPassenger(JOHN);
+        assertEquals(1, archive.append(List.of(reused)).size());         // id re-used in another month
+
+        FlightArchive reopened = new FlightArchive(dir);
+        assertEquals(3, reopened.size());
+        assertTrue(reopened.contains("a4"));
+        assertEquals(2, reopened.find("A1").getBookedCount());           // latest copy wins
+        assertEquals(List.of("A1", "A4"),
+                reopened.month(YearMonth.of(2026, 10)).stream().map(Flight::getId).toList());
+        assertEquals(3, reopened.month(YearMonth.of(2026, 11)).stream().mapToInt(Flight::getBookedCount).sum());
+        assertThrows(IllegalArgumentException.class, () -> archive.append(List.of(new Flight("X", "NU9"))));
+    }
+
+    @Test
+    void reusedIdInTheSameMonthIsArchivedAgainAndLatestCopyWins() throws Exception {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        char[] ab = {'A', 'B'};
+        LocalDateTime nov3 = LocalDateTime.of(2026, 11, 3, 9, 0);
+        assertTrue(db.addFlight("X1", "NU500", 1, 2, ab, "SAN", "JFK", nov3, null));
+        assertEquals(1, db.archiveDepartedBefore(LocalDateTime.of(2026, 11, 10, 0, 0)));
+
+        assertTrue(db.addFlight("X1", "NU501", 1, 2, ab, "SAN", "LAX", NOV, null));
+        assertTrue(db.bookSeat("X1", "1A", JOHN));
+        assertEquals(1, db.archiveDepartedBefore(LocalDateTime.of(2026, 12, 1, 0, 0)));
+        assertNull(db.snapshot().flight("X1"));
+
+        Flight x1 = new DatabaseService(path).findArchivedFlight("X1");
+        assertEquals("NU501", x1.getFlightNumber());
+        assertEquals(NOV, x1.getDeparture());
+        assertEquals(1, x1.getBookedCount());
+        assertEquals(List.of("NU501"),
+                db.getArchivedFlights(YearMonth.of(2026, 11)).stream().map(Flight::getFlightNumber).toList());
+    }
+
+    @Test
+    void tornRunFileIsSkippedAndLaterRunsStillWork() throws Exception {
+        Path dir = tempDir.resolve("archive");
+        FlightArchive archive = new FlightArchive(dir);
+        archive.append(List.of(flight("A1", OCT)));
+        archive.append(List.of(flight("A2", OCT.plusDays(1))));
+        Path second = dir.resolve("2026-10.2.csv.gz");
+        byte[] whole = Files.readAllBytes(second);
+        Files.write(second, Arrays.copyOf(whole, whole.length / 2));            // damaged on disk
+        Files.write(dir.resolve("2026-10.3.csv.gz.tmp"), Arrays.copyOf(whole, 10)); // a run that crashed
+
+        FlightArchive reopened = new FlightArchive(dir);
+        assertEquals(1, reopened.find("A1").getBookedCount());
+        assertNull(reopened.find("A2"));
+        assertEquals(List.of("A1"), reopened.month(YearMonth.of(2026, 10)).stream().map(Flight::getId).toList());
+        assertEquals(List.of("A2", "A3"), reopened.append(List.of(flight("A2", OCT.plusDays(1)), flight("A3", OCT)))
+                .stream().map(Flight::getId).toList());                        // A2's copy is unreadable: written again
+        assertEquals(List.of("A1", "A2", "A3"),
+                new FlightArchive(dir).month(YearMonth.of(2026, 10)).stream().map(Flight::getId).toList());
+        assertFalse(Files.exists(dir.resolve("2026-10.3.csv.gz.tmp")));
+    }
+}
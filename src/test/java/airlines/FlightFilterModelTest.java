@@ -0,0 +1,117 @@
+package airlines;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.DefaultListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FlightFilterModelTest {
+
+    private DefaultListModel<Flight> source;
+    private FlightFilterModel model;
+
+    @BeforeEach
+    void setUp() {
+        source = new DefaultListModel<>();
+        source.addElement(new Flight("F001", "NU100"));
+        source.addElement(new Flight("F002", "NU245"));
+        source.addElement(new Flight("F010", "NU120"));
+        source.addElement(new Flight("INTL-01", "NU900"));
+        model = new FlightFilterModel(source);
+    }
+
+    @Test
+    void emptyQueryPassesThroughSource() {
+        assertEquals(4, model.getSize());
+        assertEquals("F002", model.getElementAt(1).getId());
+    }
+
+    @Test
+    void prefixMatchesIdOrNumberCaseInsensitive() {
+        model.setQuery("f0");
+        assertEquals(3, model.getSize());
+
+        model.setQuery("nu1");
+        assertEquals(2, model.getSize());
+        assertEquals("F001", model.getElementAt(0).getId()); // source order kept
+        assertEquals("F010", model.getElementAt(1).getId());
+
+        model.setQuery("intl");
+        assertEquals(1, model.getSize());
+        assertEquals("NU900", model.getElementAt(0).getFlightNumber());
+
+        model.setQuery("XYZ");
+        assertEquals(0, model.getSize());
+    }
+
+    @Test
+    void extendingQueryRefinesPreviousMatches() {
+        model.setQuery("NU");
+        assertEquals(4, model.getSize());
+        model.setQuery("NU1");
+        assertEquals(2, model.getSize());
+        model.setQuery("NU12");
+        assertEquals(1, model.getSize());
+        assertEquals("F010", model.getElementAt(0).getId());
+
+        // shortening the query goes back to the index
+        model.setQuery("NU");
+        assertEquals(4, model.getSize());
+        model.setQuery("");
+        assertEquals(4, model.getSize());
+    }
+
+    @Test
+    void sourceChangesAreReflectedInActiveFilter() {
+        model.setQuery("F00");
+        assertEquals(2, model.getSize());
+
+        source.addElement(new Flight("F003", "NU300"));
+        assertEquals(3, model.getSize());
+
+        source.removeElementAt(0);
+        assertEquals(2, model.getSize());
+        assertEquals("F002", model.getElementAt(0).getId());
+    }
+
+    @Test
+    void shrinkingFiresIntervalRemoved() {
+        int[] removed = {0};
+        model.addListDataListener(new ListDataListener() {
+            @Override public void intervalAdded(ListDataEvent e) {}
+            @Override public void intervalRemoved(ListDataEvent e) { removed[0]++; }
+            @Override public void contentsChanged(ListDataEvent e) {}
+        });
+        model.setQuery("INTL");
+        assertTrue(removed[0] > 0);
+    }
+
+    @Test
+    void sourceChangesFireIntervalEventsAgainstAnnouncedSize() {
+        List<ListDataEvent> events = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            @Override public void intervalAdded(ListDataEvent e) { events.add(e); }
+            @Override public void intervalRemoved(ListDataEvent e) { events.add(e); }
+            @Override public void contentsChanged(ListDataEvent e) { events.add(e); }
+        });
+        source.addElement(new Flight("F003", "NU300")); // empty query: pass-through
+        assertEquals(ListDataEvent.INTERVAL_ADDED, events.get(0).getType());
+        assertEquals(4, events.get(0).getIndex0());
+        assertEquals(4, events.get(0).getIndex1());
+
+        model.setQuery("F00");
+        assertEquals(3, model.getSize());
+        events.clear();
+        source.removeElementAt(0);
+        assertEquals(ListDataEvent.INTERVAL_REMOVED, events.get(0).getType());
+        assertEquals(2, events.get(0).getIndex0());
+        assertEquals(2, model.getSize());
+        assertEquals("F002", model.getElementAt(0).getId());
+    }
+}
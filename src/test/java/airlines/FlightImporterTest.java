@@ -0,0 +1,111 @@
+package airlines;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlightImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static FlightImporter.Report run(DatabaseService db, boolean allOrNothing, String... lines) throws IOException {
+        return FlightImporter.importFrom(db, new BufferedReader(new StringReader(String.join("\n", lines))), allOrNothing);
+    }
+
+    @Test
+    void importsValidRowsAndReportsTheRest() throws IOException {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        FlightImporter.Report r = run(db, false,
+                "# flightId,flightNumber,startRow,endRow,seatLetters,origin,destination,departure,arrival",
+                "S1,NU501,1,2,ABC,SAN,JFK,2026-11-03 08:15,2026-11-03 16:40",
+                "S2,NU502,1,1,AB,,,,",
+                "",
+                "S3,XX1,1,1,AB",                     // bad number
+                "F001,NU100,1,1,AB",                 // exists already
+                "s1,NU503,1,1,AB",                   // duplicate within the file
+                "S4,NU504,1,x,AB",
+                "S5,NU505,3,1,AB",
+                "S6,NU506,1,1,AAB",
+                "S7,NU507,1,1,AB,SAN,JFK,2026-11-03T09:00,2026-11-03T08:00",
+                "S8,NU508,1,1,AB,SAN,JFK,tomorrow,",
+                "S9,NU509,1,1");
+        assertEquals(11, r.rows());
+        assertEquals(2, r.imported());
+        assertTrue(r.saved());
+        assertFalse(r.ok());
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L),
+                r.errors().stream().map(FlightImporter.RowError::line).toList());
+        assertEquals("duplicate of line 2", r.errors().get(2).message());
+        assertEquals("flight already exists", r.errors().get(1).message());
+
+        Flight s1 = db.snapshot().flight("S1");
+        assertEquals(6, s1.getSeats().size());
+        assertEquals(LocalDateTime.of(2026, 11, 3, 8, 15), s1.getDeparture());
+        assertEquals(1, db.getFlightsDeparting(LocalDateTime.of(2026, 11, 3, 0, 0), LocalDateTime.of(2026, 11, 4, 0, 0)).size());
+        assertEquals(s1.getVersion(), db.snapshot().flight("S2").getVersion()); // one publish
+        assertEquals(4, new DatabaseService(path).getFlightCount());              // saved
+    }
+
+    @Test
+    void allOrNothingRejectsTheWholeFile() throws IOException {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        long version = db.snapshot().version();
+        FlightImporter.Report r = run(db, true, "S1,NU501,1,2,ABC", "F002,NU245,1,1,A");
+        assertEquals(0, r.imported());
+        assertEquals(1, r.errors().size());
+        assertNull(db.snapshot().flight("S1"));
+        assertEquals(version, db.snapshot().version());
+        assertTrue(run(db, true, "S1,NU501,1,2,ABC").ok());
+    }
+
+    @Test
+    void failedSaveImportsNothing() throws IOException {
+        Path file = tempDir.resolve("db.txt");
+        DatabaseService db = new DatabaseService(file.toString());
+        Files.delete(file);
+        Files.createDirectory(file); // every save fails from here on
+        FlightImporter.Report r = run(db, false, "S1,NU501,1,2,AB", "S2,NU502,1,1,AB");
+        assertFalse(r.saved());
+        assertFalse(r.ok());
+        assertEquals(0, r.imported());
+        assertNull(db.snapshot().flight("S1")); // not left in memory for the next save to pick up
+        assertEquals(2, db.getFlightCount());
+
+        Files.delete(file);
+        assertTrue(run(db, false, "S1,NU501,1,2,AB").ok()); // a retry goes through
+        assertEquals(3, new DatabaseService(file.toString()).getFlightCount());
+    }
+
+    @Test
+    void streamsLargeFilesAcrossChunks() throws IOException {
+        Path file = tempDir.resolve("schedule.csv");
+        List<String> lines = new ArrayList<>();
+        int count = FlightImporter.CHUNK_LINES * 2 + 123;
+        for (int i = 0; i < count; i++) {
+            lines.add(String.format("B%05d,NU%d,1,5,ABCDEF,%s,%s,2026-12-01 %02d:%02d,", i, i, "SAN", "JFK", (i / 60) % 24, i % 60));
+        }
+        lines.add("B00007,NU7,1,1,A"); // duplicate far from its first occurrence
+        Files.write(file, lines);
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        FlightImporter.Report r = FlightImporter.importFile(db, file, false);
+        assertEquals(count, r.imported());
+        assertEquals(1, r.errors().size());
+        assertEquals(count + 1L, r.errors().get(0).line());
+        assertEquals(count + 2, db.getFlightCount());
+        assertEquals(30, db.snapshot().flight("B08000").getSeats().size());
+    }
+}
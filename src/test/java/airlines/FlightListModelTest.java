@@ -0,0 +1,62 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlightListModelTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseService db;
+    private FlightListModel model;
+    private final List<ListDataEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        db = new DatabaseService(tempDir.resolve("db.txt").toString()); // 2 default flights
+        model = new FlightListModel(db);
+        model.addListDataListener(new ListDataListener() {
+            @Override public void intervalAdded(ListDataEvent e) { events.add(e); }
+            @Override public void intervalRemoved(ListDataEvent e) { events.add(e); }
+            @Override public void contentsChanged(ListDataEvent e) { events.add(e); }
+        });
+    }
+
+    @Test
+    void readsThroughToDatabaseService() {
+        assertEquals(db.getFlights().size(), model.getSize());
+        assertSame(db.getFlights().get(1), model.getElementAt(1));
+    }
+
+    @Test
+    void refreshAfterAddFiresOneAddedAndOneChangedEvent() {
+        db.addFlight("T100", "NU100", 1, 1, new char[]{'A'});
+        assertEquals(2, model.getSize()); // unchanged until listeners are told
+
+        model.refresh();
+        assertEquals(3, model.getSize());
+        assertEquals(2, events.size());
+        assertEquals(ListDataEvent.INTERVAL_ADDED, events.get(0).getType());
+        assertEquals(2, events.get(0).getIndex0());
+        assertEquals(ListDataEvent.CONTENTS_CHANGED, events.get(1).getType());
+    }
+
+    @Test
+    void refreshAfterDeleteFiresRemovedEvent() {
+        db.deleteFlight("F001");
+        model.refresh();
+        assertEquals(ListDataEvent.INTERVAL_REMOVED, events.get(0).getType());
+        assertEquals(1, model.getSize());
+        assertEquals("F002", model.getElementAt(0).getId());
+    }
+}
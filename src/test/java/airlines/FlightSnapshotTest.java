@@ -0,0 +1,122 @@
+package airlines;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlightSnapshotTest {
+
+    private static final Passenger JOHN = new Passenger("John", "Doe", "1990-01-01");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void lookupsAreCaseInsensitiveAndFollowAddAndDelete() {
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < 100; i++) flights.add(new Flight("Ab-" + i, "NU" + i));
+        FlightSnapshot s = FlightSnapshot.of(1, flights);
+        assertSame(flights.get(42), s.flight("aB-42"));
+        assertNull(s.flight("Ab-100"));
+        assertNull(s.flight(null));
+        assertTrue(s.seats("nope").isEmpty());
+
+        FlightSnapshot added = s.withAdded(new Flight("Ab-100", "NU100"));
+        FlightSnapshot removed = added.withRemoved(0);
+        assertEquals(101, added.size());
+        assertEquals("Ab-100", added.flight("AB-100").getId());
+        assertNull(removed.flight("ab-0"));
+        assertEquals(99, removed.indexOf("AB-100"));
+        assertNull(s.flight("Ab-100")); // older snapshots are unaffected
+        assertTrue(removed.version() > added.version() && added.version() > s.version());
+    }
+
+    @Test
+    void seatUpdateCopiesOnlyTheChangedFlight() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        FlightSnapshot before = db.snapshot();
+        assertTrue(db.bookSeat("F001", "1A", JOHN));
+        FlightSnapshot after = db.snapshot();
+
+        assertFalse(before.flight("F001").getSeat("1A").isBooked());
+        assertTrue(after.flight("F001").getSeat("1A").isBooked());
+        assertNotSame(before.flight("F001"), after.flight("F001"));
+        assertSame(before.flight("F002"), after.flight("F002"));
+        assertSame(before.flight("F001").getSeat("1B").getPassenger(), after.flight("F001").getSeat("1B").getPassenger());
+        assertSame(after.flights(), db.getFlights());
+    }
+
+    @Test
+    void lookupsDoNotAllocate() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int i = 0; i < 20_000; i++) sink += db.getSeats("f002").size() + db.getFlightAt(i & 1).getSeats().size();
+        long t = Thread.currentThread().threadId();
+        long before = mx.getThreadAllocatedBytes(t);
+        for (int i = 0; i < 20_000; i++) sink += db.getSeats("f002").size() + db.getFlightAt(i & 1).getSeats().size();
+        long allocated = mx.getThreadAllocatedBytes(t) - before;
+        assertTrue(sink > 0);
+        assertTrue(allocated < 4096, "40k lookups allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void readersNeverSeeHalfAppliedUpdates() throws Exception {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    while (!stop.get()) {
+                        FlightSnapshot s = db.snapshot();
+                        for (Flight f : s.flights()) {
+                            for (Seat seat : f.getSeats()) {
+                                // a seat is never BOOKED without a passenger or vice versa
+                                if (seat.isBooked() != (seat.getPassenger() != null)) throw new AssertionError(seat);
+                            }
+                        }
+                        // 1B is booked after and released before 1A, and every snapshot
+                        // is published whole, so no reader may see 1B booked without 1A
+                        Flight f1 = s.flight("F001");
+                        if (f1.getSeat("1B").isBooked() && !f1.getSeat("1A").isBooked()) {
+                            throw new AssertionError("saw 1B without 1A");
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            readers[r].start();
+        }
+        for (int i = 0; i < 200; i++) {
+            synchronized (db) {
+                if (i % 2 == 0) {
+                    db.applySeatUpdate("F001", "1A", JOHN);
+                    db.applySeatUpdate("F001", "1B", JOHN);
+                } else {
+                    db.applySeatUpdate("F001", "1B", null);
+                    db.applySeatUpdate("F001", "1A", null);
+                }
+            }
+            db.addFlight("T" + i, "NU" + i, 1, 1, new char[]{'A'});
+            db.deleteFlight("T" + i);
+        }
+        stop.set(true);
+        for (Thread t : readers) t.join();
+        if (failure.get() != null) throw new AssertionError(failure.get());
+    }
+}
@@ -1,5 +1,6 @@
 package airlines;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.Test;
@@ -280,4 +282,81 @@ public class FlightTest {
         
         assertEquals(flight1.hashCode(), flight2.hashCode()); // Same ID = same hashCode
     }
+
+    @Test
+    public void testSchedule() {
+        Flight flight = new Flight("F001", "NU100");
+        assertFalse(flight.isScheduled());
+        LocalDateTime dep = LocalDateTime.of(2026, 11, 3, 8, 15);
+        flight.setSchedule("san", " jfk", dep, dep.plusHours(5));
+        assertTrue(flight.isScheduled());
+        assertEquals("SAN", flight.getOrigin());
+        assertEquals("JFK", flight.getDestination());
+        assertEquals(dep.plusHours(5), flight.copy().getArrival());
+        assertEquals("Flight{id='F001', flightNumber='NU100', SAN->JFK 2026-11-03T08:15, seats=0}", flight.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> flight.setSchedule("SAN", "JFK", dep, dep.minusMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> flight.setSchedule("SAN", "JFK", null, dep));
+        assertThrows(IllegalArgumentException.class, () -> flight.setSchedule("SANX", "JFK", dep, null));
+        assertEquals(dep, flight.getDeparture()); // unchanged after a rejected update
+
+        flight.setSchedule(null, null, null, null);
+        assertFalse(flight.isScheduled());
+    }
+
+    @Test
+    public void testBookedCountsFollowSeatChanges() {
+        Passenger john = new Passenger("John", "Doe", "1990-01-01");
+        Flight flight = new Flight("F001", "NU100", List.of(new Seat("1A", john), new Seat("1B")));
+        Seat c = new Seat("1C");
+        flight.addSeat(c);
+        assertEquals(1, flight.getBookedCount());
+        assertEquals(2, flight.getAvailableCount());
+
+        c.setPassenger(john);
+        c.setPassenger(new Passenger("Jane", "Doe", "1991-01-01")); // still one booking
+        assertEquals(2, flight.getBookedCount());
+        c.setStatus(SeatStatus.AVAILABLE);
+        flight.getSeat("1B").setStatus(SeatStatus.BOOKED);
+        flight.getSeat("1A").clearPassenger();
+        assertEquals(1, flight.getBookedCount());
+
+        Flight copy = flight.copy();
+        copy.getSeat("1A").setPassenger(john);
+        assertEquals(2, copy.getBookedCount());
+        assertEquals(1, flight.getBookedCount()); // the original's seats are untouched
+
+        assertTrue(flight.removeSeat(new Seat("1b"))); // by number; the booked seat actually removed counts
+        assertEquals(0, flight.getBookedCount());
+        Flight other = new Flight("F002", "NU200");
+        c.setPassenger(john);
+        other.addSeat(c); // a seat moves with its booking
+        assertEquals(1, other.getBookedCount());
+        assertEquals(0, flight.getBookedCount());
+        assertEquals(1, flight.getSeats().size());
+    }
+
+    @Test
+    public void testSeatOwnershipKeepsCountsExact() {
+        Passenger john = new Passenger("John", "Doe", "1990-01-01");
+        Flight f1 = new Flight("F001", "NU100", List.of(new Seat("1A", john), new Seat("1B")));
+        Flight f2 = new Flight("F002", "NU200", f1.getSeats()); // copies, f1 keeps its seats
+        assertEquals(2, f1.getSeats().size());
+        assertEquals(2, f2.getSeats().size());
+        assertEquals(1, f2.getBookedCount());
+        f2.getSeat("1A").clearPassenger();
+        assertEquals(1, f1.getBookedCount());
+        assertEquals(0, f2.getBookedCount());
+
+        Seat a = f1.getSeat("1A");
+        f1.addSeat(a); // already on this flight
+        assertEquals(2, f1.getSeats().size());
+        assertEquals(1, f1.getBookedCount());
+
+        assertTrue(f1.removeSeat(a));
+        a.clearPassenger(); // no longer reports to f1
+        assertEquals(0, f1.getBookedCount());
+        assertEquals(1, f1.getSeats().size());
+        assertEquals(1, f1.getAvailableCount());
+    }
 }
\ No newline at end of file
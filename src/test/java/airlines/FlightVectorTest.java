@@ -0,0 +1,91 @@
+package airlines;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class FlightVectorTest {
+
+    private static List<Flight> flights(int n) {
+        List<Flight> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new Flight("V" + i, "NU" + i));
+        return out;
+    }
+
+    private static void assertSameElements(List<Flight> expected, FlightVector actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) assertSame(expected.get(i), actual.get(i), "index " + i);
+    }
+
+    @Test
+    void bulkBuildAndAppendAgreeAcrossLevelBoundaries() {
+        for (int n : new int[]{0, 1, 31, 32, 33, 1023, 1024, 1025, 32769}) {
+            List<Flight> src = flights(n);
+            assertSameElements(src, FlightVector.of(src));
+
+            FlightVector appended = FlightVector.EMPTY;
+            for (Flight f : src) appended = appended.append(f);
+            assertSameElements(src, appended);
+        }
+    }
+
+    @Test
+    void updatesLeaveEarlierVersionsUntouched() {
+        List<Flight> src = flights(2000);
+        FlightVector v0 = FlightVector.of(src);
+        Flight replacement = new Flight("V1500", "NU9999");
+        FlightVector v1 = v0.with(1500, replacement);
+        FlightVector v2 = v1.append(new Flight("V2000", "NU2000"));
+        FlightVector v3 = v2.without(0);
+
+        assertSameElements(src, v0);
+        assertSame(replacement, v1.get(1500));
+        assertSame(src.get(1499), v1.get(1499));
+        assertEquals(2001, v2.size());
+        assertEquals(2000, v3.size());
+        assertSame(src.get(1), v3.get(0));
+        assertSame(replacement, v3.get(1499));
+    }
+
+    @Test
+    void randomOperationsMatchArrayList() {
+        SplittableRandom rnd = new SplittableRandom(11);
+        List<Flight> model = new ArrayList<>();
+        FlightVector v = FlightVector.EMPTY;
+        for (int step = 0; step < 5000; step++) {
+            int op = rnd.nextInt(10);
+            if (op < 6 || model.isEmpty()) {
+                Flight f = new Flight("R" + step, "NU" + step);
+                model.add(f);
+                v = v.append(f);
+            } else if (op < 9) {
+                int i = rnd.nextInt(model.size());
+                Flight f = new Flight("S" + step, "NU" + step);
+                model.set(i, f);
+                v = v.with(i, f);
+            } else {
+                int i = rnd.nextInt(model.size());
+                model.remove(i);
+                v = v.without(i);
+            }
+        }
+        assertSameElements(model, v);
+        assertEquals(model, v);
+    }
+
+    @Test
+    void listViewIsReadOnlyAndBoundsChecked() {
+        FlightVector v = FlightVector.of(flights(3));
+        assertThrows(UnsupportedOperationException.class, () -> v.add(new Flight("X", "NU1")));
+        assertThrows(UnsupportedOperationException.class, () -> v.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> v.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> v.with(-1, null));
+        assertTrue(FlightVector.EMPTY.isEmpty());
+    }
+}
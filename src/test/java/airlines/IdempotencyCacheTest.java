@@ -0,0 +1,190 @@
+package airlines;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IdempotencyCacheTest {
+
+    private static final Passenger JOHN = new Passenger("John", "Doe", "1990-01-01");
+    private static final String BOOK_1A = IdempotencyCache.request("book", "F001", "1A");
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void replaysOutcomesAndRefusesReusedKeys() {
+        IdempotencyCache c = new IdempotencyCache(null, 10, 1000, now::get);
+        assertNull(c.lookup("k1", BOOK_1A));
+        c.put("k1", BOOK_1A, true);
+        c.put("k2", BOOK_1A, false);
+        assertEquals(IdempotencyCache.Replay.TRUE, c.lookup("k1", IdempotencyCache.request("book", "f001", "1a")));
+        assertEquals(IdempotencyCache.Replay.FALSE, c.lookup("k2", BOOK_1A));
+        assertEquals(IdempotencyCache.Replay.MISMATCH, c.lookup("k1", IdempotencyCache.request("release", "F001", "1A")));
+        assertEquals(3, c.hits());
+    }
+
+    @Test
+    void evictsOldestBeyondCapacityAndAfterTtl() {
+        IdempotencyCache c = new IdempotencyCache(null, 3, 1000, now::get);
+        for (int i = 0; i < 5; i++) {
+            c.put("k" + i, BOOK_1A, true);
+            now.addAndGet(100);
+        }
+        assertEquals(3, c.size());
+        assertNull(c.lookup("k1", BOOK_1A));
+        assertEquals(IdempotencyCache.Replay.TRUE, c.lookup("k2", BOOK_1A));
+
+        now.addAndGet(750); // now +1250: k2 (stored +200) expired; k3 (+300) and k4 (+400) alive
+        assertNull(c.lookup("k2", BOOK_1A));
+        assertEquals(2, c.size());
+        now.addAndGet(100);
+        assertEquals(1, c.size());
+        now.addAndGet(100);
+        assertEquals(0, c.size());
+    }
+
+    @Test
+    void sidecarSurvivesRestartAndDropsExpiredEntries() throws Exception {
+        Path file = tempDir.resolve("db.txt.idem");
+        IdempotencyCache c = new IdempotencyCache(file, 10, 1000, now::get);
+        c.put("old", BOOK_1A, true);
+        now.addAndGet(600);
+        c.put("new", BOOK_1A, false);
+        assertFalse(Files.exists(file)); // nothing written before flush
+        assertTrue(c.flush());
+        assertEquals(2, Files.readAllLines(file).size());
+
+        now.addAndGet(500); // "old" expired, "new" still alive
+        IdempotencyCache reloaded = new IdempotencyCache(file, 10, 1000, now::get);
+        assertNull(reloaded.lookup("old", BOOK_1A));
+        assertEquals(IdempotencyCache.Replay.FALSE, reloaded.lookup("new", BOOK_1A));
+    }
+
+    @Test
+    void sidecarIsCompactedWhenItGrows() throws Exception {
+        Path file = tempDir.resolve("db.txt.idem");
+        IdempotencyCache c = new IdempotencyCache(file, 4, 1000, now::get);
+        for (int i = 0; i < 20; i++) {
+            c.put("k" + i, BOOK_1A, true);
+            assertTrue(c.flush());
+        }
+        assertTrue(Files.readAllLines(file).size() <= 8);
+        IdempotencyCache reloaded = new IdempotencyCache(file, 4, 1000, now::get);
+        assertEquals(4, reloaded.size());
+        assertEquals(IdempotencyCache.Replay.TRUE, reloaded.lookup("k19", BOOK_1A));
+    }
+
+    @Test
+    void malformedSidecarLinesAreSkipped() throws Exception {
+        Path file = tempDir.resolve("db.txt.idem");
+        Files.writeString(file, "garbage\nk1\t" + BOOK_1A + "\ttrue\tnot-a-number\nk2\t" + BOOK_1A + "\ttrue\t"
+                + (now.get() + 500) + "\n", StandardCharsets.UTF_8);
+        IdempotencyCache c = new IdempotencyCache(file, 10, 1000, now::get);
+        assertEquals(1, c.size());
+        assertEquals(IdempotencyCache.Replay.TRUE, c.lookup("k2", BOOK_1A));
+    }
+
+    @Test
+    void keysAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> IdempotencyCache.checkKey(" "));
+        assertThrows(IllegalArgumentException.class, () -> IdempotencyCache.checkKey("a\tb"));
+        assertThrows(IllegalArgumentException.class, () -> IdempotencyCache.checkKey("x".repeat(129)));
+        IdempotencyCache.checkKey("3f2b6c1e-retry-1");
+    }
+
+    // ---------- through DatabaseService ----------
+
+    @Test
+    void retriedBookingReturnsOriginalOutcomeWithoutSaving() {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        assertTrue(db.bookSeat("F001", "1A", JOHN, "req-1"));
+        long saves = Metrics.count(Metrics.Op.SAVE);
+        long version = db.snapshot().version();
+
+        assertTrue(db.bookSeat("F001", "1A", JOHN, "req-1"));  // retry: same answer
+        assertEquals(saves, Metrics.count(Metrics.Op.SAVE));  // ... no save
+        assertEquals(version, db.snapshot().version());       // ... no change
+        assertFalse(db.releaseSeat("F001", "1A", "req-1"));   // key reused for another request
+        assertTrue(db.snapshot().flight("F001").getSeat("1A").isBooked());
+
+        assertFalse(db.bookSeat("F001", "99Z", JOHN, "req-2"));
+        assertFalse(db.bookSeat("F001", "99Z", JOHN, "req-2"));
+        assertTrue(db.releaseSeat("F001", "1A", "req-3"));
+        assertThrows(IllegalArgumentException.class, () -> db.bookSeat("F001", "1B", JOHN, ""));
+
+        DatabaseService restarted = new DatabaseService(path);
+        assertTrue(restarted.bookSeat("F001", "1A", JOHN, "req-1")); // replayed from the sidecar
+        assertFalse(restarted.snapshot().flight("F001").getSeat("1A").isBooked());
+    }
+
+    @Test
+    void writerRetriesInOneBatchAreAppliedOnce() throws Exception {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        try (BookingWriter w = new BookingWriter(db)) {
+            var first = w.bookIfAvailable("F001", "2A", JOHN, "web-7");
+            var retry = w.bookIfAvailable("F001", "2A", JOHN, "web-7");
+            var other = w.bookIfAvailable("F001", "2A", JOHN, "web-8");
+            assertTrue(first.join());
+            assertTrue(retry.join());   // without the key this would be a conflict
+            assertFalse(other.join());  // a different request for the same seat still loses
+            long saves = Metrics.count(Metrics.Op.SAVE);
+            assertTrue(w.bookIfAvailable("F001", "2A", JOHN, "web-7").join());
+            assertEquals(saves, Metrics.count(Metrics.Op.SAVE));
+        }
+    }
+
+    @Test
+    void keyedBookMeansTheSameThroughTheServiceAndTheWriter() throws Exception {
+        Passenger ann = new Passenger("Ann", "Lee", "1985-05-05");
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        assertTrue(db.bookSeat("F001", "1A", JOHN));
+        assertFalse(db.bookSeat("F001", "1A", ann, "svc-1")); // only if available: John keeps his seat
+        assertEquals(JOHN, db.findSeat("F001", "1A").getPassenger());
+        try (BookingWriter w = new BookingWriter(db)) {
+            assertEquals(BookingWriter.Result.CONFLICT, w.book("F001", "1A", ann, "svc-1").join()); // replayed
+            assertEquals(BookingWriter.Result.CONFLICT, w.book("F001", "1A", ann, "web-1").join());
+        }
+        assertFalse(db.bookSeat("F001", "1A", ann, "web-1")); // the writer's outcome, replayed
+        assertTrue(db.bookSeat("F001", "1B", ann, "svc-2"));
+    }
+
+    @Test
+    void keyIsNotRecordedWhenTheSaveFails() throws Exception {
+        Path file = tempDir.resolve("db.txt");
+        DatabaseService db = new DatabaseService(file.toString());
+        Files.delete(file);
+        Files.createDirectory(file); // every save fails
+        assertFalse(db.bookSeat("F001", "1A", JOHN, "k1"));
+        assertFalse(db.snapshot().flight("F001").getSeat("1A").isBooked());
+        assertFalse(Files.exists(tempDir.resolve("db.txt.idem")));
+
+        Files.delete(file);
+        assertTrue(db.bookSeat("F001", "1A", JOHN, "k1")); // the retry is applied, not replayed
+        assertTrue(new DatabaseService(file.toString()).snapshot().flight("F001").getSeat("1A").isBooked());
+    }
+
+    @Test
+    void requestFingerprintIgnoresTheDefaultLocale() {
+        Locale saved = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals("book FI01 1I", IdempotencyCache.request("book", "fi01", "1i"));
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+}
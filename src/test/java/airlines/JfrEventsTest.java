@@ -0,0 +1,87 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void databaseOperationsEmitEvents() throws Exception {
+        String dbPath = tempDir.resolve("db.txt").toString();
+        Path jfr = tempDir.resolve("run.jfr");
+        int flightsAfterLoad;
+        try (Recording r = new Recording()) {
+            for (String name : new String[]{"SeatUpdate", "FlightChange", "DatabaseSave",
+                                             "DatabaseLoad", "StorageRead", "StorageWrite"}) {
+                r.enable("airlines." + name).withThreshold(java.time.Duration.ZERO);
+            }
+            r.start();
+            DatabaseService db = new DatabaseService(dbPath);
+            db.addFlight("J001", "NU100", 1, 2, new char[]{'A', 'B'});
+            db.bookSeat("J001", "1A", new Passenger("John", "Doe", "1990-01-01"));
+            db.bookSeat("J001", "99Z", new Passenger("John", "Doe", "1990-01-01")); // fails
+            db.releaseSeat("J001", "1A");
+            db.deleteFlight("J001");
+            db.load();
+            flightsAfterLoad = db.getFlightCount();
+            r.stop();
+            r.dump(jfr);
+        }
+
+        // other tests may run in parallel, so only look at our flight / file
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+
+        List<RecordedEvent> updates = ofType(events, "airlines.SeatUpdate").stream()
+                .filter(e -> "J001".equals(e.getString("flightId"))).toList();
+        assertEquals(3, updates.size());
+        assertTrue(updates.get(0).getBoolean("booked"));
+        assertTrue(updates.get(0).getBoolean("success"));
+        assertEquals("1A", updates.get(0).getString("seatNumber"));
+        assertFalse(updates.get(1).getBoolean("success"));
+        assertFalse(updates.get(2).getBoolean("booked"));
+        assertTrue(updates.get(2).getBoolean("success"));
+
+        List<RecordedEvent> changes = ofType(events, "airlines.FlightChange").stream()
+                .filter(e -> "J001".equals(e.getString("flightId"))).toList();
+        assertEquals(2, changes.size());
+        assertEquals("ADD", changes.get(0).getString("action"));
+        assertEquals(4, changes.get(0).getInt("seatCount"));
+        assertEquals("DELETE", changes.get(1).getString("action"));
+        assertEquals(4, changes.get(1).getInt("seatCount"));
+
+        List<RecordedEvent> writes = ofType(events, "airlines.StorageWrite").stream()
+                .filter(e -> dbPath.equals(e.getString("path"))).toList();
+        assertFalse(writes.isEmpty());
+        RecordedEvent afterAdd = writes.stream()
+                .filter(e -> e.getInt("flightCount") == flightsAfterLoad + 1).findFirst().orElseThrow();
+        RecordedEvent afterDelete = writes.get(writes.size() - 1);
+        assertEquals(flightsAfterLoad, afterDelete.getInt("flightCount"));
+        assertEquals(afterDelete.getLong("seatCount") + 4, afterAdd.getLong("seatCount"));
+        assertTrue(afterDelete.getLong("bytes") > 0);
+
+        List<RecordedEvent> reads = ofType(events, "airlines.StorageRead").stream()
+                .filter(e -> dbPath.equals(e.getString("path"))).toList();
+        assertFalse(reads.isEmpty());
+        assertEquals(flightsAfterLoad, reads.get(reads.size() - 1).getInt("flightCount"));
+
+        assertFalse(ofType(events, "airlines.DatabaseSave").isEmpty());
+        assertFalse(ofType(events, "airlines.DatabaseLoad").isEmpty());
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package airlines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getValueAtPercentile(99));
+        assertEquals(0.0, h.getMean());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 100; v++) h.record(v);
+        assertEquals(100, h.getCount());
+        assertEquals(50, h.getValueAtPercentile(50));
+        assertEquals(99, h.getValueAtPercentile(99));
+        assertEquals(100, h.getMax());
+        assertEquals(50.5, h.getMean(), 1e-9);
+    }
+
+    @Test
+    void largeValuesStayWithinRelativeError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) h.record(i * 1_000L); // 1us .. 10ms
+        long p50 = h.getValueAtPercentile(50);
+        long p99 = h.getValueAtPercentile(99);
+        assertTrue(Math.abs(p50 - 5_000_000L) <= 5_000_000L * 0.02, "p50 " + p50);
+        assertTrue(Math.abs(p99 - 9_900_000L) <= 9_900_000L * 0.02, "p99 " + p99);
+        assertEquals(10_000_000L, h.getValueAtPercentile(100));
+    }
+
+    @Test
+    void bucketIndexIsMonotonicAndContiguous() {
+        int prev = LatencyHistogram.indexOf(0);
+        for (long v = 1; v < 1_000_000; v++) {
+            int idx = LatencyHistogram.indexOf(v);
+            assertTrue(idx == prev || idx == prev + 1, "gap at " + v);
+            assertTrue(LatencyHistogram.highestValueOf(idx) >= v);
+            prev = idx;
+        }
+        // very large values clamp into the top bucket instead of failing
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, h.getMax());
+    }
+
+    @Test
+    void concurrentRecordingLosesNoCounts() throws InterruptedException {
+        LatencyHistogram h = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) h.record(i);
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        assertEquals(200_000, h.getCount());
+        assertEquals(49_999, h.getMax());
+    }
+}
@@ -0,0 +1,55 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LoadTestDriverTest {
+
+    private static final char[] LETTERS = {'A', 'B', 'C'};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generatedFileMatchesInMemoryDataset() throws Exception {
+        Path file = tempDir.resolve("big.txt");
+        long rows = DatasetGenerator.generateTo(file, 20, 4, LETTERS, 0.5, 9L);
+        assertEquals(20 * 4 * 3, rows);
+
+        List<Flight> expected = DatasetGenerator.generate(20, 4, LETTERS, 0.5, 9L);
+        List<Flight> loaded = FileStorage.read(file.toString());
+        assertEquals(expected.size(), loaded.size());
+        for (int i = 0; i < expected.size(); i++) {
+            List<Seat> a = expected.get(i).getSeats();
+            List<Seat> b = loaded.get(i).getSeats();
+            assertEquals(a.size(), b.size());
+            for (int j = 0; j < a.size(); j++) {
+                assertEquals(a.get(j).getSeatNumber(), b.get(j).getSeatNumber());
+                assertEquals(a.get(j).getPassenger(), b.get(j).getPassenger());
+            }
+        }
+    }
+
+    @Test
+    void closedAndOpenLoopRunsRecordEveryOperation() throws Exception {
+        Path file = tempDir.resolve("db.txt");
+        DatasetGenerator.generateTo(file, 5, 2, LETTERS, 0.3, 1L);
+        DatabaseService db = new DatabaseService(file.toString());
+
+        LoadTestDriver.Report closed = LoadTestDriver.run(db, new LoadTestDriver.Config(4, 1, 0, 40, 20, 1L));
+        assertTrue(closed.all.getCount() > 0);
+        long perOp = 0;
+        for (LatencyHistogram h : closed.byOp) perOp += h.getCount();
+        assertEquals(closed.all.getCount(), perOp);
+
+        LoadTestDriver.Report open = LoadTestDriver.run(db, new LoadTestDriver.Config(4, 1, 200, 40, 20, 1L));
+        // fixed arrival rate: ~200 ops scheduled in one second, all of them executed
+        assertTrue(open.all.getCount() >= 190 && open.all.getCount() <= 200, "ops " + open.all.getCount());
+        assertEquals(0, open.failures.get());
+    }
+}
@@ -0,0 +1,115 @@
+package airlines;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ConcurrentLinkedQueue<String> lines = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    void restore() {
+        Log.flush(5, TimeUnit.SECONDS);
+        Log.setSink(null);
+        Log.setLevel(Log.Level.INFO);
+        Log.setRateLimit(5, 10, TimeUnit.SECONDS);
+    }
+
+    /** Lines written for one source (other tests may log concurrently). */
+    private List<String> linesFrom(String source) {
+        List<String> out = new ArrayList<>();
+        for (String l : lines) if (l.contains("[" + source + "]")) out.add(l);
+        return out;
+    }
+
+    @Test
+    void levelsBelowThresholdAreDropped() {
+        Log.setSink(lines::add);
+        Log.setLevel(Log.Level.WARN);
+        Log.debug("LevelTest", "debug");
+        Log.info("LevelTest", "info");
+        Log.warn("LevelTest", "warn");
+        Log.error("LevelTest", "error");
+        assertTrue(Log.flush(5, TimeUnit.SECONDS));
+
+        List<String> got = linesFrom("LevelTest");
+        assertEquals(2, got.size());
+        assertTrue(got.get(0).contains("WARN ") && got.get(0).endsWith("[LevelTest] warn"));
+        assertTrue(got.get(1).contains("ERROR") && got.get(1).endsWith("[LevelTest] error"));
+        assertEquals(Log.Level.DEBUG, Log.parseLevel(" debug ", Log.Level.INFO));
+        assertEquals(Log.Level.INFO, Log.parseLevel("verbose", Log.Level.INFO));
+    }
+
+    @Test
+    void repeatedMessagesAreSummarized() {
+        Log.setSink(lines::add);
+        Log.setRateLimit(2, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 100; i++) {
+            Log.limited(Log.Level.WARN, "LimitTest", "limit-test-key", "row " + i);
+        }
+        assertTrue(Log.flush(5, TimeUnit.SECONDS));
+
+        List<String> got = linesFrom("LimitTest");
+        assertEquals(3, got.size());
+        assertTrue(got.get(0).endsWith("row 0"));
+        assertTrue(got.get(1).endsWith("row 1"));
+        assertTrue(got.get(2).endsWith("suppressed 98 more \"limit-test-key\" messages"));
+    }
+
+    @Test
+    void callersNeverBlockOnASlowSink() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Log.setSink(line -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lines.add(line);
+        });
+        long dropped = Log.dropped();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < 20_000; i++) Log.info("SlowSinkTest", "message " + i); // > buffer capacity
+        long elapsed = System.nanoTime() - t0;
+        release.countDown();
+        assertTrue(Log.flush(10, TimeUnit.SECONDS));
+
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "logging blocked for " + elapsed + " ns");
+        assertTrue(Log.dropped() > dropped);
+        assertTrue(linesFrom("Log").stream().anyMatch(l -> l.contains("messages (buffer full)")));
+    }
+
+    @Test
+    void malformedRowsAreSampledAndCounted() throws Exception {
+        Path file = tempDir.resolve("corrupt.txt");
+        List<String> rows = new ArrayList<>();
+        rows.add(FileStorage.HEADER);
+        for (int i = 0; i < 1000; i++) rows.add("BAD," + i);
+        rows.add("F300,NU999,1A,AVAILABLE,,,");
+        Files.write(file, rows, StandardCharsets.UTF_8);
+
+        Log.setSink(lines::add);
+        assertEquals(1, FileStorage.read(file.toString()).size());
+        assertTrue(Log.flush(5, TimeUnit.SECONDS));
+
+        List<String> got = linesFrom("FileStorage");
+        long samples = got.stream().filter(l -> l.contains("Skipping malformed row: BAD,")).count();
+        assertTrue(samples <= 3, "logged " + samples + " individual rows");
+        assertTrue(got.stream().anyMatch(l -> l.contains("Skipped 1,000 malformed rows and 0 rows with unknown status")));
+    }
+}
@@ -0,0 +1,119 @@
+package airlines;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ManifestExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String manifest(Flight f, ManifestExporter.Format format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ManifestExporter(format).write(f, Channels.newChannel(bytes));
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Flight smallFlight() {
+        Flight f = new Flight("F010", "NU310");
+        f.setSchedule("SAN", "JFK", LocalDateTime.of(2026, 11, 3, 8, 15), null);
+        f.addSeat(new Seat("1A", new Passenger("John", "Doe", "1990-01-01")));
+        f.addSeat(new Seat("1B"));
+        f.addSeat(new Seat("2A", new Passenger("Zoë", "O'Brien, Jr", "1985-05-05")));
+        return f;
+    }
+
+    @Test
+    void writesBookedSeatsAsCsv() throws IOException {
+        assertEquals("seat,name,dateOfBirth\n"
+                + "1A,John Doe,1990-01-01\n"
+                + "2A,\"Zoë O'Brien, Jr\",1985-05-05\n", manifest(smallFlight(), ManifestExporter.Format.CSV));
+    }
+
+    @Test
+    void writesBookedSeatsAsFixedWidth() throws IOException {
+        List<String> lines = manifest(smallFlight(), ManifestExporter.Format.FIXED_WIDTH).lines().toList();
+        assertEquals("NU310 (F010) SAN->JFK 2026-11-03T08:15", lines.get(0));
+        assertEquals("SEAT  NAME                                    DOB", lines.get(1));
+        assertEquals("1A    John Doe                                1990-01-01", lines.get(2));
+        assertEquals(4, lines.size());
+
+        Flight f = new Flight("F011", "NU311");
+        f.addSeat(new Seat("1A", new Passenger("A".repeat(30), "B".repeat(30), "1990-01-01")));
+        String row = manifest(f, ManifestExporter.Format.FIXED_WIDTH).lines().toList().get(2);
+        assertEquals(ManifestExporter.SEAT_WIDTH + ManifestExporter.NAME_WIDTH + 10, row.length()); // name cut
+    }
+
+    @Test
+    void manifestsLargerThanTheBufferAreComplete() throws IOException {
+        Flight f = DatasetGenerator.generate(1, 500, new char[]{'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'J', 'K'}, 1.0, 7).get(0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ManifestExporter exporter = new ManifestExporter(ManifestExporter.Format.CSV);
+        assertEquals(5000, exporter.write(f, Channels.newChannel(bytes)));
+        assertTrue(bytes.size() > ManifestExporter.BUFFER_BYTES);
+        assertEquals(bytes.size(), exporter.bytesWritten());
+        assertEquals(5001, bytes.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void exportsEveryFlightToItsOwnFileInParallel() throws IOException {
+        Path data = tempDir.resolve("db.txt");
+        DatasetGenerator.generateTo(data, 300, 10, new char[]{'A', 'B', 'C', 'D'}, 0.5, 42);
+        DatabaseService db = new DatabaseService(data.toString());
+
+        ManifestExporter.Result parallel = ManifestExporter.exportAll(db, tempDir.resolve("par"), ManifestExporter.Format.CSV, 4);
+        ManifestExporter.Result serial = ManifestExporter.exportAll(db, tempDir.resolve("ser"), ManifestExporter.Format.CSV, 1);
+        assertEquals(300, parallel.flights());
+        assertEquals(serial, parallel);
+
+        long booked = db.getFlights().stream().flatMap(f -> f.getSeats().stream()).filter(Seat::isBooked).count();
+        assertEquals(booked, parallel.passengers());
+        for (Flight f : db.getFlights()) {
+            String name = ManifestExporter.fileName(f, ManifestExporter.Format.CSV);
+            assertEquals(Files.readString(tempDir.resolve("ser").resolve(name)),
+                    Files.readString(tempDir.resolve("par").resolve(name)));
+        }
+        Path one = tempDir.resolve("one.csv");
+        assertEquals(-1, ManifestExporter.exportFlight(db, "NOPE", one, ManifestExporter.Format.CSV));
+        Flight first = db.getFlightAt(0);
+        ManifestExporter.exportFlight(db, first.getId(), one, ManifestExporter.Format.CSV);
+        assertEquals(Files.readString(tempDir.resolve("par").resolve(first.getId() + ".csv")), Files.readString(one));
+    }
+
+    @Test
+    void unexpectedWorkerFailureFailsTheExport() throws IOException {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        AtomicBoolean broken = new AtomicBoolean();
+        Flight bad = new Flight("B001", "NU900") {
+            @Override
+            public List<Seat> getSeats() {
+                if (broken.get()) throw new IllegalStateException("corrupt flight");
+                return super.getSeats();
+            }
+        };
+        synchronized (db) {
+            db.applyAddFlights(List.of(bad));
+        }
+        broken.set(true);
+        for (int threads : new int[]{1, 4}) {
+            IOException e = assertThrows(IOException.class, () ->
+                    ManifestExporter.exportAll(db, tempDir.resolve("out" + threads), ManifestExporter.Format.CSV, threads));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertTrue(Files.exists(tempDir.resolve("out" + threads).resolve("F001.csv"))); // the others are written
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void databaseOperationsAreCountedAndTimed() {
+        long loads = Metrics.count(Metrics.Op.LOAD);
+        long updates = Metrics.count(Metrics.Op.UPDATE_SEAT);
+        long updateFailures = Metrics.failures(Metrics.Op.UPDATE_SEAT);
+        long adds = Metrics.count(Metrics.Op.ADD_FLIGHT);
+        long deletes = Metrics.count(Metrics.Op.DELETE_FLIGHT);
+        long saves = Metrics.count(Metrics.Op.SAVE);
+        long written = Metrics.bytesWritten();
+        long read = Metrics.bytesRead();
+
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString()); // creates + loads
+        db.addFlight("T001", "NU999", 1, 2, new char[]{'A', 'B'});
+        db.bookSeat("T001", "1A", new Passenger("John", "Doe", "1990-01-01"));
+        db.bookSeat("T001", "99Z", new Passenger("John", "Doe", "1990-01-01")); // fails
+        db.deleteFlight("T001");
+        db.load();
+
+        // other tests may run in parallel in the same JVM, so compare with >=
+        assertTrue(Metrics.count(Metrics.Op.LOAD) >= loads + 2);
+        assertTrue(Metrics.count(Metrics.Op.UPDATE_SEAT) >= updates + 2);
+        assertTrue(Metrics.failures(Metrics.Op.UPDATE_SEAT) >= updateFailures + 1);
+        assertTrue(Metrics.count(Metrics.Op.ADD_FLIGHT) >= adds + 1);
+        assertTrue(Metrics.count(Metrics.Op.DELETE_FLIGHT) >= deletes + 1);
+        assertTrue(Metrics.count(Metrics.Op.SAVE) >= saves + 3);
+        assertTrue(Metrics.bytesWritten() > written);
+        assertTrue(Metrics.bytesRead() > read);
+        assertTrue(Metrics.latency(Metrics.Op.SAVE).getMax() > 0);
+    }
+
+    @Test
+    void reportListsEveryOperation() {
+        String report = Metrics.report();
+        for (Metrics.Op op : Metrics.Op.values()) {
+            assertTrue(report.contains(op.name().toLowerCase()), report);
+        }
+    }
+
+    @Test
+    void periodicDumpDeliversReports() throws InterruptedException {
+        CountDownLatch dumps = new CountDownLatch(2);
+        ScheduledFuture<?> task = Metrics.startPeriodicDump(10, TimeUnit.MILLISECONDS, r -> dumps.countDown());
+        try {
+            assertTrue(dumps.await(5, TimeUnit.SECONDS));
+        } finally {
+            task.cancel(false);
+        }
+        assertEquals(true, task.isCancelled());
+    }
+}
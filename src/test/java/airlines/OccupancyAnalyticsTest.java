@@ -0,0 +1,96 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OccupancyAnalyticsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void fixToday() {
+        ValidationUtils.setClock(Clock.fixed(LocalDate.of(2026, 10, 19).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void restoreClock() {
+        ValidationUtils.setClock(null);
+    }
+
+    @Test
+    void agesUseCompletedYears() {
+        int today = 20261019;
+        assertEquals(36, OccupancyAnalytics.age("1990-01-01", today));
+        assertEquals(17, OccupancyAnalytics.age("2008-10-20", today)); // 18 tomorrow
+        assertEquals(18, OccupancyAnalytics.age("2008-10-19", today));
+        assertEquals(-1, OccupancyAnalytics.age("2030-01-01", today));
+        assertEquals(-1, OccupancyAnalytics.age("1990-02-30", today));
+        assertEquals(-1, OccupancyAnalytics.age("", today));
+        assertEquals(OccupancyAnalytics.AgeBucket.AGE_12_17, OccupancyAnalytics.AgeBucket.of(17));
+        assertEquals(OccupancyAnalytics.AgeBucket.AGE_65_PLUS, OccupancyAnalytics.AgeBucket.of(104));
+        assertEquals(OccupancyAnalytics.AgeBucket.UNDER_12, OccupancyAnalytics.AgeBucket.of(0));
+        assertEquals("NU", OccupancyAnalytics.prefix("nu310"));
+        assertEquals("", OccupancyAnalytics.prefix("310"));
+    }
+
+    @Test
+    void aggregatesPerFlightPrefixAndOverall() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString()); // F001: 30 seats NU100, F002: 16 NU245
+        assertEquals(true, db.addFlight("X1", "AB7", 1, 1, new char[]{'A', 'B'}));
+        db.bookSeat("F001", "1A", new Passenger("John", "Doe", "1990-01-01"));
+        db.bookSeat("F002", "1A", new Passenger("Kid", "Doe", "2020-05-05"));
+        db.bookSeat("F002", "1B", new Passenger("Old", "Doe", "1950-05-05"));
+        db.bookSeat("X1", "1A", new Passenger("Ann", "Lee", "2010-10-19"));
+
+        OccupancyAnalytics analytics = new OccupancyAnalytics(db);
+        OccupancyAnalytics.Report r = analytics.report();
+        assertEquals(new OccupancyAnalytics.Load(48, 4), r.overall());
+        assertEquals(new OccupancyAnalytics.Load(16, 2), r.byFlight().get("F002"));
+        assertEquals(0.125, r.byFlight().get("F002").factor());
+        assertEquals(List.of("F001", "F002", "X1"), List.copyOf(r.byFlight().keySet()));
+        assertEquals(Map.of("NU", new OccupancyAnalytics.Load(46, 3), "AB", new OccupancyAnalytics.Load(2, 1)), r.byPrefix());
+        assertEquals(1L, r.ages().get(OccupancyAnalytics.AgeBucket.UNDER_12));
+        assertEquals(1L, r.ages().get(OccupancyAnalytics.AgeBucket.AGE_12_17)); // 16 today
+        assertEquals(1L, r.ages().get(OccupancyAnalytics.AgeBucket.AGE_35_44));
+        assertEquals(1L, r.ages().get(OccupancyAnalytics.AgeBucket.AGE_65_PLUS));
+        assertEquals(0L, r.ages().get(OccupancyAnalytics.AgeBucket.UNKNOWN));
+
+        assertSame(r, analytics.report());      // nothing changed: cached
+        db.releaseSeat("F001", "1A");
+        OccupancyAnalytics.Report after = analytics.report();
+        assertNotSame(r, after);
+        assertEquals(3, after.overall().booked());
+    }
+
+    @Test
+    void parallelResultMatchesASequentialCount() {
+        List<Flight> flights = DatasetGenerator.generate(2000, 20, new char[]{'A', 'B', 'C', 'D', 'E', 'F'}, 0.6, 11);
+        OccupancyAnalytics.Report r = OccupancyAnalytics.compute(FlightSnapshot.of(1, flights));
+        long seats = 0, booked = 0, known = 0;
+        for (Flight f : flights) {
+            for (Seat s : f.getSeats()) {
+                seats++;
+                if (!s.isBooked()) continue;
+                booked++;
+                if (ValidationUtils.isValidDobIso(s.getPassenger().getDateOfBirth())) known++;
+            }
+        }
+        assertEquals(new OccupancyAnalytics.Load(seats, booked), r.overall());
+        assertEquals(booked - known, r.ages().get(OccupancyAnalytics.AgeBucket.UNKNOWN));
+        assertEquals(booked, r.ages().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(booked, r.byFlight().values().stream().mapToLong(OccupancyAnalytics.Load::booked).sum());
+    }
+}
@@ -0,0 +1,194 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RouteGraphTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 11, 3, 0, 0);
+    private static final Duration HUB = Duration.ofMinutes(45);
+    private static final char[] AB = {'A', 'B'};
+
+    @TempDir
+    Path tempDir;
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.plusHours(hour).plusMinutes(minute);
+    }
+
+    private static List<String> ids(Itinerary it) {
+        List<String> out = new ArrayList<>();
+        for (Flight f : it.legs()) out.add(f.getId());
+        return out;
+    }
+
+    private DatabaseService network() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        assertTrue(db.addFlight("D1", "NU1", 1, 1, AB, "SAN", "JFK", at(8, 30), at(16, 0)));  // direct
+        assertTrue(db.addFlight("P1", "NU2", 1, 1, AB, "SAN", "PHX", at(8, 0), at(9, 0)));
+        assertTrue(db.addFlight("P2", "NU3", 1, 1, AB, "PHX", "JFK", at(9, 30), at(14, 0))); // 30 min: too tight
+        assertTrue(db.addFlight("P3", "NU4", 1, 1, AB, "PHX", "JFK", at(10, 0), at(15, 0)));
+        assertTrue(db.addFlight("E1", "NU5", 1, 1, AB, "SAN", "DEN", at(7, 0), at(8, 0)));
+        assertTrue(db.addFlight("E2", "NU6", 1, 1, AB, "DEN", "JFK", at(8, 50), at(13, 0)));
+        return db;
+    }
+
+    @Test
+    void earliestArrivalRespectsConnectionTimes() {
+        DatabaseService db = network();
+        Itinerary it = db.findEarliestArrival("san", "JFK", DAY, HUB, 3);
+        assertEquals(List.of("E1", "E2"), ids(it));
+        assertEquals(at(13, 0), it.arrival());
+        assertEquals(1, it.stops());
+        assertEquals("SAN", it.origin());
+        assertEquals("JFK", it.destination());
+
+        assertEquals(List.of("P1", "P2"), ids(db.findEarliestArrival("SAN", "JFK", at(7, 30), Duration.ofMinutes(30), 3)));
+        assertEquals(List.of("D1"), ids(db.findEarliestArrival("SAN", "JFK", DAY, HUB, 1)));
+        assertEquals(List.of("D1"), ids(db.findFewestLegs("SAN", "JFK", DAY, HUB, 3)));
+        assertNull(db.findEarliestArrival("SAN", "JFK", at(9, 0), HUB, 3));
+        assertNull(db.findEarliestArrival("SAN", "SAN", DAY, HUB, 3));
+        assertNull(db.findEarliestArrival("JFK", "SAN", DAY, HUB, 3));
+    }
+
+    @Test
+    void fullFlightsAndGraphChangesAreHonoured() {
+        DatabaseService db = network();
+        assertTrue(db.bookSeat("E2", "1A", new Passenger("John", "Doe", "1990-01-01")));
+        assertEquals(List.of("E1", "E2"), ids(db.findEarliestArrival("SAN", "JFK", DAY, HUB, 3))); // 1B still free
+        assertTrue(db.bookSeat("E2", "1B", new Passenger("Jane", "Doe", "1990-01-01")));
+        assertEquals(List.of("P1", "P3"), ids(db.findEarliestArrival("SAN", "JFK", DAY, HUB, 3)));
+
+        assertTrue(db.deleteFlight("P3"));
+        assertEquals(List.of("D1"), ids(db.findEarliestArrival("SAN", "JFK", DAY, HUB, 3)));
+
+        assertTrue(db.updateSchedule("P2", "PHX", "JFK", at(9, 45), at(12, 0))); // now a valid 45 min connection
+        assertEquals(List.of("P1", "P2"), ids(db.findEarliestArrival("SAN", "JFK", DAY, HUB, 3)));
+        assertTrue(db.updateSchedule("P2", "PHX", "BOS", at(9, 45), at(12, 0)));
+        assertEquals(List.of("D1"), ids(db.findEarliestArrival("SAN", "JFK", DAY, HUB, 3)));
+        assertNotNull(db.findEarliestArrival("SAN", "BOS", DAY, HUB, 2));
+
+        DatabaseService reloaded = new DatabaseService(tempDir.resolve("db.txt").toString());
+        assertEquals(List.of("P1", "P2"), ids(reloaded.findEarliestArrival("SAN", "BOS", DAY, HUB, 2)));
+    }
+
+    @Test
+    void laterArrivalAtAHubIsKeptWhenItCanWaitLonger() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        assertTrue(db.addFlight("W1", "NU11", 1, 1, AB, "SAN", "ORD", at(6, 0), at(8, 0)));
+        assertTrue(db.addFlight("W2", "NU12", 1, 1, AB, "SAN", "ORD", at(18, 0), at(20, 0)));
+        assertTrue(db.addFlight("W3", "NU13", 1, 1, AB, "ORD", "JFK", at(42, 0), at(44, 0))); // 34 h after W1 lands
+        assertEquals(List.of("W2", "W3"), ids(db.findEarliestArrival("SAN", "JFK", DAY, HUB, 2)));
+        assertEquals(List.of("W2", "W3"), ids(db.findFewestLegs("SAN", "JFK", DAY, HUB, 2)));
+        assertNull(db.findEarliestArrival("SAN", "JFK", at(19, 0), HUB, 2)); // nothing within 24 h of 19:00
+    }
+
+    @Test
+    void searchesMatchExhaustiveEnumeration() {
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int trial = 0; trial < 5; trial++) {
+            List<Flight> flights = DatasetGenerator.generate(400, 1, new char[]{'A'}, 0.2, trial);
+            DatasetGenerator.schedule(flights, 8, DAY, 3, trial);
+            RouteGraph graph = new RouteGraph();
+            graph.rebuild(flights);
+            FlightSnapshot snapshot = FlightSnapshot.of(1, flights);
+
+            for (int q = 0; q < 40; q++) {
+                String from = DatasetGenerator.airportCode(rnd.nextInt(8));
+                String to = DatasetGenerator.airportCode(rnd.nextInt(8));
+                LocalDateTime start = DAY.plusMinutes(rnd.nextInt(60 * 48));
+                int maxLegs = 1 + rnd.nextInt(3);
+
+                LocalDateTime[] best = new LocalDateTime[maxLegs + 1]; // best arrival per exact leg count
+                enumerate(flights, from, to, start, null, 0, maxLegs, best);
+                LocalDateTime earliest = null;
+                int fewest = -1;
+                for (int k = 1; k <= maxLegs; k++) {
+                    if (best[k] == null) continue;
+                    if (fewest < 0) fewest = k;
+                    if (earliest == null || best[k].isBefore(earliest)) earliest = best[k];
+                }
+
+                Itinerary e = graph.search(snapshot, from, to, start, HUB, maxLegs, RouteGraph.Objective.EARLIEST_ARRIVAL);
+                Itinerary f = graph.search(snapshot, from, to, start, HUB, maxLegs, RouteGraph.Objective.FEWEST_LEGS);
+                String ctx = from + "->" + to + " from " + start + " legs<=" + maxLegs;
+                if (from.equals(to) || earliest == null) {
+                    assertNull(e, ctx);
+                    assertNull(f, ctx);
+                    continue;
+                }
+                assertEquals(earliest, e.arrival(), ctx);
+                assertEquals(fewest, f.legs().size(), ctx);
+                assertEquals(best[fewest], f.arrival(), ctx);
+                assertValid(e, from, to, start);
+                assertValid(f, from, to, start);
+            }
+        }
+    }
+
+    /** Depth-first over every itinerary that obeys the search rules. */
+    private static void enumerate(List<Flight> flights, String at, String to, LocalDateTime ready, Flight last,
+                                  int legs, int maxLegs, LocalDateTime[] best) {
+        if (legs == maxLegs) return;
+        for (Flight f : flights) {
+            if (!f.getOrigin().equals(at) || f.getDeparture().isBefore(ready)
+                    || !f.getDeparture().isBefore(ready.plus(RouteGraph.MAX_WAIT)) || !f.getSeat("1A").getStatus().equals(SeatStatus.AVAILABLE)) {
+                continue;
+            }
+            if (f.getDestination().equals(to)) {
+                if (best[legs + 1] == null || f.getArrival().isBefore(best[legs + 1])) best[legs + 1] = f.getArrival();
+            } else {
+                enumerate(flights, f.getDestination(), to, f.getArrival().plus(HUB), f, legs + 1, maxLegs, best);
+            }
+        }
+    }
+
+    private static void assertValid(Itinerary it, String from, String to, LocalDateTime start) {
+        assertEquals(from, it.origin());
+        assertEquals(to, it.destination());
+        assertTrue(!it.departure().isBefore(start));
+        for (int i = 1; i < it.legs().size(); i++) {
+            Flight prev = it.legs().get(i - 1), next = it.legs().get(i);
+            assertEquals(prev.getDestination(), next.getOrigin());
+            assertTrue(!next.getDeparture().isBefore(prev.getArrival().plus(HUB)));
+        }
+    }
+
+    @Test
+    void searchesOnALargeScheduleStayFast() {
+        List<Flight> flights = DatasetGenerator.generate(100_000, 2, AB, 0.1, 3);
+        DatasetGenerator.schedule(flights, 200, DAY, 30, 3);
+        RouteGraph graph = new RouteGraph();
+        graph.rebuild(flights);
+        assertEquals(100_000, graph.size());
+        FlightSnapshot snapshot = FlightSnapshot.of(1, flights);
+
+        SplittableRandom rnd = new SplittableRandom(5);
+        int found = 0;
+        long total = 0;
+        for (int q = 0; q < 400; q++) {
+            String from = DatasetGenerator.airportCode(rnd.nextInt(200));
+            String to = DatasetGenerator.airportCode(rnd.nextInt(200));
+            LocalDateTime start = DAY.plusMinutes(rnd.nextInt(60 * 24 * 25));
+            long t0 = System.nanoTime();
+            Itinerary it = graph.search(snapshot, from, to, start, HUB, 3, RouteGraph.Objective.EARLIEST_ARRIVAL);
+            if (q >= 200) total += System.nanoTime() - t0; // first half is warm-up
+            if (it != null) found++;
+        }
+        double avgMillis = total / 200 / 1e6;
+        assertTrue(found > 200, "most random pairs should connect within 3 legs, got " + found);
+        // 10 ms target on a workstation; the bound leaves room for slow CI machines
+        assertTrue(avgMillis < 50, "average search took " + avgMillis + " ms");
+    }
+}
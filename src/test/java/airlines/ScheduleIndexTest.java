@@ -0,0 +1,96 @@
+package airlines;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ScheduleIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 11, 3, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> ids(List<Flight> flights) {
+        List<String> out = new ArrayList<>();
+        for (Flight f : flights) out.add(f.getId());
+        return out;
+    }
+
+    @Test
+    void rangeIsHalfOpenAndOrderedByDepartureThenId() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        char[] ab = {'A', 'B'};
+        assertTrue(db.addFlight("S3", "NU3", 1, 1, ab, "SAN", "JFK", DAY.plusHours(12), null));
+        assertTrue(db.addFlight("S2", "NU2", 1, 1, ab, "SAN", "LAX", DAY.plusHours(8), DAY.plusHours(9)));
+        assertTrue(db.addFlight("S1", "NU1", 1, 1, ab, "SAN", "SFO", DAY.plusHours(8), null));
+        assertTrue(db.addFlight("S4", "NU4", 1, 1, ab, "SAN", "SEA", DAY.plusHours(7).plusMinutes(59), null));
+
+        assertEquals(List.of("S1", "S2"), ids(db.getFlightsDeparting(DAY.plusHours(8), DAY.plusHours(12))));
+        assertEquals(List.of("S4", "S1", "S2", "S3"), ids(db.getFlightsDeparting(DAY, DAY.plusDays(1))));
+        assertTrue(db.getFlightsDeparting(DAY.plusHours(12), DAY.plusHours(8)).isEmpty());
+        assertTrue(db.getFlightsDeparting(null, DAY).isEmpty());
+        assertTrue(db.getFlights().size() > 4); // unscheduled default flights are not in the index
+
+        assertFalse(db.addFlight("S5", "NU5", 1, 1, ab, "SAN", "JFK", DAY, DAY.minusHours(1)));
+        assertFalse(db.addFlight("S5", "NU5", 1, 1, ab, "SANX", "JFK", DAY, null));
+    }
+
+    @Test
+    void indexFollowsScheduleChangesDeletesAndReloads() {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        assertTrue(db.updateSchedule("F001", "SAN", "JFK", DAY.plusHours(9), DAY.plusHours(14)));
+        assertEquals(List.of("F001"), ids(db.getFlightsDeparting(DAY, DAY.plusDays(1))));
+
+        assertTrue(db.updateSchedule("F001", "SAN", "JFK", DAY.plusDays(1).plusHours(9), null));
+        assertTrue(db.getFlightsDeparting(DAY, DAY.plusDays(1)).isEmpty());
+        assertTrue(db.bookSeat("F001", "1A", new Passenger("John", "Doe", "1990-01-01")));
+        List<Flight> tomorrow = db.getFlightsDeparting(DAY.plusDays(1), DAY.plusDays(2));
+        assertTrue(tomorrow.get(0).getSeat("1A").isBooked()); // resolved against the latest snapshot
+
+        assertFalse(db.updateSchedule("F001", "SAN", "JFK", null, DAY)); // arrival without departure
+        assertFalse(db.updateSchedule("NOPE", "SAN", "JFK", DAY, null));
+
+        DatabaseService reloaded = new DatabaseService(path);
+        assertEquals(List.of("F001"), ids(reloaded.getFlightsDeparting(DAY.plusDays(1), DAY.plusDays(2))));
+
+        assertTrue(db.deleteFlight("F001"));
+        assertTrue(db.getFlightsDeparting(DAY, DAY.plusDays(7)).isEmpty());
+    }
+
+    @Test
+    void rangeQueriesMatchAFullScan() {
+        SplittableRandom rnd = new SplittableRandom(41);
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Flight f = new Flight("R" + i, "NU" + i);
+            if (rnd.nextInt(10) > 0) f.setSchedule("SAN", "JFK", DAY.plusMinutes(rnd.nextInt(60 * 24 * 30)), null);
+            flights.add(f);
+        }
+        ScheduleIndex index = new ScheduleIndex();
+        index.rebuild(flights);
+        FlightSnapshot snapshot = FlightSnapshot.of(1, flights);
+
+        for (int q = 0; q < 50; q++) {
+            LocalDateTime from = DAY.plusMinutes(rnd.nextInt(60 * 24 * 30));
+            LocalDateTime to = from.plusMinutes(rnd.nextInt(60 * 24));
+            List<Flight> expected = new ArrayList<>();
+            for (Flight f : flights) {
+                if (f.isScheduled() && !f.getDeparture().isBefore(from) && f.getDeparture().isBefore(to)) expected.add(f);
+            }
+            expected.sort((a, b) -> a.getDeparture().equals(b.getDeparture())
+                    ? String.CASE_INSENSITIVE_ORDER.compare(a.getId(), b.getId())
+                    : a.getDeparture().compareTo(b.getDeparture()));
+            assertEquals(ids(expected), ids(index.departing(snapshot, from, to)));
+        }
+    }
+}
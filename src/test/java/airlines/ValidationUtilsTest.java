@@ -1,14 +1,26 @@
 package airlines;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 public class ValidationUtilsTest {
 
+    @AfterEach
+    void restoreClock() {
+        ValidationUtils.setClock(null);
+    }
+
     @Test
     public void testIsValidName() {
         // Valid names
@@ -148,4 +160,118 @@ public class ValidationUtilsTest {
         assertTrue(seats4.contains('B'));
         assertTrue(seats4.contains('C'));
     }
+
+    // ------------------------------------------------------------------
+    // Hand-rolled validators must accept/reject exactly like the old regex versions
+    // ------------------------------------------------------------------
+
+    @Test
+    public void testScannersMatchRegexImplementation() {
+        String alphabet = "AZaz09NU-' _.@/\t\u00e9\u00f1\u0416\u4e2d\u02b0\u01c5\u0660";
+        String[] extras = { "\ud835\udc00", "\ud800", "\udc00" }; // supplementary letter, lone surrogates
+        Random rnd = new Random(42);
+        for (int n = 0; n < 50_000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int len = rnd.nextInt(8);
+            for (int i = 0; i < len; i++) {
+                if (rnd.nextInt(10) == 0) sb.append(extras[rnd.nextInt(extras.length)]);
+                else sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+            }
+            String s = sb.toString();
+            assertEquals(legacyIsValidName(s), ValidationUtils.isValidName(s), "name: " + s);
+            assertEquals(legacyIsValidFlightId(s), ValidationUtils.isValidFlightId(s), "id: " + s);
+            assertEquals(legacyIsValidFlightNumber(s), ValidationUtils.isValidFlightNumber(s), "number: " + s);
+        }
+    }
+
+    @Test
+    public void testDobScannerMatchesLocalDateImplementation() {
+        int thisYear = LocalDate.now().getYear();
+        int[] years = { 0, 4, 100, 1900, 1999, 2000, 2024, 2100, thisYear, thisYear + 1 };
+        for (int y : years) {
+            for (int m = 0; m <= 13; m++) {
+                for (int d = 0; d <= 32; d++) {
+                    String s = String.format("%04d-%02d-%02d", y, m, d);
+                    assertEquals(legacyIsValidDobIso(s), ValidationUtils.isValidDobIso(s), s);
+                }
+            }
+        }
+        LocalDate today = LocalDate.now();
+        for (int delta = -3; delta <= 3; delta++) {
+            String s = today.plusDays(delta).toString();
+            assertEquals(legacyIsValidDobIso(s), ValidationUtils.isValidDobIso(s), s);
+        }
+        for (String s : new String[]{ "1990-1-01", "1990-01-1 ", " 1990-01-01", "19900-01-01", "1990_01_01",
+                                      "+990-01-01", "1990-01-0a", "\u0661990-01-01" }) {
+            assertEquals(legacyIsValidDobIso(s), ValidationUtils.isValidDobIso(s), s);
+        }
+    }
+
+    @Test
+    public void testDobTodayRollsAtMidnight() {
+        long[] now = { Instant.parse("2030-06-14T23:59:59Z").toEpochMilli() };
+        Clock ticking = new Clock() {
+            @Override public ZoneId getZone() { return ZoneId.of("UTC"); }
+            @Override public Clock withZone(ZoneId zone) { return this; }
+            @Override public Instant instant() { return Instant.ofEpochMilli(now[0]); }
+        };
+        ValidationUtils.setClock(ticking);
+        assertTrue(ValidationUtils.isValidDobIso("2030-06-14"));
+        assertFalse(ValidationUtils.isValidDobIso("2030-06-15"));
+
+        now[0] += 1000; // cached "today" must roll without any reset
+        assertTrue(ValidationUtils.isValidDobIso("2030-06-15"));
+        assertFalse(ValidationUtils.isValidDobIso("2030-06-16"));
+    }
+
+    private static boolean legacyIsValidName(String s) {
+        if (s == null) return false;
+        String t = s.trim();
+        if (t.isEmpty()) return false;
+        return t.matches("[A-Za-z\\p{L}][A-Za-z\\p{L}'\\- ]*");
+    }
+
+    private static boolean legacyIsValidDobIso(String s) {
+        if (s == null || !s.matches("\\d{4}-\\d{2}-\\d{2}")) return false;
+        try {
+            LocalDate d = LocalDate.parse(s);
+            return !d.isAfter(LocalDate.now());
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    private static boolean legacyIsValidFlightId(String id) {
+        if (id == null) return false;
+        String t = id.trim();
+        if (t.isEmpty()) return false;
+        return t.matches("[A-Za-z0-9\\-]+");
+    }
+
+    private static boolean legacyIsValidFlightNumber(String num) {
+        if (num == null) return false;
+        String t = num.trim();
+        if (t.isEmpty()) return false;
+        return t.matches("NU\\d+");
+    }
+
+    @Test
+    public void testIsValidAirportCode() {
+        assertTrue(ValidationUtils.isValidAirportCode("SAN"));
+        assertTrue(ValidationUtils.isValidAirportCode(" jfk "));
+        assertFalse(ValidationUtils.isValidAirportCode(null));
+        assertFalse(ValidationUtils.isValidAirportCode("SA"));
+        assertFalse(ValidationUtils.isValidAirportCode("SAN1"));
+        assertFalse(ValidationUtils.isValidAirportCode("S4N"));
+        assertFalse(ValidationUtils.isValidAirportCode("S,N"));
+    }
+
+    @Test
+    public void testPackedDate() {
+        assertEquals(19900101, ValidationUtils.packedDate("1990-01-01"));
+        assertEquals(20000229, ValidationUtils.packedDate("2000-02-29"));
+        assertEquals(-1, ValidationUtils.packedDate("1900-02-29"));
+        assertEquals(-1, ValidationUtils.packedDate("1990-1-01"));
+        assertEquals(-1, ValidationUtils.packedDate(null));
+    }
 }
\ No newline at end of file
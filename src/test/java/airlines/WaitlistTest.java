@@ -0,0 +1,185 @@
+package airlines;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WaitlistTest {
+
+    private static final Passenger JOHN = new Passenger("John", "Doe", "1990-01-01");
+    private static final Passenger ANN = new Passenger("Ann", "Lee", "1985-05-05");
+    private static final Passenger BOB = new Passenger("Bob", "Ray", "1970-07-07");
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void ordersByTierThenRequestTime() {
+        Waitlist w = new Waitlist(null, now::get);
+        w.add("F001", JOHN, 2);
+        now.addAndGet(10);
+        w.add("f001", ANN, 1);
+        w.add("F001", BOB, 1); // same tier and time as Ann: join order decides
+        assertNull(w.add("F001", JOHN, 0));
+        assertEquals(3, w.size("F001"));
+        assertEquals(List.of(ANN, BOB, JOHN), w.entries("F001").stream().map(Waitlist.Entry::passenger).toList());
+
+        assertEquals(ANN, w.poll("F001").passenger());
+        assertTrue(w.remove("F001", JOHN));
+        assertEquals(BOB, w.poll("F001").passenger());
+        assertNull(w.poll("F001"));
+        assertNull(w.peek("F002"));
+    }
+
+    @Test
+    void removedEntriesAreSkippedAndRejoiningQueuesAtTheBack() {
+        Waitlist w = new Waitlist(null, now::get);
+        w.add("F001", JOHN, 0);
+        now.addAndGet(10);
+        w.add("F001", ANN, 0);
+        assertTrue(w.remove("F001", JOHN));
+        assertFalse(w.remove("F001", JOHN));
+        now.addAndGet(10);
+        w.add("F001", JOHN, 0);       // a new request: after Ann, the old entry is gone
+        w.add("F001", BOB, 0);
+        assertEquals(3, w.size("F001"));
+        assertEquals(ANN, w.peek("F001").passenger());
+        assertEquals(List.of(ANN, JOHN, BOB), w.entries("F001").stream().map(Waitlist.Entry::passenger).toList());
+        assertEquals(ANN, w.poll("F001").passenger());
+        assertEquals(JOHN, w.poll("F001").passenger());
+        assertEquals(BOB, w.poll("F001").passenger());
+        assertNull(w.poll("F001"));
+    }
+
+    @Test
+    void bookingASeatLeavesTheWaitlist() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        List<String> seats = db.getSeats("F002").stream().map(Seat::getSeatNumber).toList();
+        assertTrue(db.bookSeat("F002", seats.get(0), BOB));
+        assertTrue(db.joinWaitlist("F002", JOHN, 0));
+        assertTrue(db.joinWaitlist("F002", ANN, 1));
+        assertTrue(db.bookSeat("F002", seats.get(1), JOHN)); // got a seat another way
+        assertEquals(1, db.getWaitlistSize("F002"));
+
+        assertTrue(db.releaseSeat("F002", seats.get(0)));     // Ann, not John, is promoted
+        assertEquals(ANN, db.snapshot().flight("F002").getSeat(seats.get(0)).getPassenger());
+        assertEquals(0, db.getWaitlistSize("F002"));
+    }
+
+    @Test
+    void releasePromotesTheHeadInOneUpdate() {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        assertTrue(db.bookSeat("F002", "1A", JOHN));
+        assertFalse(db.joinWaitlist("F002", JOHN, 0));                 // already seated
+        assertFalse(db.joinWaitlist("F002", new Passenger("", "X", "1990-01-01"), 0));
+        assertFalse(db.joinWaitlist("NOPE", ANN, 0));
+        assertTrue(db.joinWaitlist("F002", BOB, 3));
+        assertTrue(db.joinWaitlist("F002", ANN, 1));
+        assertFalse(db.joinWaitlist("F002", ANN, 0));                  // already waiting
+
+        long version = db.snapshot().version();
+        assertTrue(db.releaseSeat("F002", "1A"));
+        assertEquals(version + 1, db.snapshot().version());            // never published as free
+        assertEquals(ANN, db.snapshot().flight("F002").getSeat("1A").getPassenger());
+        assertEquals(List.of(BOB), db.getWaitlist("F002").stream().map(Waitlist.Entry::passenger).toList());
+
+        assertTrue(db.releaseSeat("F002", "2A"));                      // was free: nobody promoted
+        assertEquals(1, db.getWaitlistSize("F002"));
+
+        DatabaseService reloaded = new DatabaseService(path);
+        assertEquals(ANN, reloaded.snapshot().flight("F002").getSeat("1A").getPassenger());
+        assertEquals(1, reloaded.getWaitlistSize("F002"));
+        assertEquals(3, reloaded.getWaitlist("F002").get(0).tier());
+        assertTrue(reloaded.leaveWaitlist("F002", BOB));
+        assertEquals(0, new DatabaseService(path).getWaitlistSize("F002"));
+    }
+
+    @Test
+    void promotionBooksTheTopFareClass() {
+        DatabaseService db = new DatabaseService(tempDir.resolve("db.txt").toString());
+        assertTrue(db.setFareClasses("F002", "YM", new int[]{16, 2}));
+        assertTrue(db.bookSeat("F002", "1A", JOHN, 'M'));
+        assertTrue(db.joinWaitlist("F002", ANN, 0));
+        assertTrue(db.releaseSeat("F002", "1A"));
+        Flight f = db.snapshot().flight("F002");
+        assertEquals('Y', f.getSeat("1A").getFareClass());
+        assertEquals(1, f.getFareInventory().sold('Y'));
+        assertEquals(0, f.getFareInventory().sold('M'));
+    }
+
+    @Test
+    void burstOfCancellationsIsPromotedInOneSave() throws Exception {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        List<String> seats = db.getSeats("F002").stream().map(Seat::getSeatNumber).toList();
+        List<Passenger> waiting = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            assertTrue(db.bookSeat("F002", seats.get(i), new Passenger("Old", "P" + (char) ('a' + i), "1990-01-01")));
+            Passenger p = new Passenger("New", "P" + (char) ('a' + i), "1991-01-01");
+            waiting.add(p);
+            assertTrue(db.joinWaitlist("F002", p, i % 2)); // even ones (tier 0) go first
+        }
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        try (BookingWriter w = new BookingWriter(db)) {
+            for (int i = 0; i < 4; i++) results.add(w.releaseSeat("F002", seats.get(i)));
+            for (CompletableFuture<Boolean> r : results) assertTrue(r.get());
+        }
+        Flight f = db.snapshot().flight("F002");
+        for (int i = 0; i < 4; i++) assertEquals(waiting.get(2 * i), f.getSeat(seats.get(i)).getPassenger());
+        assertEquals(4, db.getWaitlistSize("F002"));
+        assertEquals(4, new DatabaseService(path).getWaitlistSize("F002"));
+    }
+
+    @Test
+    void loadDropsEntriesThatWereAlreadyPromoted() throws Exception {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        assertTrue(db.bookSeat("F002", "1A", ANN));
+        // as if the process died after writing the database but before the waitlist
+        Files.write(Path.of(path + ".waitlist"), List.of(
+                "F002\t0\t5\t0\tAnn\tLee\t1985-05-05",
+                "F002\t1\t6\t1\tBob\tRay\t1970-07-07",
+                "F999\t0\t7\t2\tJohn\tDoe\t1990-01-01",
+                "garbage"), StandardCharsets.UTF_8);
+        DatabaseService reloaded = new DatabaseService(path);
+        assertEquals(List.of(BOB), reloaded.getWaitlist("F002").stream().map(Waitlist.Entry::passenger).toList());
+        assertTrue(reloaded.joinWaitlist("F002", JOHN, 1));
+        assertEquals(List.of(BOB, JOHN), reloaded.getWaitlist("F002").stream().map(Waitlist.Entry::passenger).toList());
+    }
+
+    @Test
+    void waitlistWriteFailureDoesNotUndoAChangeAlreadyOnDisk() throws Exception {
+        String path = tempDir.resolve("db.txt").toString();
+        DatabaseService db = new DatabaseService(path);
+        assertTrue(db.joinWaitlist("F002", ANN, 0));
+        Files.createDirectory(Path.of(path + ".waitlist.tmp")); // every waitlist write fails from here on
+
+        assertTrue(db.bookSeat("F002", "1A", ANN, "k1")); // the data file holds it: committed, not rolled back
+        assertFalse(db.save());
+        assertEquals(ANN, db.findSeat("F002", "1A").getPassenger());
+        assertTrue(db.bookSeat("F002", "1A", ANN, "k1")); // a replay, not a second attempt
+        try (BookingWriter w = new BookingWriter(db)) {
+            assertEquals(BookingWriter.Result.UPDATED, w.book("F002", "1B", BOB, "k2").join());
+        }
+
+        Files.delete(Path.of(path + ".waitlist.tmp"));
+        DatabaseService reloaded = new DatabaseService(path);
+        assertEquals(ANN, reloaded.findSeat("F002", "1A").getPassenger());
+        assertEquals(BOB, reloaded.findSeat("F002", "1B").getPassenger());
+        assertEquals(0, reloaded.getWaitlistSize("F002")); // seated passengers are dropped on load
+    }
+}